@@ -1,105 +1,107 @@
-package com.gdu.zeus.ops.workorder;
-
-import com.gdu.uap.auth.client.security.annotation.EnableUAPResourceServer;
-import org.mybatis.spring.annotation.MapperScan;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.chat.memory.MessageWindowChatMemory;
-import org.springframework.ai.embedding.EmbeddingModel;
-import org.springframework.ai.vectorstore.SimpleVectorStore;
-import org.springframework.ai.vectorstore.VectorStore;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.boot.builder.SpringApplicationBuilder;
-import org.springframework.cloud.openfeign.EnableFeignClients;
-import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestClient;
-
-@EnableUAPResourceServer
-@EnableFeignClients({"com.gdu.uap.auth.server.api.feign", "com.gdu.uap.log.server.api.feign"})
-@SpringBootApplication(scanBasePackages = {
-		"com.gdu.zeus.ops.workorder",
-		"com.gdu.uap.auth.client",
-		"com.gdu.uap.log.server",
-		"com.gdu.uap.auth.server"})
-@MapperScan("com.gdu.zeus.ops.workorder.mapper")
-public class AgentApplication  {
-
-	private static final Logger logger = LoggerFactory.getLogger(AgentApplication.class);
-
-	public static void main(String[] args) {
-		new SpringApplicationBuilder(AgentApplication.class).run(args);
-	}
-	// In the real world, ingesting documents would often happen separately, on a CI
-	// server or similar.
-	/*@Bean
-	CommandLineRunner ingestTermOfServiceToVectorStore(
-			VectorStore vectorStore,
-			@Value("classpath:rag/flight-information.txt") Resource termsOfServiceDocs
-	) {
-
-		return args -> {
-			// Ingest the document into the vector store
-			*//*
-			 * 1、文档读取TextReader 读取 resources/rag/terms-of-service.txt 文件内容
-			 * 2、TokenTextSplitter 按token长度切分文本（避免大文本超出模型限制）
-			 * 3、向量化存储 通过 VectorStore.write() 将文本向量存入内存（后续可用于RAG检索）
-			 *//*
-			vectorStore.write(new TokenTextSplitter().transform(new TextReader(termsOfServiceDocs).read()));
-
-			// 相似性搜索检测
-			vectorStore.similaritySearch("CA1234").forEach(doc -> {
-				logger.info("Similar Document: {}", doc.getText());
-			});
-		};
-	}*/
-
-	/*@Bean
-	CommandLineRunner ingestFlightDataToVectorStore(VectorStore vectorStore,
-			@Value("classpath:rag/flight-information.txt") Resource flightInfo) {
-		return args -> {
-			// 将单个航班信息文档向量化存储
-			vectorStore.write(
-					new TokenTextSplitter().transform(
-							new TextReader(flightInfo).read()));
-			// 可选：测试检索功能
-			vectorStore.similaritySearch("北京到上海").forEach(doc -> {
-				logger.info("Flight Document: {}", doc.getText());
-			});
-		};
-	}*/
-
-	/**
-	 * 提供基于内存的向量存储（SimpleVectorStore）
-	 * <p>
-	 * 依赖 EmbeddingModel（自动注入，Alibaba的嵌入模型）
-	 * @param embeddingModel
-	 * @return
-	 */
-	@Bean
-	public VectorStore vectorStore(EmbeddingModel embeddingModel) {
-
-		return SimpleVectorStore.builder(embeddingModel).build();
-	}
-
-	/**
-	 * 存储多轮对话历史（基于内存）
-	 * 实现上下文感知的连续对话
-	 * @return
-	 */
-	@Bean
-	public ChatMemory chatMemory() {
-		return MessageWindowChatMemory.builder().build();
-	}
-
-	/**
-	 * 提供可自定义的HTTP客户端（用于调用外部API）
-	 * @return
-	 */
-	@Bean
-	@ConditionalOnMissingBean
-	public RestClient.Builder restClientBuilder() {
-		return RestClient.builder();
-	}
-}
+package com.gdu.zeus.ops.workorder;
+
+import com.gdu.uap.auth.client.security.annotation.EnableUAPResourceServer;
+import org.mybatis.spring.annotation.MapperScan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.client.RestClient;
+
+@EnableUAPResourceServer
+@EnableFeignClients({"com.gdu.uap.auth.server.api.feign", "com.gdu.uap.log.server.api.feign"})
+@SpringBootApplication(scanBasePackages = {
+		"com.gdu.zeus.ops.workorder",
+		"com.gdu.uap.auth.client",
+		"com.gdu.uap.log.server",
+		"com.gdu.uap.auth.server"})
+@MapperScan("com.gdu.zeus.ops.workorder.mapper")
+@EnableScheduling
+public class AgentApplication  {
+
+	private static final Logger logger = LoggerFactory.getLogger(AgentApplication.class);
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(AgentApplication.class).run(args);
+	}
+	// In the real world, ingesting documents would often happen separately, on a CI
+	// server or similar.
+	/*@Bean
+	CommandLineRunner ingestTermOfServiceToVectorStore(
+			VectorStore vectorStore,
+			@Value("classpath:rag/flight-information.txt") Resource termsOfServiceDocs
+	) {
+
+		return args -> {
+			// Ingest the document into the vector store
+			*//*
+			 * 1、文档读取TextReader 读取 resources/rag/terms-of-service.txt 文件内容
+			 * 2、TokenTextSplitter 按token长度切分文本（避免大文本超出模型限制）
+			 * 3、向量化存储 通过 VectorStore.write() 将文本向量存入内存（后续可用于RAG检索）
+			 *//*
+			vectorStore.write(new TokenTextSplitter().transform(new TextReader(termsOfServiceDocs).read()));
+
+			// 相似性搜索检测
+			vectorStore.similaritySearch("CA1234").forEach(doc -> {
+				logger.info("Similar Document: {}", doc.getText());
+			});
+		};
+	}*/
+
+	/*@Bean
+	CommandLineRunner ingestFlightDataToVectorStore(VectorStore vectorStore,
+			@Value("classpath:rag/flight-information.txt") Resource flightInfo) {
+		return args -> {
+			// 将单个航班信息文档向量化存储
+			vectorStore.write(
+					new TokenTextSplitter().transform(
+							new TextReader(flightInfo).read()));
+			// 可选：测试检索功能
+			vectorStore.similaritySearch("北京到上海").forEach(doc -> {
+				logger.info("Flight Document: {}", doc.getText());
+			});
+		};
+	}*/
+
+	/**
+	 * 提供基于内存的向量存储（SimpleVectorStore）
+	 * <p>
+	 * 依赖 EmbeddingModel（自动注入，Alibaba的嵌入模型）
+	 * @param embeddingModel
+	 * @return
+	 */
+	@Bean
+	public VectorStore vectorStore(EmbeddingModel embeddingModel) {
+
+		return SimpleVectorStore.builder(embeddingModel).build();
+	}
+
+	/**
+	 * 存储多轮对话历史（基于内存）
+	 * 实现上下文感知的连续对话
+	 * @return
+	 */
+	@Bean
+	public ChatMemory chatMemory() {
+		return MessageWindowChatMemory.builder().build();
+	}
+
+	/**
+	 * 提供可自定义的HTTP客户端（用于调用外部API）
+	 * @return
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public RestClient.Builder restClientBuilder() {
+		return RestClient.builder();
+	}
+}
@@ -0,0 +1,282 @@
+package com.gdu.zeus.ops.workorder.advisor;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.util.StrUtil;
+import com.gdu.zeus.ops.workorder.config.RagProperties;
+import com.gdu.zeus.ops.workorder.init.AIAlgorithmDataInitializer;
+import com.gdu.zeus.ops.workorder.init.AIAlgorithmDocuments;
+import com.gdu.zeus.ops.workorder.init.AIAlgorithmVectorIndexer;
+import com.gdu.zeus.ops.workorder.services.AIAlgorithmIndex;
+import com.gdu.zeus.ops.workorder.util.TextUtils;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.AdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.BaseAdvisor;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 带时间预算的检索增强Advisor
+ * <p>
+ * 替代默认的 QuestionAnswerAdvisor：
+ * 1. 仅在意图判断需要知识时才检索
+ * 2. 检索有硬性时间预算，超时降级为无上下文
+ * 3. 按归一化后的问题缓存检索结果
+ * 4. 按token数限制注入的上下文长度
+ * 5. 向量索引尚未可用(后台构建中且无快照)时，降级为内存索引的关键词匹配
+ */
+@Slf4j
+@Component
+public class LatencyBudgetedRetrievalAdvisor implements BaseAdvisor {
+
+    /**
+     * 用于检索的原始用户问题(advisor参数)，未设置时使用提示词中的用户消息
+     */
+    public static final String RETRIEVAL_QUERY = "rag_retrieval_query";
+
+    /**
+     * 本次检索到的文档(写入advisor上下文)
+     */
+    public static final String RETRIEVED_DOCUMENTS = "rag_retrieved_documents";
+
+    private static final String OBSERVATION_NAME = "workorder.rag.retrieval";
+
+    private static final String CONTEXT_TEMPLATE = """
+            %s
+
+            以下是与问题相关的算法知识，仅在与问题相关时参考，不相关时忽略：
+            ---------------------
+            %s
+            ---------------------
+            """;
+
+    private final VectorStore vectorStore;
+    private final AIAlgorithmIndex algorithmIndex;
+    private final AIAlgorithmVectorIndexer vectorIndexer;
+    private final AIAlgorithmDataInitializer vectorIndexInitializer;
+    private final RagProperties properties;
+    private final ObservationRegistry observationRegistry;
+    private final TokenCountEstimator tokenCountEstimator = new JTokkitTokenCountEstimator();
+    private final LRUCache<String, List<Document>> cache;
+    private final ThreadPoolExecutor executor;
+
+    public LatencyBudgetedRetrievalAdvisor(VectorStore vectorStore,
+                                           AIAlgorithmIndex algorithmIndex,
+                                           AIAlgorithmVectorIndexer vectorIndexer,
+                                           AIAlgorithmDataInitializer vectorIndexInitializer,
+                                           RagProperties properties,
+                                           ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.vectorStore = vectorStore;
+        this.algorithmIndex = algorithmIndex;
+        this.vectorIndexer = vectorIndexer;
+        this.vectorIndexInitializer = vectorIndexInitializer;
+        this.properties = properties;
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+        this.cache = CacheUtil.newLRUCache(properties.getCacheSize(),
+                TimeUnit.SECONDS.toMillis(properties.getCacheTtlSeconds()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        int concurrency = Math.max(1, properties.getMaxConcurrency());
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(concurrency * 4),
+                r -> {
+                    Thread thread = new Thread(r, "rag-retrieval-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public ChatClientRequest before(ChatClientRequest chatClientRequest, AdvisorChain advisorChain) {
+        if (!properties.isEnabled()) {
+            return chatClientRequest;
+        }
+        String query = resolveQuery(chatClientRequest);
+        if (!needsKnowledge(query)) {
+            log.debug("意图判断无需知识检索: {}", query);
+            return chatClientRequest;
+        }
+
+        List<Document> documents = retrieve(query);
+        if (documents.isEmpty()) {
+            return chatClientRequest;
+        }
+
+        String context = buildContext(documents);
+        String userText = chatClientRequest.prompt().getUserMessage().getText();
+        return chatClientRequest.mutate()
+                .prompt(chatClientRequest.prompt().augmentUserMessage(String.format(CONTEXT_TEMPLATE, userText, context)))
+                .context(RETRIEVED_DOCUMENTS, documents)
+                .build();
+    }
+
+    @Override
+    public ChatClientResponse after(ChatClientResponse chatClientResponse, AdvisorChain advisorChain) {
+        return chatClientResponse;
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public String getName() {
+        return "LatencyBudgetedRetrievalAdvisor";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 意图判断：问题命中任一意图关键词时才需要知识
+     */
+    boolean needsKnowledge(String query) {
+        if (StrUtil.isBlank(query)) {
+            return false;
+        }
+        for (String keyword : properties.getIntentKeywords()) {
+            if (query.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 在时间预算内检索，命中缓存直接返回，超时或异常时返回空结果
+     */
+    private List<Document> retrieve(String query) {
+        // 缓存键带上索引版本号，向量库增量更新后旧结果自然失效
+        String cacheKey = vectorIndexer.version() + ":" + TextUtils.normalize(query);
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName("rag retrieval")
+                .start();
+        long start = System.nanoTime();
+        String outcome = "search";
+        try (Observation.Scope ignored = observation.openScope()) {
+            if (!vectorIndexInitializer.isSearchable()) {
+                List<Document> documents = keywordFallback(query);
+                outcome = "keyword";
+                return documents;
+            }
+            List<Document> cached = cache.get(cacheKey, false);
+            if (cached != null) {
+                outcome = "cache";
+                return cached;
+            }
+            SearchRequest.Builder searchRequest = SearchRequest.builder()
+                    .query(query)
+                    .topK(properties.getTopK())
+                    .similarityThreshold(properties.getSimilarityThreshold());
+            // 问题中出现已知场景/算法名称时，用内存索引做元数据预过滤
+            algorithmIndex.filterExpressionFor(query).ifPresent(searchRequest::filterExpression);
+            // 直接提交 FutureTask：超时取消时中断执行中的检索线程并移出排队任务，
+            // CompletableFuture.cancel 不会中断已开始的 similaritySearch，超时的检索会继续占用线程
+            FutureTask<List<Document>> task = new FutureTask<>(() -> vectorStore.similaritySearch(searchRequest.build()));
+            executor.execute(task);
+            try {
+                List<Document> documents = task.get(properties.getTimeBudgetMs(), TimeUnit.MILLISECONDS);
+                documents = documents != null ? documents : Collections.emptyList();
+                cache.put(cacheKey, documents);
+                if (documents.isEmpty()) {
+                    outcome = "empty";
+                }
+                return documents;
+            } catch (TimeoutException e) {
+                task.cancel(true);
+                executor.remove(task);
+                outcome = "timeout";
+                log.warn("知识检索超出时间预算{}ms，降级为无上下文: {}", properties.getTimeBudgetMs(), query);
+                return Collections.emptyList();
+            }
+        } catch (RejectedExecutionException e) {
+            outcome = "rejected";
+            log.warn("知识检索线程池已满，降级为无上下文: {}", query);
+            return Collections.emptyList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "error";
+            return Collections.emptyList();
+        } catch (ExecutionException e) {
+            outcome = "error";
+            observation.error(e.getCause());
+            log.error("知识检索失败，降级为无上下文: {}", query, e.getCause());
+            return Collections.emptyList();
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome);
+            observation.stop();
+            log.info("知识检索完成: outcome={}, 耗时={}ms", outcome,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * 关键词降级：按问题中出现的场景标签/算法名称从内存索引取文档，不缓存
+     */
+    private List<Document> keywordFallback(String query) {
+        return algorithmIndex.matchText(query).stream()
+                .limit(properties.getTopK())
+                .map(AIAlgorithmDocuments::toDocument)
+                .toList();
+    }
+
+    /**
+     * 按token上限拼接上下文，单个文档超出上限时截断
+     */
+    private String buildContext(List<Document> documents) {
+        int budget = properties.getMaxContextTokens();
+        List<String> parts = new ArrayList<>();
+        int used = 0;
+        for (Document document : documents) {
+            String text = document.getText();
+            if (StrUtil.isBlank(text)) {
+                continue;
+            }
+            int tokens = tokenCountEstimator.estimate(text);
+            if (used + tokens > budget) {
+                if (parts.isEmpty()) {
+                    // 按token占比粗略截断第一个文档
+                    int length = (int) ((long) text.length() * budget / Math.max(tokens, 1));
+                    parts.add(StrUtil.sub(text, 0, length));
+                }
+                break;
+            }
+            parts.add(text);
+            used += tokens;
+        }
+        return String.join("\n", parts);
+    }
+
+    private String resolveQuery(ChatClientRequest chatClientRequest) {
+        Object query = chatClientRequest.context().get(RETRIEVAL_QUERY);
+        if (query != null) {
+            return query.toString();
+        }
+        return chatClientRequest.prompt().getUserMessage().getText();
+    }
+}
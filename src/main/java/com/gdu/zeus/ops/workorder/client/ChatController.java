@@ -1,133 +1,197 @@
-package com.gdu.zeus.ops.workorder.client;
-
-import com.gdu.uap.auth.core.util.SecurityUtils;
-import com.gdu.zeus.ops.workorder.dto.*;
-import com.gdu.zeus.ops.workorder.entity.ChatDetail;
-import com.gdu.zeus.ops.workorder.services.ChatService;
-import com.gdu.zeus.ops.workorder.services.CustomerSupportAssistant;
-import io.swagger.v3.oas.annotations.responses.ApiResponse;
-import io.swagger.v3.oas.annotations.responses.ApiResponses;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.MediaType;
-import org.springframework.http.codec.ServerSentEvent;
-import org.springframework.web.bind.annotation.*;
-import reactor.core.publisher.Flux;
-
-import java.util.List;
-
-/**
- * 对话页面
- */
-@Slf4j
-@RestController
-@RequestMapping("/api/chat/v2")
-@RequiredArgsConstructor
-public class ChatController {
-    
-    private final ChatService chatService;
-    private final CustomerSupportAssistant agent;
-
-
-    /**
-     * 对话
-     * @param request
-     * @return
-     */
-    @CrossOrigin
-    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "开始聊天对话") })
-    @PostMapping(path = "/chat", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ServerSentEvent<String>> chat(@RequestBody ChatMessageRequest request) {
-        return agent.chatWithMetadata(request);
-    }
-
-    /**
-     * 获取对话列表（按时间段分组）
-     */
-    @GetMapping("/list")
-    public Result<ChatListGroupResponse> getChatList() {
-        try {
-            if (SecurityUtils.getUser() == null){
-                return Result.error("未知用户，请先登录");
-            }
-            // 获取当前用户
-            String user = SecurityUtils.getUser().getUsername();
-            ChatListGroupResponse chatList = chatService.getChatListGrouped(user);
-            return Result.success(chatList);
-        } catch (Exception e) {
-            log.error("获取对话列表失败", e);
-            return Result.error("获取对话列表失败: " + e.getMessage());
-        }
-    }
-    
-    /**
-     * 获取对话详情
-     * @param chatId 对话ID
-     */
-    @GetMapping("/detail/{chatId}")
-    public Result<List<ChatDetail>> getChatDetail(@PathVariable String chatId) {
-        try {
-            List<ChatDetail> detail = chatService.getChatDetailAll(chatId);
-            return Result.success(detail);
-        } catch (Exception e) {
-            log.error("获取对话详情失败", e);
-            return Result.error("获取对话详情失败: " + e.getMessage());
-        }
-    }
-    
-    /**
-     * 发送消息（阻塞模式）
-     */
-//    @PostMapping("/message")
-//    public Result<ChatMessageResponse> sendMessage(@RequestBody ChatMessageRequest request) {
-//        try {
-//            ChatMessageResponse response = chatService.sendMessage(request);
-//            return Result.success(response);
-//        } catch (Exception e) {
-//            log.error("发送消息失败", e);
-//            return Result.error("发送消息失败: " + e.getMessage());
-//        }
-//    }
-    
-    /**
-     * 发送消息（流式模式）
-     */
-//    @PostMapping("/message/stream")
-//    public SseEmitter sendMessageStream(@RequestBody ChatMessageRequest request) {
-//        try {
-//            return chatService.sendMessageStream(request);
-//        } catch (Exception e) {
-//            log.error("发送流式消息失败", e);
-//            SseEmitter emitter = new SseEmitter();
-//            emitter.completeWithError(e);
-//            return emitter;
-//        }
-//    }
-    
-    /**
-     * 停止响应
-     */
-    @PostMapping("/stop-response")
-    public Result<Boolean> stopResponse(@RequestBody StopResponseRequest request) {
-        boolean stopped = agent.stopChat(request.getConversationId());
-        if (stopped) {
-            return Result.success(stopped);
-        } else {
-            return Result.error("停止响应失败");
-        }
-    }
-    
-    /**
-     * 终止流程
-     */
-    @PostMapping("/stop-conversation")
-    public Result<Boolean> stopConversation(@RequestBody StopConversationRequest request) {
-        try {
-            boolean success = chatService.stopConversation(request);
-            return Result.success(success);
-        } catch (Exception e) {
-            log.error("终止流程失败", e);
-            return Result.error("终止流程失败: " + e.getMessage());
-        }
-    }
+package com.gdu.zeus.ops.workorder.client;
+
+import com.gdu.uap.auth.core.util.SecurityUtils;
+import com.gdu.zeus.ops.workorder.dto.*;
+import com.gdu.zeus.ops.workorder.entity.ChatDetail;
+import com.gdu.zeus.ops.workorder.services.ChatService;
+import com.gdu.zeus.ops.workorder.services.CustomerSupportAssistant;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * 对话页面
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/chat/v2")
+@RequiredArgsConstructor
+public class ChatController {
+    
+    private final ChatService chatService;
+    private final CustomerSupportAssistant agent;
+
+
+    /**
+     * 对话
+     * @param request
+     * @return
+     */
+    @CrossOrigin
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "开始聊天对话") })
+    @PostMapping(path = "/chat", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> chat(@RequestBody ChatMessageRequest request) {
+        return agent.chatWithMetadata(request);
+    }
+
+    /**
+     * 获取对话列表（按时间段分组）
+     */
+    @GetMapping("/list")
+    public Result<ChatListGroupResponse> getChatList() {
+        try {
+            if (SecurityUtils.getUser() == null){
+                return Result.error("未知用户，请先登录");
+            }
+            // 获取当前用户
+            String user = SecurityUtils.getUser().getUsername();
+            ChatListGroupResponse chatList = chatService.getChatListGrouped(user);
+            return Result.success(chatList);
+        } catch (Exception e) {
+            log.error("获取对话列表失败", e);
+            return Result.error("获取对话列表失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 分页获取对话列表（按时间段分组）
+     * @param cursor 上一页返回的nextCursor，第一页不传
+     * @param size 每页条数
+     */
+    @GetMapping("/list/page")
+    public Result<ChatListPageResponse> getChatListPage(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "" + ChatService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            if (SecurityUtils.getUser() == null){
+                return Result.error("未知用户，请先登录");
+            }
+            String user = SecurityUtils.getUser().getUsername();
+            return Result.success(chatService.getChatListPage(user, cursor, size));
+        } catch (Exception e) {
+            log.error("分页获取对话列表失败", e);
+            return Result.error("获取对话列表失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取对话详情
+     * @param chatId 对话ID
+     */
+    @GetMapping("/detail/{chatId}")
+    public Result<List<ChatDetail>> getChatDetail(@PathVariable String chatId) {
+        try {
+            List<ChatDetail> detail = chatService.getChatDetailAll(chatId);
+            return Result.success(detail);
+        } catch (Exception e) {
+            log.error("获取对话详情失败", e);
+            return Result.error("获取对话详情失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 分页获取对话详情，对话组按最新消息倒序，折叠的对话组不含消息
+     * @param chatId 对话ID
+     * @param chatType 对话类型，不传时查询全部类型
+     * @param cursor 上一页返回的nextCursor，第一页不传
+     * @param size 每页对话组数
+     * @param expand 附带最近消息的对话组数
+     */
+    @GetMapping("/detail/{chatId}/conversations")
+    public Result<ConversationPageResponse> getConversationPage(@PathVariable String chatId,
+                                                                @RequestParam(required = false) Integer chatType,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "" + ChatService.DEFAULT_CONVERSATION_PAGE_SIZE) int size,
+                                                                @RequestParam(defaultValue = "1") int expand) {
+        try {
+            return Result.success(chatService.getConversationPage(chatId, chatType, cursor, size, expand));
+        } catch (Exception e) {
+            log.error("分页获取对话详情失败", e);
+            return Result.error("获取对话详情失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 分页获取对话组内的消息(展开折叠的对话组或加载更早消息)
+     * @param chatId 对话ID
+     * @param chatType 对话类型
+     * @param conversationId 对话组ID，不传时查询未关联对话组的消息
+     * @param cursor 上一页返回的nextCursor或对话组的messagesCursor，不传时查询最新消息
+     * @param size 每页消息数
+     */
+    @GetMapping("/detail/{chatId}/messages")
+    public Result<MessagePageResponse> getConversationMessages(@PathVariable String chatId,
+                                                               @RequestParam Integer chatType,
+                                                               @RequestParam(required = false) String conversationId,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "" + ChatService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return Result.success(chatService.getConversationMessages(chatId, chatType, conversationId, cursor, size));
+        } catch (Exception e) {
+            log.error("分页获取对话消息失败", e);
+            return Result.error("获取对话消息失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 发送消息（阻塞模式）
+     */
+//    @PostMapping("/message")
+//    public Result<ChatMessageResponse> sendMessage(@RequestBody ChatMessageRequest request) {
+//        try {
+//            ChatMessageResponse response = chatService.sendMessage(request);
+//            return Result.success(response);
+//        } catch (Exception e) {
+//            log.error("发送消息失败", e);
+//            return Result.error("发送消息失败: " + e.getMessage());
+//        }
+//    }
+    
+    /**
+     * 发送消息（流式模式）
+     */
+//    @PostMapping("/message/stream")
+//    public SseEmitter sendMessageStream(@RequestBody ChatMessageRequest request) {
+//        try {
+//            return chatService.sendMessageStream(request);
+//        } catch (Exception e) {
+//            log.error("发送流式消息失败", e);
+//            SseEmitter emitter = new SseEmitter();
+//            emitter.completeWithError(e);
+//            return emitter;
+//        }
+//    }
+    
+    /**
+     * 停止响应
+     */
+    @PostMapping("/stop-response")
+    public Result<Boolean> stopResponse(@RequestBody StopResponseRequest request) {
+        boolean stopped = agent.stopChat(request.getConversationId());
+        if (stopped) {
+            return Result.success(stopped);
+        } else {
+            return Result.error("停止响应失败");
+        }
+    }
+    
+    /**
+     * 终止流程
+     */
+    @PostMapping("/stop-conversation")
+    public Result<Boolean> stopConversation(@RequestBody StopConversationRequest request) {
+        try {
+            boolean success = chatService.stopConversation(request);
+            return Result.success(success);
+        } catch (Exception e) {
+            log.error("终止流程失败", e);
+            return Result.error("终止流程失败: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -1,47 +1,47 @@
-package com.gdu.zeus.ops.workorder.client;
-
-import com.gdu.common.core.util.R;
-import com.gdu.uap.auth.client.security.annotation.Inner;
-import com.gdu.zeus.ops.workorder.services.SysFileService;
-import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
-import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
-
-/**
- * 文件管理
- */
-@RestController
-@AllArgsConstructor
-@RequestMapping("/sys-file")
-@Tag(description = "sys-file", name = "文件管理")
-public class SysFileController {
-
-    private final SysFileService sysFileService;
-
-    /**
-     * 上传文件到GSP
-     *
-     * @param file 资源
-     * @return GspFileInfo
-     */
-    @PostMapping("/s3/upload")
-    public R uploadToGsp(@RequestPart("file") MultipartFile file, String bizType) {
-        return sysFileService.uploadFile(file, bizType);
-    }
-
-    /**
-     * 获取文件
-     *
-     * @param bucket   桶名称
-     * @param fileName 文件空间/名称
-     * @param response
-     * @return
-     */
-    @Inner(false)
-    @GetMapping("/{bucket}/{fileName}")
-    public void file(@PathVariable String bucket, @PathVariable String fileName, HttpServletResponse response) {
-        sysFileService.getFile(bucket, fileName, response);
-    }
-}
+package com.gdu.zeus.ops.workorder.client;
+
+import com.gdu.common.core.util.R;
+import com.gdu.uap.auth.client.security.annotation.Inner;
+import com.gdu.zeus.ops.workorder.services.SysFileService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 文件管理
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping("/sys-file")
+@Tag(description = "sys-file", name = "文件管理")
+public class SysFileController {
+
+    private final SysFileService sysFileService;
+
+    /**
+     * 上传文件到GSP
+     *
+     * @param file 资源
+     * @return GspFileInfo
+     */
+    @PostMapping("/s3/upload")
+    public R uploadToGsp(@RequestPart("file") MultipartFile file, String bizType) {
+        return sysFileService.uploadFile(file, bizType);
+    }
+
+    /**
+     * 获取文件
+     *
+     * @param bucket   桶名称
+     * @param fileName 文件空间/名称
+     * @param response
+     * @return
+     */
+    @Inner(false)
+    @GetMapping("/{bucket}/{fileName}")
+    public void file(@PathVariable String bucket, @PathVariable String fileName, HttpServletResponse response) {
+        sysFileService.getFile(bucket, fileName, response);
+    }
+}
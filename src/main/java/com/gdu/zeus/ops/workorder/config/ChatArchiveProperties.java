@@ -0,0 +1,42 @@
+package com.gdu.zeus.ops.workorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 对话详情归档配置属性
+ * 在application.yml中通过 workorder.chat-archive 配置
+ * <p>
+ * 消息读取始终合并归档表 chat_detail_archive，与是否启用无关，发布前须先执行 sql/chat_detail_archive.sql
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workorder.chat-archive")
+public class ChatArchiveProperties {
+
+    /**
+     * 是否启用定时归档，默认关闭；关闭后仍从归档表读取已归档数据
+     */
+    private boolean enabled = false;
+
+    /**
+     * 对话组最后一条消息早于该天数时移入归档表
+     */
+    private int retainDays = 180;
+
+    /**
+     * 执行时间(cron表达式)，ChatDetailArchiver 启动时按该表达式在专用调度线程上安排执行，修改后需重启生效
+     */
+    private String cron = "0 30 3 * * ?";
+
+    /**
+     * 每批处理的对话组数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 每次执行最多处理的批数，避免首次上线时一次归档过多数据
+     */
+    private int maxBatchesPerRun = 50;
+}
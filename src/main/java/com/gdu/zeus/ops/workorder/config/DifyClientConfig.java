@@ -1,93 +1,93 @@
-package com.gdu.zeus.ops.workorder.config;
-
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
-import lombok.Data;
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.netty.http.client.HttpClient;
-import reactor.netty.resources.ConnectionProvider;
-
-import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
-
-/**
- * Dify客户端配置
- */
-@Configuration
-public class DifyClientConfig {
-
-    @Bean
-    @ConfigurationProperties(prefix = "dify")
-    public DifyProperties difyProperties() {
-        return new DifyProperties();
-    }
-
-    @Bean
-    public WebClient difyWebClient(DifyProperties difyProperties) {
-        // 配置连接池
-        ConnectionProvider connectionProvider = ConnectionProvider.builder("dify-connection-pool")
-                .maxConnections(difyProperties.getMaxConnections())
-                .maxIdleTime(Duration.ofSeconds(60))
-                .maxLifeTime(Duration.ofMinutes(5))
-                .pendingAcquireTimeout(Duration.ofSeconds(45))
-                .evictInBackground(Duration.ofSeconds(120))
-                .build();
-
-        // 配置HTTP客户端
-        HttpClient httpClient = HttpClient.create(connectionProvider)
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 
-                       (int) difyProperties.getTimeout().getConnect().toMillis())
-                .doOnConnected(conn -> conn
-                        .addHandlerLast(new ReadTimeoutHandler(
-                                difyProperties.getTimeout().getRead().getSeconds(), 
-                                TimeUnit.SECONDS))
-                        .addHandlerLast(new WriteTimeoutHandler(
-                                difyProperties.getTimeout().getWrite().getSeconds(), 
-                                TimeUnit.SECONDS))
-                )
-                .responseTimeout(difyProperties.getTimeout().getRead());
-
-        // 配置Exchange策略 - 增加缓冲区大小以支持大文件和流式数据
-        ExchangeStrategies strategies = ExchangeStrategies.builder()
-                .codecs(configurer -> configurer
-                        .defaultCodecs()
-                        .maxInMemorySize(10 * 1024 * 1024)) // 10MB
-                .build();
-
-        return WebClient.builder()
-                .baseUrl(difyProperties.getBaseUrl())
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .exchangeStrategies(strategies)
-                .defaultHeader("Authorization", "Bearer " + difyProperties.getApiKey())
-                .defaultHeader("Content-Type", "application/json")
-                .build();
-    }
-
-    /**
-     * Dify配置属性
-     */
-    @Data
-    public static class DifyProperties {
-        private String baseUrl;
-        private String apiKey;
-        private TimeoutConfig timeout = new TimeoutConfig();
-        private Integer maxConnections = 500;
-        private Integer maxConnectionsPerRoute = 100;
-        private Map<String, String> alarmTypes = new HashMap<>();
-
-        @Data
-        public static class TimeoutConfig {
-            private Duration connect = Duration.ofSeconds(30);
-            private Duration read = Duration.ofSeconds(120);
-            private Duration write = Duration.ofSeconds(30);
-        }
-    }
+package com.gdu.zeus.ops.workorder.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dify客户端配置
+ */
+@Configuration
+public class DifyClientConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "dify")
+    public DifyProperties difyProperties() {
+        return new DifyProperties();
+    }
+
+    @Bean
+    public WebClient difyWebClient(DifyProperties difyProperties) {
+        // 配置连接池
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("dify-connection-pool")
+                .maxConnections(difyProperties.getMaxConnections())
+                .maxIdleTime(Duration.ofSeconds(60))
+                .maxLifeTime(Duration.ofMinutes(5))
+                .pendingAcquireTimeout(Duration.ofSeconds(45))
+                .evictInBackground(Duration.ofSeconds(120))
+                .build();
+
+        // 配置HTTP客户端
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 
+                       (int) difyProperties.getTimeout().getConnect().toMillis())
+                .doOnConnected(conn -> conn
+                        .addHandlerLast(new ReadTimeoutHandler(
+                                difyProperties.getTimeout().getRead().getSeconds(), 
+                                TimeUnit.SECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(
+                                difyProperties.getTimeout().getWrite().getSeconds(), 
+                                TimeUnit.SECONDS))
+                )
+                .responseTimeout(difyProperties.getTimeout().getRead());
+
+        // 配置Exchange策略 - 增加缓冲区大小以支持大文件和流式数据
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(configurer -> configurer
+                        .defaultCodecs()
+                        .maxInMemorySize(10 * 1024 * 1024)) // 10MB
+                .build();
+
+        return WebClient.builder()
+                .baseUrl(difyProperties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .exchangeStrategies(strategies)
+                .defaultHeader("Authorization", "Bearer " + difyProperties.getApiKey())
+                .defaultHeader("Content-Type", "application/json")
+                .build();
+    }
+
+    /**
+     * Dify配置属性
+     */
+    @Data
+    public static class DifyProperties {
+        private String baseUrl;
+        private String apiKey;
+        private TimeoutConfig timeout = new TimeoutConfig();
+        private Integer maxConnections = 500;
+        private Integer maxConnectionsPerRoute = 100;
+        private Map<String, String> alarmTypes = new HashMap<>();
+
+        @Data
+        public static class TimeoutConfig {
+            private Duration connect = Duration.ofSeconds(30);
+            private Duration read = Duration.ofSeconds(120);
+            private Duration write = Duration.ofSeconds(30);
+        }
+    }
 }
\ No newline at end of file
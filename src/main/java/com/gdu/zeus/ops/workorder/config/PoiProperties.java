@@ -0,0 +1,53 @@
+package com.gdu.zeus.ops.workorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * POI查询配置属性
+ * 在application.yml中通过 workorder.poi 配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workorder.poi")
+public class PoiProperties {
+
+    /**
+     * 是否启用POI查询缓存
+     */
+    private boolean cacheEnabled = true;
+
+    /**
+     * 缓存最大条目数
+     */
+    private int cacheSize = 500;
+
+    /**
+     * 查询结果缓存有效期(秒)
+     */
+    private long cacheTtlSeconds = 3600;
+
+    /**
+     * 空结果缓存有效期(秒)
+     */
+    private long negativeTtlSeconds = 60;
+
+    /**
+     * getPOILocations 每次返回给模型的POI数量，其余通过 getMorePOILocations 按需获取
+     */
+    private int topK = 8;
+
+    /**
+     * 去重距离(米)：距离在此范围内且名称相同或互相包含的POI视为同一地点
+     */
+    private double dedupeDistanceMeters = 50;
+
+    /**
+     * 区域同义词：别名 -> 标准名称，命中别名时按标准名称查询和缓存
+     */
+    private Map<String, String> synonyms = new LinkedHashMap<>();
+}
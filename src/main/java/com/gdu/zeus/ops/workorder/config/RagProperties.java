@@ -0,0 +1,64 @@
+package com.gdu.zeus.ops.workorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 检索增强(RAG)配置属性
+ * 在application.yml中通过 workorder.rag 配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workorder.rag")
+public class RagProperties {
+
+    /**
+     * 是否启用检索增强
+     */
+    private boolean enabled = true;
+
+    /**
+     * 检索时间预算(毫秒)，超时后降级为无上下文
+     */
+    private long timeBudgetMs = 800;
+
+    /**
+     * 检索返回的最大文档数
+     */
+    private int topK = 4;
+
+    /**
+     * 相似度阈值
+     */
+    private double similarityThreshold = 0.5;
+
+    /**
+     * 注入上下文的最大token数
+     */
+    private int maxContextTokens = 1200;
+
+    /**
+     * 检索并发线程数
+     */
+    private int maxConcurrency = 8;
+
+    /**
+     * 检索结果缓存容量
+     */
+    private int cacheSize = 1000;
+
+    /**
+     * 检索结果缓存有效期(秒)
+     */
+    private long cacheTtlSeconds = 600;
+
+    /**
+     * 意图关键词，用户请求命中任一关键词时才进行知识检索
+     */
+    private List<String> intentKeywords = new ArrayList<>(List.of(
+            "算法", "识别", "检测", "监测", "场景", "功能", "用途", "什么是", "介绍", "怎么用", "如何使用", "支持哪些"));
+}
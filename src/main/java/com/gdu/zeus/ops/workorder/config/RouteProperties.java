@@ -0,0 +1,117 @@
+package com.gdu.zeus.ops.workorder.config;
+
+import com.gdu.zeus.ops.workorder.util.RouteMatchMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 航线查询配置属性
+ * 在application.yml中通过 workorder.route 配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workorder.route")
+public class RouteProperties {
+
+    /**
+     * 默认查询半径(米)
+     */
+    private double defaultRadius = 2000.0;
+
+    /**
+     * 航线坐标每个点的数值个数(经度,纬度,高度)
+     */
+    private int coordinateDimension = 3;
+
+    /**
+     * 航线与查询点的距离判定方式，本地过滤(单元格缓存、本地索引)使用，须与航线接口的 radius 判定一致
+     */
+    private RouteMatchMode matchMode = RouteMatchMode.ANY_WAYPOINT;
+
+    /**
+     * 会话内航线详情缓存有效期(秒)，列出航线时缓存，创建工单时直接使用
+     */
+    private long detailCacheTtlSeconds = 1800;
+
+    /**
+     * 会话内航线详情缓存的最大会话数
+     */
+    private int detailCacheMaxConversations = 1000;
+
+    /**
+     * 空间缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * 本地空间索引配置
+     */
+    private Index index = new Index();
+
+    @Data
+    public static class Cache {
+
+        /**
+         * 是否启用按geohash单元格的航线缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * geohash精度，6位单元格约 1.2km x 0.6km
+         */
+        private int geohashPrecision = 6;
+
+        /**
+         * 最大缓存单元格数
+         */
+        private int maxCells = 2000;
+
+        /**
+         * 单元格新鲜期(秒)，超过后返回旧数据并在后台重新获取
+         */
+        private long ttlSeconds = 300;
+
+        /**
+         * 单元格最长可用期(秒)，超过后同步重新获取
+         */
+        private long maxStaleSeconds = 1800;
+
+        /**
+         * 后台刷新线程数
+         */
+        private int revalidateThreads = 2;
+    }
+
+    @Data
+    public static class Index {
+
+        /**
+         * 是否启用本地航线空间索引，启用且同步完成后按半径查询航线不再调用远程接口
+         */
+        private boolean enabled = false;
+
+        /**
+         * 同步中心点列表，格式 "经度,纬度"；远程无全量接口，按中心点+同步半径拉取
+         */
+        private List<String> syncCenters = new ArrayList<>();
+
+        /**
+         * 同步半径(米)，需覆盖业务区域
+         */
+        private double syncRadius = 50000;
+
+        /**
+         * 同步间隔(毫秒)
+         */
+        private long syncIntervalMs = 300000;
+
+        /**
+         * 网格大小(度)，0.01度约1.1km
+         */
+        private double gridSizeDegrees = 0.01;
+    }
+}
@@ -0,0 +1,46 @@
+package com.gdu.zeus.ops.workorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 算法向量索引配置属性
+ * 在application.yml中通过 workorder.vector-index 配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workorder.vector-index")
+public class VectorIndexProperties {
+
+    /**
+     * 启动后是否在后台构建向量索引
+     */
+    private boolean buildOnStartup = true;
+
+    /**
+     * 每批向量化的文档数，每批完成后更新构建进度
+     */
+    private int buildBatchSize = 20;
+
+    /**
+     * 构建失败后的首次重试间隔(毫秒)，之后每次失败翻倍
+     */
+    private long buildRetryDelayMs = 30000;
+
+    /**
+     * 构建失败后的最大重试间隔(毫秒)
+     */
+    private long buildRetryMaxDelayMs = 300000;
+
+    /**
+     * 增量刷新间隔(毫秒)
+     */
+    private long flushIntervalMs = 2000;
+
+    /**
+     * 向量索引快照文件路径，为空时不保存/加载快照
+     * 启动时先加载上次快照对外提供检索，后台构建完成后覆盖保存
+     */
+    private String snapshotPath;
+}
@@ -1,112 +1,281 @@
-package com.gdu.zeus.ops.workorder.config;
-
-import lombok.Data;
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.stereotype.Component;
-
-/**
- * 工单系统API配置属性
- * 在application.yml中配置具体的API地址
- */
-@Data
-@Component
-@ConfigurationProperties(prefix = "workorder.api")
-public class WorkOrderApiProperties {
-
-    /**
-     * 工单系统基础URL
-     * 示例: http://172.16.64.112:30755/gdu-domp-api
-     */
-    private String baseUrl;
-
-    /**
-     * 连接超时时间(毫秒)
-     */
-    private int connectTimeout = 5000;
-
-    /**
-     * 读取超时时间(毫秒)
-     */
-    private int readTimeout = 10000;
-
-    /**
-     * 是否启用重试机制
-     */
-    private boolean retryEnabled = true;
-
-    /**
-     * 最大重试次数
-     */
-    private int maxRetries = 3;
-
-    /**
-     * API认证信息
-     */
-    private Auth auth = new Auth();
-
-    /**
-     * 具体API端点配置
-     */
-    private Endpoints endpoints = new Endpoints();
-
-    @Data
-    public static class Auth {
-        /**
-         * 认证类型: NONE, BASIC, BEARER, API_KEY
-         */
-        private String type = "BEARER";
-
-        /**
-         * Bearer Token
-         */
-        private String bearerToken;
-
-        /**
-         * API Key (如果使用API_KEY认证)
-         */
-        private String apiKey;
-
-        /**
-         * API Key Header名称
-         */
-        private String apiKeyHeader = "X-API-Key";
-
-        /**
-         * Basic认证用户名
-         */
-        private String username;
-
-        /**
-         * Basic认证密码
-         */
-        private String password;
-    }
-
-    @Data
-    public static class Endpoints {
-        /**
-         * 获取工单性质列表
-         */
-        private String natureList = "/business/workOrder/natureList";
-
-        /**
-         * 获取具体地点
-         */
-        private String getPoiName = "/business/overview-mode/search/getPoiName";
-
-        /**
-         * 获取已有航线
-         */
-        private String getRoutes = "/route/getRouteByRadius";
-
-        /**
-         * 获取航线基本信息
-         */
-        private String getRouteInfo = "/route/getByRouteId";
-
-        /**
-         * 创建工单
-         */
-        private String createWorkOrder = "/business/workOrder/create";
-    }
+package com.gdu.zeus.ops.workorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 工单系统API配置属性
+ * 在application.yml中配置具体的API地址
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workorder.api")
+public class WorkOrderApiProperties {
+
+    /**
+     * 工单系统基础URL
+     * 示例: http://172.16.64.112:30755/gdu-domp-api
+     */
+    private String baseUrl;
+
+    /**
+     * 连接超时时间(毫秒)
+     */
+    private int connectTimeout = 5000;
+
+    /**
+     * 读取超时时间(毫秒)
+     */
+    private int readTimeout = 10000;
+
+    /**
+     * 是否启用重试机制
+     */
+    private boolean retryEnabled = true;
+
+    /**
+     * 最大重试次数
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 连接池配置
+     */
+    private Pool pool = new Pool();
+
+    /**
+     * 熔断、并发隔离与重试配置
+     */
+    private Resilience resilience = new Resilience();
+
+    /**
+     * 对冲请求配置
+     */
+    private Hedging hedging = new Hedging();
+
+    /**
+     * 是否合并并发的相同读请求(POI、航线、航线详情)，同一时刻只发出一次调用，结果共享给所有等待者(不区分调用方)
+     */
+    private boolean coalescingEnabled = true;
+
+    /**
+     * API认证信息
+     */
+    private Auth auth = new Auth();
+
+    /**
+     * 具体API端点配置
+     */
+    private Endpoints endpoints = new Endpoints();
+
+    @Data
+    public static class Auth {
+        /**
+         * 认证类型: NONE, BASIC, BEARER, API_KEY
+         */
+        private String type = "BEARER";
+
+        /**
+         * Bearer Token
+         */
+        private String bearerToken;
+
+        /**
+         * API Key (如果使用API_KEY认证)
+         */
+        private String apiKey;
+
+        /**
+         * API Key Header名称
+         */
+        private String apiKeyHeader = "X-API-Key";
+
+        /**
+         * Basic认证用户名
+         */
+        private String username;
+
+        /**
+         * Basic认证密码
+         */
+        private String password;
+    }
+
+    @Data
+    public static class Pool {
+        /**
+         * 每个目标地址(host:port)的最大连接数
+         */
+        private int maxConnectionsPerRoute = 50;
+
+        /**
+         * 等待获取连接的最大请求数，超出后立即失败
+         */
+        private int pendingAcquireMaxCount = 200;
+
+        /**
+         * 获取连接超时时间(毫秒)
+         */
+        private int acquireTimeout = 2000;
+
+        /**
+         * 空闲连接最长保留时间(毫秒)，应小于服务端keep-alive超时
+         */
+        private int maxIdleTime = 30000;
+
+        /**
+         * 连接最长存活时间(毫秒)
+         */
+        private int maxLifeTime = 300000;
+
+        /**
+         * 后台清理空闲连接的间隔(毫秒)
+         */
+        private int evictInterval = 60000;
+
+        /**
+         * 是否启用TCP keep-alive
+         */
+        private boolean keepAlive = true;
+    }
+
+    @Data
+    public static class Resilience {
+        /**
+         * 是否启用熔断和并发隔离
+         */
+        private boolean enabled = true;
+
+        /**
+         * 熔断统计的最近调用数
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * 计算失败率所需的最少调用数
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * 失败率阈值(百分比)，达到后熔断打开
+         */
+        private int failureRateThreshold = 50;
+
+        /**
+         * 慢调用阈值(毫秒)，超过的调用计为失败
+         */
+        private int slowCallThreshold = 3000;
+
+        /**
+         * 熔断打开持续时间(毫秒)，之后进入半开状态试探
+         */
+        private int openDuration = 30000;
+
+        /**
+         * 半开状态允许的试探调用数
+         */
+        private int halfOpenCalls = 3;
+
+        /**
+         * 每个接口的最大并发调用数
+         */
+        private int maxConcurrentCalls = 20;
+
+        /**
+         * 并发已满时的最长等待时间(毫秒)
+         */
+        private int maxWait = 0;
+
+        /**
+         * 重试初始退避时间(毫秒)，按指数增长并加随机抖动
+         */
+        private int retryBackoff = 200;
+
+        /**
+         * 重试最大退避时间(毫秒)
+         */
+        private int retryMaxBackoff = 2000;
+
+        /**
+         * 单次调用(含重试和退避)的最长总耗时(毫秒)，剩余时间不足一次读超时时不再重试
+         */
+        private int maxCallDuration = 15000;
+    }
+
+    @Data
+    public static class Hedging {
+        /**
+         * 是否对幂等读接口(POI、航线、航线详情)启用对冲请求
+         */
+        private boolean enabled = false;
+
+        /**
+         * 对冲延迟取该接口最近耗时的百分位
+         */
+        private double percentile = 95;
+
+        /**
+         * 计算百分位的最近样本数
+         */
+        private int sampleSize = 200;
+
+        /**
+         * 样本不足时的对冲延迟(毫秒)
+         */
+        private int defaultDelay = 500;
+
+        /**
+         * 对冲延迟下限(毫秒)
+         */
+        private int minDelay = 50;
+
+        /**
+         * 对冲延迟上限(毫秒)
+         */
+        private int maxDelay = 3000;
+
+        /**
+         * 全局对冲预算：每个请求积累的额度，发出一次对冲消耗1，0.1即对冲请求不超过约10%
+         */
+        private double budgetRatio = 0.1;
+
+        /**
+         * 对冲预算最大积累额度
+         */
+        private int maxBudget = 20;
+
+        /**
+         * 执行请求的最大线程数
+         */
+        private int maxThreads = 64;
+    }
+
+    @Data
+    public static class Endpoints {
+        /**
+         * 获取工单性质列表
+         */
+        private String natureList = "/business/workOrder/natureList";
+
+        /**
+         * 获取具体地点
+         */
+        private String getPoiName = "/business/overview-mode/search/getPoiName";
+
+        /**
+         * 获取已有航线
+         */
+        private String getRoutes = "/route/getRouteByRadius";
+
+        /**
+         * 获取航线基本信息
+         */
+        private String getRouteInfo = "/route/getByRouteId";
+
+        /**
+         * 创建工单
+         */
+        private String createWorkOrder = "/business/workOrder/create";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.gdu.zeus.ops.workorder.data;
+
+/**
+ * AI算法数据变更事件
+ * 由 {@link AIAlgorithmEntityListener} 在实体持久化/更新/删除后发布，携带变更后实体的副本
+ */
+public record AIAlgorithmChangedEvent(ChangeType type, AIAlgorithm algorithm) {
+
+    public enum ChangeType {
+        SAVED, REMOVED
+    }
+}
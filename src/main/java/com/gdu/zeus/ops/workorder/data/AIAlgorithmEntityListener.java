@@ -0,0 +1,40 @@
+package com.gdu.zeus.ops.workorder.data;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI算法实体监听器
+ * 将JPA生命周期回调转换为 {@link AIAlgorithmChangedEvent}，供内存索引、向量索引等订阅
+ */
+@Component
+public class AIAlgorithmEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AIAlgorithmEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(AIAlgorithm algorithm) {
+        eventPublisher.publishEvent(new AIAlgorithmChangedEvent(AIAlgorithmChangedEvent.ChangeType.SAVED, copyOf(algorithm)));
+    }
+
+    @PostRemove
+    public void onRemoved(AIAlgorithm algorithm) {
+        eventPublisher.publishEvent(new AIAlgorithmChangedEvent(AIAlgorithmChangedEvent.ChangeType.REMOVED, copyOf(algorithm)));
+    }
+
+    /**
+     * 复制实体，避免订阅方持有受管实体
+     */
+    private AIAlgorithm copyOf(AIAlgorithm algorithm) {
+        return new AIAlgorithm(algorithm.getId(), algorithm.getScenario(), algorithm.getAlgorithmName(),
+                algorithm.getAlgorithmFunction(), algorithm.getAlgorithmUsage());
+    }
+}
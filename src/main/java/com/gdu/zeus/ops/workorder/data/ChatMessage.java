@@ -1,31 +1,31 @@
-package com.gdu.zeus.ops.workorder.data;
-
-import com.gdu.zeus.ops.workorder.data.enums.MessageRole;
-import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
-
-@Entity
-@Table(name = "chat_messages")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class ChatMessage {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    private String chatId;
-    private String userId;
-
-    @Enumerated(EnumType.STRING)
-    private MessageRole role; // USER, ASSISTANT, SYSTEM
-
-    @Column(columnDefinition = "TEXT")
-    private String content;
-
-    private LocalDateTime timestamp;
-}
+package com.gdu.zeus.ops.workorder.data;
+
+import com.gdu.zeus.ops.workorder.data.enums.MessageRole;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "chat_messages")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String chatId;
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    private MessageRole role; // USER, ASSISTANT, SYSTEM
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    private LocalDateTime timestamp;
+}
@@ -1,17 +1,17 @@
-package com.gdu.zeus.ops.workorder.data;
-
-import com.gdu.zeus.ops.workorder.data.enums.MessageRole;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class ChatMessageDTO {
-    private MessageRole role; // USER, ASSISTANT, SYSTEM
-    private String content;
-    private LocalDateTime timestamp;
-}
+package com.gdu.zeus.ops.workorder.data;
+
+import com.gdu.zeus.ops.workorder.data.enums.MessageRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageDTO {
+    private MessageRole role; // USER, ASSISTANT, SYSTEM
+    private String content;
+    private LocalDateTime timestamp;
+}
@@ -1,33 +1,33 @@
-package com.gdu.zeus.ops.workorder.data;
-
-import com.gdu.zeus.ops.workorder.data.enums.SessionStatus;
-import com.gdu.zeus.ops.workorder.data.enums.SessionType;
-import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
-
-@Entity
-@Table(name = "chat_sessions")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class ChatSession {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    private String chatId;  // 会话唯一标识
-    private String userId;  // 用户ID
-    private String title;   // 会话标题
-
-    @Enumerated(EnumType.STRING)
-    private SessionType sessionType;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
-
-    @Enumerated(EnumType.STRING)
-    private SessionStatus status; // ACTIVE, ARCHIVED
+package com.gdu.zeus.ops.workorder.data;
+
+import com.gdu.zeus.ops.workorder.data.enums.SessionStatus;
+import com.gdu.zeus.ops.workorder.data.enums.SessionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "chat_sessions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSession {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String chatId;  // 会话唯一标识
+    private String userId;  // 用户ID
+    private String title;   // 会话标题
+
+    @Enumerated(EnumType.STRING)
+    private SessionType sessionType;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Enumerated(EnumType.STRING)
+    private SessionStatus status; // ACTIVE, ARCHIVED
 }
\ No newline at end of file
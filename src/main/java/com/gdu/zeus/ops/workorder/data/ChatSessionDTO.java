@@ -1,19 +1,19 @@
-package com.gdu.zeus.ops.workorder.data;
-
-import com.gdu.zeus.ops.workorder.data.enums.SessionType;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class ChatSessionDTO {
-    private String chatId;  // 会话唯一标识
-    private String title;   // 会话标题
-    private SessionType sessionType;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+package com.gdu.zeus.ops.workorder.data;
+
+import com.gdu.zeus.ops.workorder.data.enums.SessionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSessionDTO {
+    private String chatId;  // 会话唯一标识
+    private String title;   // 会话标题
+    private SessionType sessionType;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
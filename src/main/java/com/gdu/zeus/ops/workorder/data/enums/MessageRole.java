@@ -1,5 +1,5 @@
-package com.gdu.zeus.ops.workorder.data.enums;
-
-public enum MessageRole {
-    USER, ASSISTANT, SYSTEM;
-}
+package com.gdu.zeus.ops.workorder.data.enums;
+
+public enum MessageRole {
+    USER, ASSISTANT, SYSTEM;
+}
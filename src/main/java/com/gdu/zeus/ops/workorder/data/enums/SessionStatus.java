@@ -1,5 +1,5 @@
-package com.gdu.zeus.ops.workorder.data.enums;
-
-public enum SessionStatus {
-    ACTIVE, ARCHIVED;
-}
+package com.gdu.zeus.ops.workorder.data.enums;
+
+public enum SessionStatus {
+    ACTIVE, ARCHIVED;
+}
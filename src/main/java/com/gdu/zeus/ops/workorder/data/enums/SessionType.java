@@ -1,18 +1,18 @@
-package com.gdu.zeus.ops.workorder.data.enums;
-
-public enum SessionType {
-    TARGET_DETECTION("目标检测"),
-    SMART_WORKORDER("智能工单"),
-    SMART_QA("智能问数"),
-    ALARM_ANALYSIS("告警研判");
-
-    private final String description;
-
-    SessionType(String description) {
-        this.description = description;
-    }
-
-    public String getDescription() {
-        return description;
-    }
-}
+package com.gdu.zeus.ops.workorder.data.enums;
+
+public enum SessionType {
+    TARGET_DETECTION("目标检测"),
+    SMART_WORKORDER("智能工单"),
+    SMART_QA("智能问数"),
+    ALARM_ANALYSIS("告警研判");
+
+    private final String description;
+
+    SessionType(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
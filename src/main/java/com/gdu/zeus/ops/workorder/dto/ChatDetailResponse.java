@@ -1,15 +1,15 @@
-package com.gdu.zeus.ops.workorder.dto;
-
-import lombok.Data;
-
-import java.util.List;
-
-/**
- * 对话详情响应DTO
- */
-@Data
-public class ChatDetailResponse {
-    private Integer chatType;
-    private String chatTypeName;
-    private List<ConversationGroup> conversations;
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 对话详情响应DTO
+ */
+@Data
+public class ChatDetailResponse {
+    private Integer chatType;
+    private String chatTypeName;
+    private List<ConversationGroup> conversations;
 }
\ No newline at end of file
@@ -1,24 +1,24 @@
-package com.gdu.zeus.ops.workorder.dto;
-
-import lombok.Data;
-
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * 对话列表分组响应DTO
- */
-@Data
-public class ChatListGroupResponse {
-    private List<ChatListResponse> today;        // 今日
-    private List<ChatListResponse> yesterday;    // 昨日
-    private List<ChatListResponse> last7Days;    // 7日内（不包含今日和昨日，即2-7天前）
-    private List<ChatListResponse> last30Days;   // 30日内（不包含前7天，即8-30天前）
-    
-    public ChatListGroupResponse() {
-        this.today = new ArrayList<>();
-        this.yesterday = new ArrayList<>();
-        this.last7Days = new ArrayList<>();
-        this.last30Days = new ArrayList<>();
-    }
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 对话列表分组响应DTO
+ */
+@Data
+public class ChatListGroupResponse {
+    private List<ChatListResponse> today;        // 今日
+    private List<ChatListResponse> yesterday;    // 昨日
+    private List<ChatListResponse> last7Days;    // 7日内（不包含今日和昨日，即2-7天前）
+    private List<ChatListResponse> last30Days;   // 30日内（不包含前7天，即8-30天前）
+    
+    public ChatListGroupResponse() {
+        this.today = new ArrayList<>();
+        this.yesterday = new ArrayList<>();
+        this.last7Days = new ArrayList<>();
+        this.last30Days = new ArrayList<>();
+    }
 }
\ No newline at end of file
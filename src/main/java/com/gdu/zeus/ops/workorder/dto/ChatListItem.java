@@ -0,0 +1,17 @@
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 对话列表分页查询行，时间分组在SQL中计算
+ */
+@Data
+public class ChatListItem {
+    private Long id;
+    private String chatId;
+    private String title;
+    private LocalDateTime createTime;
+    private String bucket;       // today / yesterday / last7Days / last30Days
+}
@@ -0,0 +1,13 @@
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+/**
+ * 对话列表分页响应DTO
+ */
+@Data
+public class ChatListPageResponse {
+    private ChatListGroupResponse groups;   // 本页对话，按时间段分组
+    private String nextCursor;              // 下一页游标，没有更多时为null
+    private boolean hasMore;
+}
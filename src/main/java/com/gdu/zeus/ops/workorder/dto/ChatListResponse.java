@@ -1,30 +1,30 @@
-package com.gdu.zeus.ops.workorder.dto;
-
-import lombok.Data;
-
-import java.time.LocalDateTime;
-
-/**
- * 对话列表响应DTO
- */
-@Data
-public class ChatListResponse {
-    private String chatId;
-    private String title;
-    private LocalDateTime createTime;
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 对话列表响应DTO
+ */
+@Data
+public class ChatListResponse {
+    private String chatId;
+    private String title;
+    private LocalDateTime createTime;
+}
+
+
+
+
+
+
+
+
+
+
+
+
+
+
+
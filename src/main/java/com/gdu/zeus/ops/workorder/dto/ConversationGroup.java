@@ -1,17 +1,25 @@
-package com.gdu.zeus.ops.workorder.dto;
-
-import lombok.Data;
-
-import java.time.LocalDateTime;
-import java.util.List;
-
-/**
- * 对话组（按conversationId分组）
- */
-@Data
-public class ConversationGroup {
-    private String conversationId;
-    private Integer stopFlag;
-    private LocalDateTime stopTime;
-    private List<MessageItem> messages;
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 对话组（按conversationId分组）
+ */
+@Data
+public class ConversationGroup {
+    private String conversationId;
+    private Integer stopFlag;
+    private LocalDateTime stopTime;
+    private List<MessageItem> messages;     // 分页接口中折叠的对话组为null，按需通过消息分页接口加载
+
+    // 以下字段仅分页接口返回
+    private Integer chatType;
+    private String chatTypeName;
+    private Integer messageCount;
+    private LocalDateTime lastMessageTime;
+    private String lastMessagePreview;
+    private String messagesCursor;          // 已展开对话组中更早消息的游标，没有更多时为null
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 对话组概要(不含消息内容)，按 chat_type + conversation_id 聚合
+ */
+@Data
+public class ConversationHeader {
+    private Integer chatType;
+    private String conversationId;
+    private Integer messageCount;
+    private LocalDateTime firstMessageTime;
+    private LocalDateTime lastMessageTime;
+    private String lastMessagePreview;
+    private Integer stopFlag;
+    private LocalDateTime stopTime;
+}
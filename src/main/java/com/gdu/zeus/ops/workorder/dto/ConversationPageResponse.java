@@ -0,0 +1,15 @@
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 对话详情分页响应DTO，对话组按最后一条消息时间倒序
+ */
+@Data
+public class ConversationPageResponse {
+    private List<ConversationGroup> conversations;
+    private String nextCursor;      // 下一页游标，没有更多时为null
+    private boolean hasMore;
+}
@@ -1,13 +1,13 @@
-package com.gdu.zeus.ops.workorder.dto;
-
-import lombok.Data;
-
-/**
- * 文件信息DTO
- */
-@Data
-public class FileInfoDTO {
-    private String type;
-    private String transferMethod;
-    private String uploadFileId;
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+/**
+ * 文件信息DTO
+ */
+@Data
+public class FileInfoDTO {
+    private String type;
+    private String transferMethod;
+    private String uploadFileId;
 }
\ No newline at end of file
@@ -1,16 +1,16 @@
-package com.gdu.zeus.ops.workorder.dto;
-
-import lombok.Data;
-
-import java.time.LocalDateTime;
-
-/**
- * 消息项
- */
-@Data
-public class MessageItem {
-    private Long id;
-    private String content;
-    private String role;
-    private LocalDateTime createTime;
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 消息项
+ */
+@Data
+public class MessageItem {
+    private Long id;
+    private String content;
+    private String role;
+    private LocalDateTime createTime;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 对话组消息分页响应DTO，消息按时间倒序
+ */
+@Data
+public class MessagePageResponse {
+    private List<MessageItem> messages;
+    private String nextCursor;      // 更早消息的游标，没有更多时为null
+    private boolean hasMore;
+}
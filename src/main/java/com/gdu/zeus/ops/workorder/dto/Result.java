@@ -1,28 +1,28 @@
-package com.gdu.zeus.ops.workorder.dto;
-
-import lombok.Data;
-
-/**
- * 通用响应结果
- */
-@Data
-public class Result<T> {
-    private Integer code;
-    private String message;
-    private T data;
-    
-    public static <T> Result<T> success(T data) {
-        Result<T> result = new Result<>();
-        result.setCode(0);
-        result.setMessage("success");
-        result.setData(data);
-        return result;
-    }
-    
-    public static <T> Result<T> error(String message) {
-        Result<T> result = new Result<>();
-        result.setCode(500);
-        result.setMessage(message);
-        return result;
-    }
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+/**
+ * 通用响应结果
+ */
+@Data
+public class Result<T> {
+    private Integer code;
+    private String message;
+    private T data;
+    
+    public static <T> Result<T> success(T data) {
+        Result<T> result = new Result<>();
+        result.setCode(0);
+        result.setMessage("success");
+        result.setData(data);
+        return result;
+    }
+    
+    public static <T> Result<T> error(String message) {
+        Result<T> result = new Result<>();
+        result.setCode(500);
+        result.setMessage(message);
+        return result;
+    }
 }
\ No newline at end of file
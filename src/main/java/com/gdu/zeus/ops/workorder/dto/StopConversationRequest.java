@@ -1,13 +1,13 @@
-package com.gdu.zeus.ops.workorder.dto;
-
-import lombok.Data;
-
-/**
- * 终止流程请求DTO
- */
-@Data
-public class StopConversationRequest {
-    private String chatId;
-    private Integer chatType;
-    private String conversationId;
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+/**
+ * 终止流程请求DTO
+ */
+@Data
+public class StopConversationRequest {
+    private String chatId;
+    private Integer chatType;
+    private String conversationId;
 }
\ No newline at end of file
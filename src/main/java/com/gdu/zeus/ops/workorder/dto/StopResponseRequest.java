@@ -1,11 +1,11 @@
-package com.gdu.zeus.ops.workorder.dto;
-
-import lombok.Data;
-
-/**
- * 停止响应请求DTO
- */
-@Data
-public class StopResponseRequest {
-    private String conversationId;
+package com.gdu.zeus.ops.workorder.dto;
+
+import lombok.Data;
+
+/**
+ * 停止响应请求DTO
+ */
+@Data
+public class StopResponseRequest {
+    private String conversationId;
 }
\ No newline at end of file
@@ -1,42 +1,42 @@
-package com.gdu.zeus.ops.workorder.entity;
-
-import com.baomidou.mybatisplus.annotation.IdType;
-import com.baomidou.mybatisplus.annotation.TableId;
-import com.baomidou.mybatisplus.annotation.TableName;
-import lombok.Data;
-
-import java.time.LocalDateTime;
-
-/**
- * 对话表实体类
- */
-@Data
-@TableName("chat")
-public class Chat {
-    
-    /**
-     * 自增主键
-     */
-    @TableId(type = IdType.AUTO)
-    private Long id;
-    
-    /**
-     * 对话ID，UUID
-     */
-    private String chatId;
-    
-    /**
-     * 主题标题
-     */
-    private String title;
-    
-    /**
-     * 对话创建人
-     */
-    private String createBy;
-    
-    /**
-     * 对话创建时间
-     */
-    private LocalDateTime createTime;
+package com.gdu.zeus.ops.workorder.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 对话表实体类
+ */
+@Data
+@TableName("chat")
+public class Chat {
+    
+    /**
+     * 自增主键
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    /**
+     * 对话ID，UUID
+     */
+    private String chatId;
+    
+    /**
+     * 主题标题
+     */
+    private String title;
+    
+    /**
+     * 对话创建人
+     */
+    private String createBy;
+    
+    /**
+     * 对话创建时间
+     */
+    private LocalDateTime createTime;
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.gdu.zeus.ops.workorder.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 对话组概要表实体类
+ * 每个 chat_id + chat_type + conversation_id 一行，随 chat_detail 写入增量维护
+ */
+@Data
+@TableName("conversation_summary")
+public class ConversationSummary {
+
+    /**
+     * 对话ID
+     */
+    private String chatId;
+
+    /**
+     * 对话类型：1-目标检测 2-告警研判 3-智能问数 4-创建工单
+     */
+    private Integer chatType;
+
+    /**
+     * Dify的conversationId，未关联时为空字符串
+     */
+    private String conversationId;
+
+    /**
+     * 消息数
+     */
+    private Integer messageCount;
+
+    /**
+     * 第一条消息时间
+     */
+    private LocalDateTime firstMessageTime;
+
+    /**
+     * 最后一条消息时间
+     */
+    private LocalDateTime lastMessageTime;
+
+    /**
+     * 最后一条消息内容预览
+     */
+    private String lastMessagePreview;
+
+    /**
+     * 最后一条消息角色
+     */
+    private String lastMessageRole;
+
+    /**
+     * 对话是否被结束：0-否 1-是
+     */
+    private Integer stopFlag;
+
+    /**
+     * 对话结束时间
+     */
+    private LocalDateTime stopTime;
+
+    /**
+     * 是否已归档：0-否 1-是
+     */
+    private Integer archived;
+}
@@ -1,37 +1,37 @@
-package com.gdu.zeus.ops.workorder.filter;
-
-import lombok.extern.slf4j.Slf4j;
-import reactor.core.publisher.Mono;
-
-/**
- * Token上下文 - 用于在请求链路中传递认证Token
- */
-@Slf4j
-public class TokenContext {
-
-    private static final ThreadLocal<String> tokenHolder = new ThreadLocal<>();
-    public static final String TOKEN_KEY = "auth_token";
-
-    // 保留 ThreadLocal 方法用于同步场景
-    public static void setToken(String token) {
-        tokenHolder.set(token);
-    }
-
-    public static String getToken() {
-        return tokenHolder.get();
-    }
-
-    public static void clear() {
-        tokenHolder.remove();
-    }
-
-    // 新增：从 Reactor Context 获取 token
-    public static Mono<String> getTokenFromContext() {
-        return Mono.deferContextual(ctx -> {
-            if (ctx.hasKey(TOKEN_KEY)) {
-                return Mono.just(ctx.get(TOKEN_KEY));
-            }
-            return Mono.empty();
-        });
-    }
+package com.gdu.zeus.ops.workorder.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token上下文 - 用于在请求链路中传递认证Token
+ */
+@Slf4j
+public class TokenContext {
+
+    private static final ThreadLocal<String> tokenHolder = new ThreadLocal<>();
+    public static final String TOKEN_KEY = "auth_token";
+
+    // 保留 ThreadLocal 方法用于同步场景
+    public static void setToken(String token) {
+        tokenHolder.set(token);
+    }
+
+    public static String getToken() {
+        return tokenHolder.get();
+    }
+
+    public static void clear() {
+        tokenHolder.remove();
+    }
+
+    // 新增：从 Reactor Context 获取 token
+    public static Mono<String> getTokenFromContext() {
+        return Mono.deferContextual(ctx -> {
+            if (ctx.hasKey(TOKEN_KEY)) {
+                return Mono.just(ctx.get(TOKEN_KEY));
+            }
+            return Mono.empty();
+        });
+    }
 }
\ No newline at end of file
@@ -1,41 +1,41 @@
-package com.gdu.zeus.ops.workorder.filter;
-
-import jakarta.servlet.*;
-import jakarta.servlet.http.HttpServletRequest;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.annotation.Order;
-import org.springframework.stereotype.Component;
-
-import java.io.IOException;
-
-@Slf4j
-@Component
-@Order(1)
-public class TokenContextFilter implements Filter {
-
-    @Override
-    public void doFilter(ServletRequest request, ServletResponse response,
-                         FilterChain chain) throws IOException, ServletException {
-        HttpServletRequest httpRequest = (HttpServletRequest) request;
-        String authHeader = httpRequest.getHeader("Authorization");
-        String token = extractBearerToken(authHeader);
-
-        if (token != null) {
-            log.info("Token已提取: {}***", token.substring(0, Math.min(8, token.length())));
-            TokenContext.setToken(token);
-        }
-
-        try {
-            chain.doFilter(request, response);
-        } finally {
-            TokenContext.clear(); // 记得清理 ThreadLocal
-        }
-    }
-
-    private String extractBearerToken(String authHeader) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
-        }
-        return null;
-    }
+package com.gdu.zeus.ops.workorder.filter;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+@Order(1)
+public class TokenContextFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response,
+                         FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String authHeader = httpRequest.getHeader("Authorization");
+        String token = extractBearerToken(authHeader);
+
+        if (token != null) {
+            log.info("Token已提取: {}***", token.substring(0, Math.min(8, token.length())));
+            TokenContext.setToken(token);
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TokenContext.clear(); // 记得清理 ThreadLocal
+        }
+    }
+
+    private String extractBearerToken(String authHeader) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        return null;
+    }
 }
\ No newline at end of file
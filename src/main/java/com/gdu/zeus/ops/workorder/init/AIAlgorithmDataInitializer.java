@@ -1,74 +1,291 @@
-package com.gdu.zeus.ops.workorder.init;
-
-import com.gdu.zeus.ops.workorder.repository.AIAlgorithmRepository;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.ai.document.Document;
-import org.springframework.ai.vectorstore.VectorStore;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
-
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
-@Component
-public class AIAlgorithmDataInitializer {
-
-    @Autowired
-    private VectorStore vectorStore;
-
-    @Autowired
-    private AIAlgorithmRepository algorithmRepository;
-
-    private static final Logger logger = LoggerFactory.getLogger(AIAlgorithmDataInitializer.class);
-
-//    @PostConstruct
-    public void initAlgorithmData() {
-        if (algorithmRepository.count() != 0) {
-            // 初始化向量存储
-            initVectorStore();
-        }
-    }
-
-/*    private void initVectorStore() {
-        List<Document> algorithmDocs = algorithmRepository.findAll().stream()
-                .map(algo -> new Document(algo.getAlgorithmFunction(),
-                        Map.of("algorithmName", algo.getAlgorithmName(),
-                                "scenario", algo.getScenario(),"algorithmUsage",algo.getAlgorithmUsage())
-                ))
-                .collect(Collectors.toList());
-
-        vectorStore.write(algorithmDocs);
-    }*/
-
-    private void initVectorStore() {
-        logger.info("初始化向量数据库开始--------");
-        List<Document> algorithmDocs = algorithmRepository.findAll().stream()
-                .map(algo -> {
-                    // 构建更丰富的文本内容供向量化处理
-                    /*String content = String.join("\n",
-                            "算法名称：" + algo.getAlgorithmName(),
-                            "功能描述：" + algo.getAlgorithmFunction(),
-                            "使用方式：" + algo.getAlgorithmUsage(),
-                            "应用场景：" + algo.getScenario());*/
-                    String content = String.format(
-                            "这是一个名为%s的人工智能算法。它的主要功能是：%s。该算法通常用于以下场景：%s。使用方法包括：%s。",
-                            algo.getAlgorithmName(),
-                            algo.getAlgorithmFunction(),
-                            algo.getScenario(),
-                            algo.getAlgorithmUsage()
-                    );
-                    // 元信息仍然保留原样
-                    Map<String, Object> metadata = new HashMap<>();
-                    metadata.put("algorithmName", algo.getAlgorithmName());
-                    metadata.put("algorithmFunction",algo.getAlgorithmFunction());
-                    metadata.put("algorithmUsage", algo.getAlgorithmUsage());
-                    metadata.put("scenario", algo.getScenario());
-                    return new Document(content, metadata);
-                })
-                .collect(Collectors.toList());
-        vectorStore.write(algorithmDocs);
-    }
-}
+package com.gdu.zeus.ops.workorder.init;
+
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.gdu.zeus.ops.workorder.config.VectorIndexProperties;
+import com.gdu.zeus.ops.workorder.data.AIAlgorithm;
+import com.gdu.zeus.ops.workorder.repository.AIAlgorithmRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * AI算法向量索引初始化
+ * <p>
+ * 应用启动完成后在后台线程中构建，不阻塞启动：
+ * 1. 配置了快照文件时先加载上次快照，构建期间即可检索
+ * 2. 分批向量化并按确定性ID覆盖写入，每批完成后更新进度
+ * 3. 构建期间暂停增量刷新，完成后恢复并保存快照
+ * 4. 构建失败(包括数据库不可用)时状态置为 FAILED，按递增间隔重试
+ * 构建状态通过 {@link AlgorithmVectorIndexHealthIndicator} 纳入就绪探针
+ */
+@Component
+public class AIAlgorithmDataInitializer {
+
+    @Autowired
+    private VectorStore vectorStore;
+
+    @Autowired
+    private AIAlgorithmRepository algorithmRepository;
+
+    @Autowired
+    private AIAlgorithmVectorIndexer vectorIndexer;
+
+    @Autowired
+    private VectorIndexProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final Logger logger = LoggerFactory.getLogger(AIAlgorithmDataInitializer.class);
+
+    /**
+     * 构建状态，DISABLED 表示未启用启动时构建
+     */
+    public enum BuildStatus {
+        NOT_STARTED, BUILDING, READY, FAILED, DISABLED
+    }
+
+    private final ScheduledExecutorService buildExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "vector-index-build");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile BuildStatus status = BuildStatus.NOT_STARTED;
+    private volatile boolean snapshotLoaded = false;
+    // 首次构建已结束(成功或失败)
+    private volatile boolean buildAttempted = false;
+    private volatile long buildStartTime;
+    private volatile long buildCostMs;
+    private volatile String lastError;
+    private int failedAttempts;
+    // 加载的快照中的文档ID，首次构建完成后用于删除失效文档
+    private volatile Set<String> snapshotDocumentIds = Collections.emptySet();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger indexed = new AtomicInteger();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Gauge.builder("workorder.vector.index.build.progress", this, AIAlgorithmDataInitializer::getProgress)
+                .description("算法向量索引构建进度(0~1)")
+                .register(meterRegistry);
+        if (!properties.isBuildOnStartup()) {
+            status = BuildStatus.DISABLED;
+            logger.info("未启用启动时构建向量索引");
+            return;
+        }
+        buildExecutor.submit(() -> {
+            loadSnapshot();
+            initAlgorithmData();
+        });
+    }
+
+    /**
+     * 全量构建，任何异常都记为失败并安排重试，不会抛出
+     */
+    public void initAlgorithmData() {
+        logger.info("初始化向量数据库开始--------");
+        status = BuildStatus.BUILDING;
+        buildStartTime = System.currentTimeMillis();
+        indexed.set(0);
+        vectorIndexer.pause();
+        try {
+            List<AIAlgorithm> algorithms = algorithmRepository.findAll();
+            total.set(algorithms.size());
+            // 文档ID由算法ID确定性生成，与增量索引(AIAlgorithmVectorIndexer)写入的文档一致
+            List<Document> algorithmDocs = algorithms.stream()
+                    .map(AIAlgorithmDocuments::toDocument)
+                    .collect(Collectors.toList());
+            int batchSize = Math.max(1, properties.getBuildBatchSize());
+            for (int i = 0; i < algorithmDocs.size(); i += batchSize) {
+                List<Document> batch = algorithmDocs.subList(i, Math.min(i + batchSize, algorithmDocs.size()));
+                vectorStore.write(batch);
+                int done = indexed.addAndGet(batch.size());
+                logger.info("向量索引构建进度: {}/{}", done, total.get());
+            }
+            removeStaleDocuments(algorithms);
+            buildCostMs = System.currentTimeMillis() - buildStartTime;
+            status = BuildStatus.READY;
+            lastError = null;
+            logger.info("初始化向量数据库完成: 文档{}个, 耗时{}ms", indexed.get(), buildCostMs);
+            failedAttempts = 0;
+            saveSnapshot();
+        } catch (Exception e) {
+            status = BuildStatus.FAILED;
+            lastError = e.getMessage();
+            long delay = nextRetryDelayMs();
+            logger.error("初始化向量数据库失败，检索将使用{}，{}ms后重试",
+                    snapshotLoaded ? "上次快照" : "关键词降级", delay, e);
+            buildExecutor.schedule(this::initAlgorithmData, delay, TimeUnit.MILLISECONDS);
+        } finally {
+            buildAttempted = true;
+            vectorIndexer.resume();
+        }
+    }
+
+    /**
+     * 重试间隔从 buildRetryDelayMs 开始逐次翻倍，不超过 buildRetryMaxDelayMs
+     */
+    private long nextRetryDelayMs() {
+        int attempt = Math.min(failedAttempts++, 20);
+        long delay = properties.getBuildRetryDelayMs() << attempt;
+        return Math.min(delay, properties.getBuildRetryMaxDelayMs());
+    }
+
+    /**
+     * 删除快照中已不存在于数据库的算法文档
+     * 文档ID由算法ID确定性生成，按ID删除，不依赖向量库的条件删除(SimpleVectorStore 不支持)
+     */
+    private void removeStaleDocuments(List<AIAlgorithm> algorithms) {
+        if (snapshotDocumentIds.isEmpty()) {
+            return;
+        }
+        Set<String> stale = new HashSet<>(snapshotDocumentIds);
+        algorithms.forEach(algorithm -> stale.remove(AIAlgorithmDocuments.documentId(algorithm.getId())));
+        if (!stale.isEmpty()) {
+            vectorStore.delete(new ArrayList<>(stale));
+            logger.info("已删除快照中失效的算法文档{}个", stale.size());
+        }
+        snapshotDocumentIds = Collections.emptySet();
+    }
+
+    private void loadSnapshot() {
+        File file = snapshotFile();
+        if (file == null || !file.isFile()) {
+            return;
+        }
+        try {
+            ((SimpleVectorStore) vectorStore).load(file);
+            snapshotDocumentIds = readDocumentIds(file);
+            snapshotLoaded = true;
+            logger.info("已加载向量索引快照: {}", file.getAbsolutePath());
+        } catch (Exception e) {
+            logger.warn("加载向量索引快照失败，将等待后台构建完成: {}", file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * 读取快照中的文档ID(快照为 文档ID -> 文档 的JSON对象)，只解析顶层字段名
+     */
+    private static Set<String> readDocumentIds(File file) throws IOException {
+        Set<String> ids = new HashSet<>();
+        try (JsonParser parser = new JsonFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return ids;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                ids.add(parser.getCurrentName());
+                parser.nextToken();
+                parser.skipChildren();
+            }
+        }
+        return ids;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        buildExecutor.shutdownNow();
+        if (status == BuildStatus.READY) {
+            // 保存包含增量变更的最新索引，供下次启动使用
+            saveSnapshot();
+        }
+    }
+
+    private void saveSnapshot() {
+        File file = snapshotFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            ((SimpleVectorStore) vectorStore).save(file);
+            logger.info("已保存向量索引快照: {}", file.getAbsolutePath());
+        } catch (Exception e) {
+            logger.warn("保存向量索引快照失败: {}", file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * 快照仅支持内存向量库(SimpleVectorStore)
+     */
+    private File snapshotFile() {
+        if (StrUtil.isBlank(properties.getSnapshotPath()) || !(vectorStore instanceof SimpleVectorStore)) {
+            return null;
+        }
+        return new File(properties.getSnapshotPath());
+    }
+
+    /**
+     * 是否可进行向量检索：构建完成或已加载上次快照
+     */
+    public boolean isSearchable() {
+        return status == BuildStatus.READY || snapshotLoaded;
+    }
+
+    public BuildStatus getStatus() {
+        return status;
+    }
+
+    public boolean isSnapshotLoaded() {
+        return snapshotLoaded;
+    }
+
+    public boolean isBuildAttempted() {
+        return buildAttempted;
+    }
+
+    public int getTotal() {
+        return total.get();
+    }
+
+    public int getIndexed() {
+        return indexed.get();
+    }
+
+    public double getProgress() {
+        if (status == BuildStatus.READY) {
+            return 1.0;
+        }
+        int count = total.get();
+        return count == 0 ? 0.0 : (double) indexed.get() / count;
+    }
+
+    public long getElapsedMs() {
+        if (status == BuildStatus.BUILDING) {
+            return System.currentTimeMillis() - buildStartTime;
+        }
+        return buildCostMs;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
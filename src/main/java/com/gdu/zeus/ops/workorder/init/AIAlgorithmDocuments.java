@@ -0,0 +1,41 @@
+package com.gdu.zeus.ops.workorder.init;
+
+import com.gdu.zeus.ops.workorder.data.AIAlgorithm;
+import lombok.experimental.UtilityClass;
+import org.springframework.ai.document.Document;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * AI算法与向量文档的转换
+ * 文档ID由算法ID确定性生成，同一算法重复写入即为覆盖(upsert)，删除时也可直接按ID定位
+ */
+@UtilityClass
+public class AIAlgorithmDocuments {
+
+    public static String documentId(Long algorithmId) {
+        return UUID.nameUUIDFromBytes(("ai-algorithm:" + algorithmId).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    public static Document toDocument(AIAlgorithm algo) {
+        // 构建更丰富的文本内容供向量化处理
+        String content = String.format(
+                "这是一个名为%s的人工智能算法。它的主要功能是：%s。该算法通常用于以下场景：%s。使用方法包括：%s。",
+                algo.getAlgorithmName(),
+                algo.getAlgorithmFunction(),
+                algo.getScenario(),
+                algo.getAlgorithmUsage()
+        );
+        // 元信息仍然保留原样
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("algorithmId", algo.getId());
+        metadata.put("algorithmName", algo.getAlgorithmName());
+        metadata.put("algorithmFunction", algo.getAlgorithmFunction());
+        metadata.put("algorithmUsage", algo.getAlgorithmUsage());
+        metadata.put("scenario", algo.getScenario());
+        return new Document(documentId(algo.getId()), content, metadata);
+    }
+}
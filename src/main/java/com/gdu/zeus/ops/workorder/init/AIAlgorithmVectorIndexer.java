@@ -0,0 +1,182 @@
+package com.gdu.zeus.ops.workorder.init;
+
+import com.gdu.zeus.ops.workorder.config.VectorIndexProperties;
+import com.gdu.zeus.ops.workorder.data.AIAlgorithm;
+import com.gdu.zeus.ops.workorder.data.AIAlgorithmChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AI算法向量索引增量维护
+ * <p>
+ * 监听 {@link AIAlgorithmChangedEvent}，将变更按算法ID合并后由定时任务异步刷入向量库：
+ * 新增/修改的算法仅对变更文档重新向量化并按确定性ID覆盖写入，删除的算法按ID从向量库移除。
+ * 刷新过程中不清空向量库，检索始终可用；每次刷新成功后索引版本号加一。
+ * 全量构建期间暂停刷新(变更继续登记)，避免构建读取的旧数据覆盖较新的变更。
+ * 刷新需调用向量化接口，在独立线程中按 workorder.vector-index.flush-interval-ms 执行，不占用 @Scheduled 的共享线程。
+ */
+@Slf4j
+@Component
+public class AIAlgorithmVectorIndexer {
+
+    private final VectorStore vectorStore;
+    private final VectorIndexProperties properties;
+    private ScheduledExecutorService flushExecutor;
+
+    /**
+     * 待刷新的变更，同一算法只保留最后一次变更
+     */
+    private final Map<Long, AIAlgorithmChangedEvent> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean paused = false;
+    private final Counter upsertCounter;
+    private final Counter deleteCounter;
+    private final Counter failureCounter;
+
+    public AIAlgorithmVectorIndexer(VectorStore vectorStore, VectorIndexProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.vectorStore = vectorStore;
+        this.properties = properties;
+        Gauge.builder("workorder.vector.index.version", version, AtomicLong::get)
+                .description("算法向量索引版本号")
+                .register(meterRegistry);
+        Gauge.builder("workorder.vector.index.pending", pending, Map::size)
+                .description("待刷新的算法变更数")
+                .register(meterRegistry);
+        this.upsertCounter = Counter.builder("workorder.vector.index.changes").tag("type", "upsert").register(meterRegistry);
+        this.deleteCounter = Counter.builder("workorder.vector.index.changes").tag("type", "delete").register(meterRegistry);
+        this.failureCounter = Counter.builder("workorder.vector.index.failures").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = Math.max(100, properties.getFlushIntervalMs());
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "vector-index-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::scheduledFlush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 定时刷新，异常不中断后续调度
+     */
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("算法向量索引增量刷新异常: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 实体变更后登记(事务提交后执行，无事务时立即执行)，不在请求线程中调用向量化接口
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlgorithmChanged(AIAlgorithmChangedEvent event) {
+        AIAlgorithm algorithm = event.algorithm();
+        if (algorithm == null || algorithm.getId() == null) {
+            return;
+        }
+        pending.put(algorithm.getId(), event);
+    }
+
+    /**
+     * 将待刷新变更写入向量库
+     */
+    public synchronized void flush() {
+        if (paused || pending.isEmpty()) {
+            return;
+        }
+        Map<Long, AIAlgorithmChangedEvent> batch = new LinkedHashMap<>();
+        for (Long id : new ArrayList<>(pending.keySet())) {
+            AIAlgorithmChangedEvent event = pending.remove(id);
+            if (event != null) {
+                batch.put(id, event);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Document> upserts = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        for (AIAlgorithmChangedEvent event : batch.values()) {
+            if (event.type() == AIAlgorithmChangedEvent.ChangeType.REMOVED) {
+                deletes.add(AIAlgorithmDocuments.documentId(event.algorithm().getId()));
+            } else {
+                upserts.add(AIAlgorithmDocuments.toDocument(event.algorithm()));
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            if (!upserts.isEmpty()) {
+                // 确定性ID，写入即覆盖旧文档
+                vectorStore.add(upserts);
+                upsertCounter.increment(upserts.size());
+            }
+            if (!deletes.isEmpty()) {
+                vectorStore.delete(deletes);
+                deleteCounter.increment(deletes.size());
+            }
+            long current = version.incrementAndGet();
+            log.info("算法向量索引增量刷新完成: 更新{}个, 删除{}个, 版本{}, 耗时{}ms",
+                    upserts.size(), deletes.size(), current, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            failureCounter.increment();
+            // 放回队列等待下次重试，期间若有更新的变更则以新变更为准
+            batch.forEach(pending::putIfAbsent);
+            log.error("算法向量索引增量刷新失败，{}个变更将在下次重试", batch.size(), e);
+        }
+    }
+
+    /**
+     * 暂停增量刷新(全量构建开始)
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * 恢复增量刷新(全量构建结束)，版本号加一使构建前的检索缓存失效
+     */
+    public void resume() {
+        paused = false;
+        version.incrementAndGet();
+    }
+
+    /**
+     * 当前索引版本号
+     */
+    public long version() {
+        return version.get();
+    }
+}
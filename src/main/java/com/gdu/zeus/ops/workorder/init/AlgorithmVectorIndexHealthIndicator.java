@@ -0,0 +1,48 @@
+package com.gdu.zeus.ops.workorder.init;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 算法向量索引就绪状态
+ * <p>
+ * 纳入 readiness 健康组(management.endpoint.health.group.readiness)，不纳入 liveness，构建耗时不影响存活探针。
+ * 向量检索是辅助功能，检索增强在索引不可用时降级为关键词匹配，因此只在首次构建进行中且没有上次快照时
+ * 返回 OUT_OF_SERVICE，等待预热完成再接收流量；其余情况返回 UP：
+ * <ul>
+ *     <li>未启用启动时构建(DISABLED)</li>
+ *     <li>构建完成，或已加载上次快照</li>
+ *     <li>首次构建失败且没有快照(如向量模型接口持续不可用)：后台按退避间隔重试，期间以关键词降级对外服务，
+ *     不因辅助功能让所有实例退出服务；详情中的 status/error/fallback 标明降级</li>
+ * </ul>
+ */
+@Component
+public class AlgorithmVectorIndexHealthIndicator implements HealthIndicator {
+
+    private final AIAlgorithmDataInitializer initializer;
+
+    public AlgorithmVectorIndexHealthIndicator(AIAlgorithmDataInitializer initializer) {
+        this.initializer = initializer;
+    }
+
+    @Override
+    public Health health() {
+        boolean searchable = initializer.isSearchable();
+        boolean ready = searchable || initializer.getStatus() == AIAlgorithmDataInitializer.BuildStatus.DISABLED
+                || initializer.isBuildAttempted();
+        Health.Builder builder = ready ? Health.up() : Health.outOfService();
+        if (!searchable) {
+            builder.withDetail("fallback", "keyword");
+        }
+        builder.withDetail("status", initializer.getStatus())
+                .withDetail("snapshotLoaded", initializer.isSnapshotLoaded())
+                .withDetail("indexed", initializer.getIndexed())
+                .withDetail("total", initializer.getTotal())
+                .withDetail("elapsedMs", initializer.getElapsedMs());
+        if (initializer.getLastError() != null) {
+            builder.withDetail("error", initializer.getLastError());
+        }
+        return builder.build();
+    }
+}
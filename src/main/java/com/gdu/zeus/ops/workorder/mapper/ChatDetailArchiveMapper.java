@@ -0,0 +1,66 @@
+package com.gdu.zeus.ops.workorder.mapper;
+
+import com.gdu.zeus.ops.workorder.entity.ConversationSummary;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 对话详情归档表Mapper
+ * 表结构见 sql/chat_detail_archive.sql；conversationId 与 conversation_summary 一致，未关联时为空字符串
+ */
+@Mapper
+public interface ChatDetailArchiveMapper {
+
+    /**
+     * 检查归档表是否存在，不存在时抛出异常
+     */
+    void checkTable();
+
+    /**
+     * 查询最后一条消息早于截止时间且未归档的对话组，最早的优先
+     */
+    List<ConversationSummary> selectArchivableConversations(
+        @Param("cutoff") LocalDateTime cutoff,
+        @Param("limit") int limit
+    );
+
+    /**
+     * 将对话组的消息复制到归档表，已存在的跳过
+     */
+    int copyConversation(
+        @Param("chatId") String chatId,
+        @Param("chatType") Integer chatType,
+        @Param("conversationId") String conversationId
+    );
+
+    /**
+     * 删除对话组中已复制到归档表的消息
+     */
+    int deleteArchivedFromHot(
+        @Param("chatId") String chatId,
+        @Param("chatType") Integer chatType,
+        @Param("conversationId") String conversationId
+    );
+
+    /**
+     * 标记对话组已归档，期间有新消息(最后消息时间晚于截止时间)时不标记
+     */
+    int markArchived(
+        @Param("chatId") String chatId,
+        @Param("chatType") Integer chatType,
+        @Param("conversationId") String conversationId,
+        @Param("cutoff") LocalDateTime cutoff
+    );
+
+    /**
+     * 更新归档表中conversationId的停止状态
+     */
+    int updateConversationStopFlag(
+        @Param("chatId") String chatId,
+        @Param("chatType") Integer chatType,
+        @Param("conversationId") String conversationId
+    );
+}
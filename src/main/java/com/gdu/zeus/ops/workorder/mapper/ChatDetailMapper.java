@@ -1,47 +1,79 @@
-package com.gdu.zeus.ops.workorder.mapper;
-
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
-import com.gdu.zeus.ops.workorder.entity.ChatDetail;
-import org.apache.ibatis.annotations.Mapper;
-import org.apache.ibatis.annotations.Param;
-
-import java.util.List;
-
-/**
- * 对话详情表Mapper
- */
-@Mapper
-public interface ChatDetailMapper extends BaseMapper<ChatDetail> {
-    
-    /**
-     * 查询指定chatId和chatType的所有消息
-     */
-    List<ChatDetail> selectByChatIdAndType(
-        @Param("chatId") String chatId,
-        @Param("chatType") Integer chatType
-    );
-
-    /**
-     * 查询指定chatId和chatType的所有消息
-     */
-    List<ChatDetail> selectByChatId(
-            @Param("chatId") String chatId
-    );
-    
-    /**
-     * 查询未结束的conversationId
-     */
-    String selectActiveConversationId(
-        @Param("chatId") String chatId,
-        @Param("chatType") Integer chatType
-    );
-    
-    /**
-     * 更新conversationId的停止状态
-     */
-    int updateConversationStopFlag(
-        @Param("chatId") String chatId,
-        @Param("chatType") Integer chatType,
-        @Param("conversationId") String conversationId
-    );
+package com.gdu.zeus.ops.workorder.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.gdu.zeus.ops.workorder.dto.ConversationHeader;
+import com.gdu.zeus.ops.workorder.dto.MessageItem;
+import com.gdu.zeus.ops.workorder.entity.ChatDetail;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 对话详情表Mapper
+ * 消息查询同时读取归档表 chat_detail_archive，见 {@link ChatDetailArchiveMapper}
+ */
+@Mapper
+public interface ChatDetailMapper extends BaseMapper<ChatDetail> {
+    
+    /**
+     * 查询指定chatId和chatType的所有消息
+     */
+    List<ChatDetail> selectByChatIdAndType(
+        @Param("chatId") String chatId,
+        @Param("chatType") Integer chatType
+    );
+
+    /**
+     * 查询指定chatId的所有消息
+     */
+    List<ChatDetail> selectByChatId(
+            @Param("chatId") String chatId
+    );
+    
+    /**
+     * 查询未结束的conversationId
+     */
+    String selectActiveConversationId(
+        @Param("chatId") String chatId,
+        @Param("chatType") Integer chatType
+    );
+    
+    /**
+     * 分页查询对话组概要(读取 conversation_summary)，按最后一条消息时间倒序
+     * 游标为上一页最后一组的最后消息时间及 "chatType:conversationId" 键，为空时查询第一页
+     *
+     * @param chatType 为空时查询全部类型
+     */
+    List<ConversationHeader> selectConversationPage(
+        @Param("chatId") String chatId,
+        @Param("chatType") Integer chatType,
+        @Param("cursorTime") LocalDateTime cursorTime,
+        @Param("cursorKey") String cursorKey,
+        @Param("limit") int limit
+    );
+
+    /**
+     * 分页查询对话组内的消息，按时间倒序
+     *
+     * @param conversationId 为空时查询未关联conversationId的消息
+     */
+    List<MessageItem> selectConversationMessages(
+        @Param("chatId") String chatId,
+        @Param("chatType") Integer chatType,
+        @Param("conversationId") String conversationId,
+        @Param("cursorTime") LocalDateTime cursorTime,
+        @Param("cursorId") Long cursorId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * 更新conversationId的停止状态
+     */
+    int updateConversationStopFlag(
+        @Param("chatId") String chatId,
+        @Param("chatType") Integer chatType,
+        @Param("conversationId") String conversationId
+    );
 }
\ No newline at end of file
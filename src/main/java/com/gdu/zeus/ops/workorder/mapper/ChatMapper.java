@@ -1,27 +1,44 @@
-package com.gdu.zeus.ops.workorder.mapper;
-
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
-import com.gdu.zeus.ops.workorder.entity.Chat;
-import org.apache.ibatis.annotations.Mapper;
-import org.apache.ibatis.annotations.Param;
-
-import java.time.LocalDateTime;
-import java.util.List;
-
-/**
- * 对话表Mapper
- */
-@Mapper
-public interface ChatMapper extends BaseMapper<Chat> {
-    
-    /**
-     * 查询用户指定时间范围内的对话列表
-     */
-    List<Chat> selectChatsByTimeRange(
-        @Param("createBy") String createBy,
-        @Param("startTime") LocalDateTime startTime,
-        @Param("endTime") LocalDateTime endTime
-    );
-}
-
-
+package com.gdu.zeus.ops.workorder.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.gdu.zeus.ops.workorder.dto.ChatListItem;
+import com.gdu.zeus.ops.workorder.entity.Chat;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 对话表Mapper
+ */
+@Mapper
+public interface ChatMapper extends BaseMapper<Chat> {
+    
+    /**
+     * 查询用户指定时间范围内的对话列表
+     */
+    List<Chat> selectChatsByTimeRange(
+        @Param("createBy") String createBy,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime
+    );
+
+    /**
+     * 按游标分页查询用户指定时间范围内的对话列表，按创建时间、ID倒序
+     * 游标为上一页最后一条的 (create_time, id)，为空时查询第一页
+     */
+    List<ChatListItem> selectChatPage(
+        @Param("createBy") String createBy,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
+        @Param("todayStart") LocalDateTime todayStart,
+        @Param("yesterdayStart") LocalDateTime yesterdayStart,
+        @Param("last7DaysStart") LocalDateTime last7DaysStart,
+        @Param("cursorTime") LocalDateTime cursorTime,
+        @Param("cursorId") Long cursorId,
+        @Param("limit") int limit
+    );
+}
+
+
@@ -0,0 +1,31 @@
+package com.gdu.zeus.ops.workorder.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.gdu.zeus.ops.workorder.entity.ChatDetail;
+import com.gdu.zeus.ops.workorder.entity.ConversationSummary;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 对话组概要表Mapper
+ */
+@Mapper
+public interface ConversationSummaryMapper extends BaseMapper<ConversationSummary> {
+
+    /**
+     * 写入一条消息后更新对话组概要，不存在时插入
+     */
+    int upsertOnMessage(
+        @Param("detail") ChatDetail detail,
+        @Param("preview") String preview
+    );
+
+    /**
+     * 标记对话组已结束
+     */
+    int updateStopFlag(
+        @Param("chatId") String chatId,
+        @Param("chatType") Integer chatType,
+        @Param("conversationId") String conversationId
+    );
+}
@@ -1,22 +1,22 @@
-package com.gdu.zeus.ops.workorder.repository;
-
-import com.gdu.zeus.ops.workorder.data.ChatMessage;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-
-import java.util.List;
-
-public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
-    List<ChatMessage> findByChatIdAndUserIdOrderByTimestampAsc(String chatId, String userId);
-
-    @Query("SELECT m FROM ChatMessage m WHERE m.chatId = :chatId AND m.userId = :userId " +
-            "ORDER BY m.timestamp DESC")
-    Page<ChatMessage> findByChatIdAndUserIdPaged(
-            @Param("chatId") String chatId,
-            @Param("userId") String userId,
-            Pageable pageable
-    );
+package com.gdu.zeus.ops.workorder.repository;
+
+import com.gdu.zeus.ops.workorder.data.ChatMessage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
+    List<ChatMessage> findByChatIdAndUserIdOrderByTimestampAsc(String chatId, String userId);
+
+    @Query("SELECT m FROM ChatMessage m WHERE m.chatId = :chatId AND m.userId = :userId " +
+            "ORDER BY m.timestamp DESC")
+    Page<ChatMessage> findByChatIdAndUserIdPaged(
+            @Param("chatId") String chatId,
+            @Param("userId") String userId,
+            Pageable pageable
+    );
 }
\ No newline at end of file
@@ -1,12 +1,12 @@
-package com.gdu.zeus.ops.workorder.repository;
-
-import com.gdu.zeus.ops.workorder.data.ChatSession;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.List;
-import java.util.Optional;
-
-public interface ChatSessionRepository extends JpaRepository<ChatSession, Long> {
-    List<ChatSession> findByUserIdOrderByUpdatedAtDesc(String userId);
-    Optional<ChatSession> findByChatIdAndUserId(String chatId, String userId);
-}
+package com.gdu.zeus.ops.workorder.repository;
+
+import com.gdu.zeus.ops.workorder.data.ChatSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ChatSessionRepository extends JpaRepository<ChatSession, Long> {
+    List<ChatSession> findByUserIdOrderByUpdatedAtDesc(String userId);
+    Optional<ChatSession> findByChatIdAndUserId(String chatId, String userId);
+}
@@ -0,0 +1,219 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.core.util.StrUtil;
+import com.gdu.zeus.ops.workorder.data.AIAlgorithm;
+import com.gdu.zeus.ops.workorder.data.AIAlgorithmChangedEvent;
+import com.gdu.zeus.ops.workorder.repository.AIAlgorithmRepository;
+import com.gdu.zeus.ops.workorder.util.TextUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * AI算法内存索引
+ * <p>
+ * 启动时从 ai_algorithms 全量构建，之后通过 {@link AIAlgorithmChangedEvent} 增量同步。
+ * 场景按分隔符拆分为标签并预先归一化，建立 标签 -> 算法ID 的倒排表，
+ * 替代 findByScenarioContaining 的 LIKE '%x%' 全表扫描，也可作为向量检索的元数据预过滤。
+ * 读取无锁(不可变快照)，写入时复制并整体替换快照。
+ */
+@Slf4j
+@Component
+public class AIAlgorithmIndex {
+
+    private static final Pattern TAG_SEPARATOR = Pattern.compile("[,，、;；/|\\s]+");
+
+    private final AIAlgorithmRepository algorithmRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean ready = false;
+
+    public AIAlgorithmIndex(AIAlgorithmRepository algorithmRepository) {
+        this.algorithmRepository = algorithmRepository;
+    }
+
+    /**
+     * 启动完成后全量构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            List<AIAlgorithm> algorithms = algorithmRepository.findAll();
+            Map<Long, AIAlgorithm> byId = new LinkedHashMap<>();
+            for (AIAlgorithm algorithm : algorithms) {
+                byId.put(algorithm.getId(), algorithm);
+            }
+            this.snapshot = Snapshot.of(byId);
+            this.ready = true;
+            log.info("AI算法索引构建完成: 算法{}个, 标签{}个, 耗时{}ms",
+                    byId.size(), snapshot.byTag.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 构建失败时保持未就绪，查询降级到数据库
+            log.error("AI算法索引构建失败，查询将降级到数据库", e);
+        }
+    }
+
+    /**
+     * 实体变更后增量同步(事务提交后执行，无事务时立即执行)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAlgorithmChanged(AIAlgorithmChangedEvent event) {
+        AIAlgorithm algorithm = event.algorithm();
+        if (algorithm == null || algorithm.getId() == null) {
+            return;
+        }
+        Map<Long, AIAlgorithm> byId = new LinkedHashMap<>(snapshot.byId);
+        if (event.type() == AIAlgorithmChangedEvent.ChangeType.REMOVED) {
+            byId.remove(algorithm.getId());
+        } else {
+            byId.put(algorithm.getId(), algorithm);
+        }
+        this.snapshot = Snapshot.of(byId);
+        log.debug("AI算法索引已同步: type={}, id={}", event.type(), algorithm.getId());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return snapshot.byId.size();
+    }
+
+    public List<AIAlgorithm> findAll() {
+        return new ArrayList<>(snapshot.byId.values());
+    }
+
+    /**
+     * 按场景查询，语义同 LIKE '%scenario%'：
+     * 完全命中的标签排在前面，其后是包含关键词的标签，最后是完整场景文本包含关键词(关键词跨越分隔符时)
+     */
+    public List<AIAlgorithm> findByScenario(String scenario) {
+        String key = TextUtils.normalize(scenario);
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Snapshot current = snapshot;
+        Set<Long> ids = new LinkedHashSet<>(current.byTag.getOrDefault(key, Collections.emptySet()));
+        current.byTag.forEach((tag, tagIds) -> {
+            if (tag.contains(key)) {
+                ids.addAll(tagIds);
+            }
+        });
+        current.normalizedScenario.forEach((id, text) -> {
+            if (text.contains(key)) {
+                ids.add(id);
+            }
+        });
+        return current.resolve(ids);
+    }
+
+    /**
+     * 匹配自由文本中出现的场景标签或算法名称，用于从用户问题中识别相关算法
+     */
+    public List<AIAlgorithm> matchText(String text) {
+        String key = TextUtils.normalize(text);
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Snapshot current = snapshot;
+        Set<Long> ids = new LinkedHashSet<>();
+        current.byName.forEach((name, id) -> {
+            if (key.contains(name)) {
+                ids.add(id);
+            }
+        });
+        current.byTag.forEach((tag, tagIds) -> {
+            if (key.contains(tag)) {
+                ids.addAll(tagIds);
+            }
+        });
+        return current.resolve(ids);
+    }
+
+    /**
+     * 构建向量检索的元数据预过滤条件(algorithmName in [...])，无匹配时返回空
+     */
+    public Optional<Filter.Expression> filterExpressionFor(String text) {
+        List<AIAlgorithm> matched = matchText(text);
+        if (matched.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] names = matched.stream().map(AIAlgorithm::getAlgorithmName).distinct().toArray();
+        return Optional.of(new FilterExpressionBuilder().in("algorithmName", names).build());
+    }
+
+    /**
+     * 不可变索引快照
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = of(Collections.emptyMap());
+
+        final Map<Long, AIAlgorithm> byId;
+        final Map<String, Long> byName;
+        final Map<String, Set<Long>> byTag;
+        final Map<Long, String> normalizedScenario;
+
+        private Snapshot(Map<Long, AIAlgorithm> byId, Map<String, Long> byName,
+                         Map<String, Set<Long>> byTag, Map<Long, String> normalizedScenario) {
+            this.byId = byId;
+            this.byName = byName;
+            this.byTag = byTag;
+            this.normalizedScenario = normalizedScenario;
+        }
+
+        static Snapshot of(Map<Long, AIAlgorithm> algorithms) {
+            Map<String, Long> byName = new HashMap<>();
+            Map<String, Set<Long>> byTag = new HashMap<>();
+            Map<Long, String> normalizedScenario = new HashMap<>();
+            for (AIAlgorithm algorithm : algorithms.values()) {
+                String name = TextUtils.normalize(algorithm.getAlgorithmName());
+                if (!name.isEmpty()) {
+                    byName.putIfAbsent(name, algorithm.getId());
+                }
+                String scenario = StrUtil.nullToEmpty(algorithm.getScenario());
+                normalizedScenario.put(algorithm.getId(), TextUtils.normalize(scenario));
+                for (String tag : TAG_SEPARATOR.split(scenario)) {
+                    String normalizedTag = TextUtils.normalize(tag);
+                    if (!normalizedTag.isEmpty()) {
+                        byTag.computeIfAbsent(normalizedTag, k -> new HashSet<>()).add(algorithm.getId());
+                    }
+                }
+            }
+            return new Snapshot(Collections.unmodifiableMap(new LinkedHashMap<>(algorithms)),
+                    Collections.unmodifiableMap(byName),
+                    Collections.unmodifiableMap(byTag),
+                    Collections.unmodifiableMap(normalizedScenario));
+        }
+
+        List<AIAlgorithm> resolve(Collection<Long> ids) {
+            List<AIAlgorithm> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                AIAlgorithm algorithm = byId.get(id);
+                if (algorithm != null) {
+                    result.add(algorithm);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,17 +1,59 @@
-package com.gdu.zeus.ops.workorder.services;
-
-import org.springframework.stereotype.Service;
-
-import java.util.Arrays;
-import java.util.List;
-
-@Service
-public class AIAlgorithmService  {
-    public List<String> searchAlgorithms(String keyword) {
-        // 基于关键词进行语义搜索
-        if (keyword.contains("停车") || keyword.contains("占道")) {
-            return Arrays.asList("机动车占道停放检测", "违章停车识别算法");
-        }
-        return Arrays.asList("通用目标检测", "行为分析算法");
-    }
-}
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.core.util.StrUtil;
+import com.gdu.zeus.ops.workorder.data.AIAlgorithm;
+import com.gdu.zeus.ops.workorder.repository.AIAlgorithmRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+public class AIAlgorithmService  {
+
+    private final AIAlgorithmIndex algorithmIndex;
+    private final AIAlgorithmRepository algorithmRepository;
+
+    public AIAlgorithmService(AIAlgorithmIndex algorithmIndex, AIAlgorithmRepository algorithmRepository) {
+        this.algorithmIndex = algorithmIndex;
+        this.algorithmRepository = algorithmRepository;
+    }
+
+    public List<String> searchAlgorithms(String keyword) {
+        // 优先使用内存索引匹配场景/算法名称
+        List<String> matched = algorithmIndex.matchText(keyword).stream()
+                .map(AIAlgorithm::getAlgorithmName)
+                .distinct()
+                .toList();
+        if (!matched.isEmpty()) {
+            return matched;
+        }
+        // 关键词本身是场景的一部分(如"停车"匹配"违章停车")
+        List<String> byScenario = findByScenario(keyword).stream()
+                .map(AIAlgorithm::getAlgorithmName)
+                .distinct()
+                .toList();
+        if (!byScenario.isEmpty()) {
+            return byScenario;
+        }
+        // 基于关键词进行语义搜索
+        if (keyword.contains("停车") || keyword.contains("占道")) {
+            return Arrays.asList("机动车占道停放检测", "违章停车识别算法");
+        }
+        return Arrays.asList("通用目标检测", "行为分析算法");
+    }
+
+    /**
+     * 按场景查询算法，索引未就绪时降级到数据库
+     */
+    public List<AIAlgorithm> findByScenario(String scenario) {
+        if (StrUtil.isBlank(scenario)) {
+            return Collections.emptyList();
+        }
+        if (algorithmIndex.isReady()) {
+            return algorithmIndex.findByScenario(scenario);
+        }
+        return algorithmRepository.findByScenarioContaining(scenario);
+    }
+}
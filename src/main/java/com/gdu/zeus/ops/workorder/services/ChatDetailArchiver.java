@@ -0,0 +1,160 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import com.gdu.zeus.ops.workorder.config.ChatArchiveProperties;
+import com.gdu.zeus.ops.workorder.entity.ConversationSummary;
+import com.gdu.zeus.ops.workorder.mapper.ChatDetailArchiveMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 对话详情归档任务
+ * <p>
+ * 按 conversation_summary 找出最后一条消息早于 retain-days 的对话组，整组移入压缩的 chat_detail_archive，
+ * chat_detail 只保留近期活跃数据，表大小和查询延迟不随部署时长增长。读取语句对两表 UNION ALL，调用方无感知。
+ * <p>
+ * 每个对话组在一个事务内复制、删除、标记，失败时回滚，下次执行重试。
+ * 复制使用 INSERT IGNORE、删除只删归档表中已存在的行，多实例同时执行也不会丢失或重复数据。
+ * <p>
+ * 按 cron 在专用线程上执行，一次归档可能持续较长时间，不占用Spring默认的单线程调度器
+ * (向量刷写、航线索引同步等定时任务不受影响)。
+ */
+@Slf4j
+@Component
+public class ChatDetailArchiver {
+
+    private final ChatDetailArchiveMapper archiveMapper;
+    private final ChatArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private ThreadPoolTaskScheduler archiveScheduler;
+    private final Counter archivedConversations;
+    private final Counter failedConversations;
+    private final Counter archivedRows;
+
+    public ChatDetailArchiver(ChatDetailArchiveMapper archiveMapper,
+                              ChatArchiveProperties properties,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry) {
+        this.archiveMapper = archiveMapper;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.archivedConversations = Counter.builder("workorder.chat.archive.conversations")
+                .tag("result", "success").register(meterRegistry);
+        this.failedConversations = Counter.builder("workorder.chat.archive.conversations")
+                .tag("result", "failure").register(meterRegistry);
+        this.archivedRows = Counter.builder("workorder.chat.archive.rows")
+                .description("移入归档表的消息数")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        // 消息读取依赖归档表，缺表时启动即报出，而不是等到用户查询失败
+        try {
+            archiveMapper.checkTable();
+        } catch (Exception e) {
+            log.error("归档表 chat_detail_archive 不可用，消息查询将失败，请先执行 sql/chat_detail_archive.sql", e);
+        }
+        if (!properties.isEnabled()) {
+            return;
+        }
+        archiveScheduler = new ThreadPoolTaskScheduler();
+        archiveScheduler.setPoolSize(1);
+        archiveScheduler.setThreadNamePrefix("chat-archive-");
+        archiveScheduler.setDaemon(true);
+        archiveScheduler.initialize();
+        archiveScheduler.schedule(this::archive, new CronTrigger(properties.getCron()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (archiveScheduler != null) {
+            archiveScheduler.shutdown();
+        }
+    }
+
+    /**
+     * 执行一次归档，同一时刻只有一个归档在执行
+     *
+     * @return 本次归档的对话组数
+     */
+    public int archive() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(properties.getRetainDays());
+            long start = System.currentTimeMillis();
+            int conversations = 0;
+            long rows = 0;
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                List<ConversationSummary> candidates =
+                        archiveMapper.selectArchivableConversations(cutoff, properties.getBatchSize());
+                int failures = 0;
+                for (ConversationSummary candidate : candidates) {
+                    Integer moved = archiveConversation(candidate, cutoff);
+                    if (moved == null) {
+                        failures++;
+                    } else {
+                        conversations++;
+                        rows += moved;
+                    }
+                }
+                // 本批全部失败时停止，避免反复处理同一批
+                if (candidates.size() < properties.getBatchSize() || failures == candidates.size()) {
+                    break;
+                }
+            }
+            if (conversations > 0) {
+                log.info("对话详情归档完成: 截止{}, 对话组{}个, 消息{}条, 耗时{}ms",
+                        cutoff, conversations, rows, System.currentTimeMillis() - start);
+            }
+            return conversations;
+        } catch (Exception e) {
+            log.warn("对话详情归档失败: {}", e.getMessage());
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 归档一个对话组
+     *
+     * @return 移出 chat_detail 的消息数，失败返回null
+     */
+    private Integer archiveConversation(ConversationSummary conversation, LocalDateTime cutoff) {
+        try {
+            Integer moved = transactionTemplate.execute(status -> {
+                archiveMapper.copyConversation(conversation.getChatId(), conversation.getChatType(),
+                        conversation.getConversationId());
+                int deleted = archiveMapper.deleteArchivedFromHot(conversation.getChatId(),
+                        conversation.getChatType(), conversation.getConversationId());
+                archiveMapper.markArchived(conversation.getChatId(), conversation.getChatType(),
+                        conversation.getConversationId(), cutoff);
+                return deleted;
+            });
+            archivedConversations.increment();
+            archivedRows.increment(moved == null ? 0 : moved);
+            return moved == null ? 0 : moved;
+        } catch (Exception e) {
+            failedConversations.increment();
+            log.warn("归档对话组失败: chatId={}, chatType={}, conversationId={}, {}",
+                    conversation.getChatId(), conversation.getChatType(), conversation.getConversationId(),
+                    e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,280 +1,527 @@
-package com.gdu.zeus.ops.workorder.services;
-
-
-import com.gdu.zeus.ops.workorder.dto.*;
-import com.gdu.zeus.ops.workorder.entity.Chat;
-import com.gdu.zeus.ops.workorder.entity.ChatDetail;
-import com.gdu.zeus.ops.workorder.mapper.ChatDetailMapper;
-import com.gdu.zeus.ops.workorder.mapper.ChatMapper;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.LocalDateTime;
-import java.util.*;
-import java.util.stream.Collectors;
-
-/**
- * 对话业务服务
- */
-@Slf4j
-@Service
-@RequiredArgsConstructor
-public class ChatService {
-    
-    private final ChatMapper chatMapper;
-    private final ChatDetailMapper chatDetailMapper;
-    private final ChatMemory chatMemory;
-
-    // 对话类型名称映射
-    private static final Map<Integer, String> CHAT_TYPE_NAMES = Map.of(
-        1, "目标检测",
-        2, "告警研判",
-        3, "智能问数",
-        4, "创建工单"
-    );
-
-    /**
-     * 获取对话列表（按时间段分组）
-     */
-    public ChatListGroupResponse getChatListGrouped(String userId) {
-        // 计算时间范围
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime todayStart = now.toLocalDate().atStartOfDay(); // 今天0点
-        LocalDateTime yesterdayStart = todayStart.minusDays(1);      // 昨天0点
-        LocalDateTime last7DaysStart = todayStart.minusDays(7);      // 7天前0点
-        LocalDateTime last30DaysStart = todayStart.minusDays(30);    // 30天前0点
-
-        // 查询30天内的所有对话
-        List<Chat> chats = chatMapper.selectChatsByTimeRange(userId, last30DaysStart, now);
-
-        // 创建分组响应对象
-        ChatListGroupResponse groupResponse = new ChatListGroupResponse();
-
-        // 遍历对话，按时间分组
-        for (Chat chat : chats) {
-            ChatListResponse response = new ChatListResponse();
-            response.setChatId(chat.getChatId());
-            response.setTitle(chat.getTitle());
-            response.setCreateTime(chat.getCreateTime());
-
-            LocalDateTime createTime = chat.getCreateTime();
-
-            if (!createTime.isBefore(todayStart)) {
-                // 今日
-                groupResponse.getToday().add(response);
-            } else if (!createTime.isBefore(yesterdayStart)) {
-                // 昨日
-                groupResponse.getYesterday().add(response);
-            } else if (!createTime.isBefore(last7DaysStart)) {
-                // 7日内（2-7天前）
-                groupResponse.getLast7Days().add(response);
-            } else {
-                // 30日内（8-30天前）
-                groupResponse.getLast30Days().add(response);
-            }
-        }
-
-        return groupResponse;
-    }
-
-    /**
-     * 获取对话详情(平铺结构)
-     */
-    public List<ChatDetail> getChatDetailAll(String chatId) {
-        List<ChatDetail> details = chatDetailMapper.selectByChatId(chatId);
-        return details;
-    }
-
-    /**
-     * 获取对话详情
-     */
-    public List<ChatDetailResponse> getChatDetail(String chatId) {
-        List<ChatDetailResponse> responses = new ArrayList<>();
-        
-        // 遍历四种对话类型
-        for (int chatType = 1; chatType <= 4; chatType++) {
-            ChatDetailResponse response = new ChatDetailResponse();
-            response.setChatType(chatType);
-            response.setChatTypeName(CHAT_TYPE_NAMES.get(chatType));
-            
-            // 查询该类型下的所有消息
-            List<ChatDetail> details = chatDetailMapper.selectByChatIdAndType(chatId, chatType);
-            
-            // 按conversationId分组
-            Map<String, List<ChatDetail>> groupedByConversation = details.stream()
-                    .collect(Collectors.groupingBy(
-                            detail -> detail.getConversationId() != null ? detail.getConversationId() : "null",
-                            LinkedHashMap::new,
-                            Collectors.toList()
-                    ));
-            
-            // 构建对话组
-            List<ConversationGroup> conversations = new ArrayList<>();
-            for (Map.Entry<String, List<ChatDetail>> entry : groupedByConversation.entrySet()) {
-                ConversationGroup group = new ConversationGroup();
-                group.setConversationId(entry.getKey().equals("null") ? null : entry.getKey());
-                
-                List<ChatDetail> detailList = entry.getValue();
-                if (!detailList.isEmpty()) {
-                    ChatDetail firstDetail = detailList.get(0);
-                    group.setStopFlag(firstDetail.getConversationStopFlag());
-                    group.setStopTime(firstDetail.getConversationStopTime());
-                }
-                
-                // 构建消息列表，按时间倒序排列
-                List<MessageItem> messages = detailList.stream()
-                        .sorted(Comparator.comparing(ChatDetail::getCreateTime).reversed())
-                        .map(detail -> {
-                            MessageItem item = new MessageItem();
-                            item.setId(detail.getId());
-                            item.setContent(detail.getContent());
-                            item.setRole(detail.getRole());
-                            item.setCreateTime(detail.getCreateTime());
-                            return item;
-                        })
-                        .collect(Collectors.toList());
-                
-                group.setMessages(messages);
-                conversations.add(group);
-            }
-            
-            // 按时间倒序排列对话组
-            conversations.sort((a, b) -> {
-                LocalDateTime timeA = a.getMessages().isEmpty() ? LocalDateTime.MIN : a.getMessages().get(0).getCreateTime();
-                LocalDateTime timeB = b.getMessages().isEmpty() ? LocalDateTime.MIN : b.getMessages().get(0).getCreateTime();
-                return timeB.compareTo(timeA);
-            });
-            
-            response.setConversations(conversations);
-            responses.add(response);
-        }
-        
-        return responses;
-    }
-    
-    /**
-     * 创建新对话
-     */
-    @Transactional
-    public String createChat(String userId, String firstQuery) {
-        Chat chat = new Chat();
-        chat.setChatId(UUID.randomUUID().toString());
-        chat.setTitle(firstQuery); // 暂时使用第一次提问作为标题，后续可以调用大模型生成
-        chat.setCreateBy(userId);
-        chat.setCreateTime(LocalDateTime.now());
-        chatMapper.insert(chat);
-        return chat.getChatId();
-    }
-    
-//    /**
-//     * 发送消息（阻塞模式）
-//     */
-//    @Transactional
-//    public ChatMessageResponse sendMessage(ChatMessageRequest request) {
-//        // 1. 检查是否需要创建新对话
-//        if (request.getChatId() == null || request.getChatId().isEmpty()) {
-//            request.setChatId(createChat(request.getUserId(), request.getQuery()));
-//        }
-//
-//        // 2. 保存用户消息
-//        saveUserMessage(request.getChatId(), request.getChatType(),
-//                request.getConversationId(), request.getQuery());
-//
-//        // 3. 调用Dify发送消息
-//        List<FileInfo> files = convertFileInfo(request.getFiles());
-//        ChatMessageResponse response = difyService.sendMessage(
-//                request.getQuery(),
-//                request.getUserId(),
-//                request.getConversationId(),
-//                files
-//        );
-//
-//        // 4. 保存AI回复
-//        saveAssistantMessage(request.getChatId(), request.getChatType(),
-//                response.getConversationId(), response.getAnswer());
-//
-//        return response;
-//    }
-//
-//    /**
-//     * 发送消息（流式模式）
-//     */
-//    @Transactional
-//    public SseEmitter sendMessageStream(ChatMessageRequest request) {
-//        // 1. 检查是否需要创建新对话
-//        if (request.getChatId() == null || request.getChatId().isEmpty()) {
-//            request.setChatId(createChat(request.getUserId(), request.getQuery()));
-//        }
-//
-//        // 2. 保存用户消息
-//        saveUserMessage(request.getChatId(), request.getChatType(),
-//                request.getConversationId(), request.getQuery());
-//
-//        // 3. 调用Dify发送流式消息
-//        List<FileInfo> files = convertFileInfo(request.getFiles());
-//        SseEmitter emitter = difyService.sendMessageStream(
-//                request.getQuery(),
-//                request.getUserId(),
-//                request.getConversationId(),
-//                files
-//        );
-//
-//        // 注意：流式响应的AI回复需要在前端接收完整后，由前端调用保存接口保存
-//        // 或者在DifyService的onMessageEnd回调中保存
-//
-//        return emitter;
-//    }
-    
-    /**
-     * 终止流程
-     */
-    @Transactional
-    public boolean stopConversation(StopConversationRequest request) {
-        int rows = chatDetailMapper.updateConversationStopFlag(
-                request.getChatId(),
-                request.getChatType(),
-                request.getConversationId()
-        );
-        return rows > 0;
-    }
-    
-    /**
-     * 停止响应
-     */
-//    public boolean stopResponse(String taskId) {
-//        return difyService.stopResponse(taskId);
-//    }
-    
-    /**
-     * 保存消息
-     */
-    public void saveMessage(ChatDetail detail) {
-        chatDetailMapper.insert(detail);
-        // 同步到ChatMemory(用于AI上下文)
-        /*Message aiMessage = detail.getRole() == MessageRole.USER.name()
-                ? new UserMessage(detail.getContent())
-                : new AssistantMessage(detail.getContent());
-        chatMemory.add(detail.getConversationId(), aiMessage);*/
-    }
-    
-
-    /**
-     * 转换文件信息
-     */
-//    private List<FileInfo> convertFileInfo(List<FileInfoDTO> fileDTOs) {
-//        if (fileDTOs == null || fileDTOs.isEmpty()) {
-//            return null;
-//        }
-//
-//        return fileDTOs.stream()
-//                .map(dto -> FileInfo.builder()
-//                        .type(io.github.imfangs.dify.client.enums.FileType.valueOf(dto.getType()))
-//                        .transferMethod(io.github.imfangs.dify.client.enums.FileTransferMethod.valueOf(dto.getTransferMethod()))
-//                        .uploadFileId(dto.getUploadFileId())
-//                        .build())
-//                .collect(Collectors.toList());
-//    }
-}
\ No newline at end of file
+package com.gdu.zeus.ops.workorder.services;
+
+
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.util.StrUtil;
+import com.gdu.zeus.ops.workorder.dto.*;
+import com.gdu.zeus.ops.workorder.entity.Chat;
+import com.gdu.zeus.ops.workorder.entity.ChatDetail;
+import com.gdu.zeus.ops.workorder.mapper.ChatDetailArchiveMapper;
+import com.gdu.zeus.ops.workorder.mapper.ChatDetailMapper;
+import com.gdu.zeus.ops.workorder.mapper.ChatMapper;
+import com.gdu.zeus.ops.workorder.mapper.ConversationSummaryMapper;
+import com.gdu.zeus.ops.workorder.util.LocalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 对话业务服务
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatService {
+    
+    private final ChatMapper chatMapper;
+    private final ChatDetailMapper chatDetailMapper;
+    private final ConversationSummaryMapper conversationSummaryMapper;
+    private final ChatDetailArchiveMapper chatDetailArchiveMapper;
+    private final ChatMemory chatMemory;
+    private final MeterRegistry meterRegistry;
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    public static final int DEFAULT_CONVERSATION_PAGE_SIZE = 10;
+    // 对话组概要中最后一条消息预览的最大长度
+    private static final int PREVIEW_LENGTH = 200;
+    // 每页最多展开(附带消息)的对话组数
+    private static final int MAX_EXPAND = 3;
+    // 第一页缓存：侧边栏刷新大多只看第一页，创建对话的事务提交后清除；多实例部署时其他实例最多延迟一个有效期
+    private static final int FIRST_PAGE_CACHE_SIZE = 2000;
+    private static final long FIRST_PAGE_TTL_MS = TimeUnit.SECONDS.toMillis(60);
+
+    private LocalCache<String, FirstPage> firstPageCache;
+
+    @PostConstruct
+    public void initCache() {
+        this.firstPageCache = new LocalCache<>("chatList", FIRST_PAGE_CACHE_SIZE,
+                FIRST_PAGE_TTL_MS, FIRST_PAGE_TTL_MS, page -> false, meterRegistry);
+    }
+
+    // 对话类型名称映射
+    private static final Map<Integer, String> CHAT_TYPE_NAMES = Map.of(
+        1, "目标检测",
+        2, "告警研判",
+        3, "智能问数",
+        4, "创建工单"
+    );
+
+    /**
+     * 获取对话列表（按时间段分组）
+     */
+    public ChatListGroupResponse getChatListGrouped(String userId) {
+        // 计算时间范围
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime todayStart = now.toLocalDate().atStartOfDay(); // 今天0点
+        LocalDateTime yesterdayStart = todayStart.minusDays(1);      // 昨天0点
+        LocalDateTime last7DaysStart = todayStart.minusDays(7);      // 7天前0点
+        LocalDateTime last30DaysStart = todayStart.minusDays(30);    // 30天前0点
+
+        // 查询30天内的所有对话
+        List<Chat> chats = chatMapper.selectChatsByTimeRange(userId, last30DaysStart, now);
+
+        // 创建分组响应对象
+        ChatListGroupResponse groupResponse = new ChatListGroupResponse();
+
+        // 遍历对话，按时间分组
+        for (Chat chat : chats) {
+            ChatListResponse response = new ChatListResponse();
+            response.setChatId(chat.getChatId());
+            response.setTitle(chat.getTitle());
+            response.setCreateTime(chat.getCreateTime());
+
+            LocalDateTime createTime = chat.getCreateTime();
+
+            if (!createTime.isBefore(todayStart)) {
+                // 今日
+                groupResponse.getToday().add(response);
+            } else if (!createTime.isBefore(yesterdayStart)) {
+                // 昨日
+                groupResponse.getYesterday().add(response);
+            } else if (!createTime.isBefore(last7DaysStart)) {
+                // 7日内（2-7天前）
+                groupResponse.getLast7Days().add(response);
+            } else {
+                // 30日内（8-30天前）
+                groupResponse.getLast30Days().add(response);
+            }
+        }
+
+        return groupResponse;
+    }
+
+    /**
+     * 分页获取对话列表（30天内，按时间段分组）
+     *
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param size   每页条数
+     */
+    public ChatListPageResponse getChatListPage(String userId, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LocalDate today = LocalDate.now();
+        if (StrUtil.isNotBlank(cursor)) {
+            return queryChatPage(userId, today, cursor, limit);
+        }
+        FirstPage cached = firstPageCache.get(userId, k -> new FirstPage(today, limit, queryChatPage(userId, today, null, limit)));
+        // 跨天后分组边界变化，页大小不同时也重新查询
+        if (!cached.day().equals(today) || cached.size() != limit) {
+            cached = new FirstPage(today, limit, queryChatPage(userId, today, null, limit));
+            firstPageCache.put(userId, cached);
+        }
+        return cached.page();
+    }
+
+    private ChatListPageResponse queryChatPage(String userId, LocalDate today, String cursor, int limit) {
+        LocalDateTime todayStart = today.atStartOfDay();
+        LocalDateTime cursorTime = null;
+        Long cursorId = null;
+        if (StrUtil.isNotBlank(cursor)) {
+            String[] parts = decodeCursor(cursor);
+            cursorTime = LocalDateTime.parse(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
+        // 多查一条判断是否还有下一页
+        List<ChatListItem> items = chatMapper.selectChatPage(userId,
+                todayStart.minusDays(30), LocalDateTime.now(),
+                todayStart, todayStart.minusDays(1), todayStart.minusDays(7),
+                cursorTime, cursorId, limit + 1);
+        boolean hasMore = items.size() > limit;
+        if (hasMore) {
+            items = items.subList(0, limit);
+        }
+
+        ChatListGroupResponse groups = new ChatListGroupResponse();
+        for (ChatListItem item : items) {
+            ChatListResponse response = new ChatListResponse();
+            response.setChatId(item.getChatId());
+            response.setTitle(item.getTitle());
+            response.setCreateTime(item.getCreateTime());
+            switch (item.getBucket()) {
+                case "today" -> groups.getToday().add(response);
+                case "yesterday" -> groups.getYesterday().add(response);
+                case "last7Days" -> groups.getLast7Days().add(response);
+                default -> groups.getLast30Days().add(response);
+            }
+        }
+
+        ChatListPageResponse page = new ChatListPageResponse();
+        page.setGroups(groups);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            ChatListItem last = items.get(items.size() - 1);
+            page.setNextCursor(encodeCursor(last.getCreateTime(), last.getId()));
+        }
+        return page;
+    }
+
+    private static String encodeCursor(LocalDateTime time, Object key) {
+        return Base64.encodeUrlSafe(time + "|" + key);
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String[] parts = Base64.decodeStr(cursor).split("\\|", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+        return parts;
+    }
+
+    /**
+     * 分页获取对话详情：对话组按最后一条消息时间倒序，只有最新的expand个对话组附带最近一页消息，
+     * 其余对话组只返回概要，消息通过 {@link #getConversationMessages} 按需加载
+     *
+     * @param chatType 为空时查询全部类型
+     * @param cursor   上一页返回的游标，为空时查询第一页
+     * @param size     每页对话组数
+     * @param expand   附带消息的对话组数
+     */
+    public ConversationPageResponse getConversationPage(String chatId, Integer chatType, String cursor,
+                                                        int size, int expand) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LocalDateTime cursorTime = null;
+        String cursorKey = null;
+        if (StrUtil.isNotBlank(cursor)) {
+            String[] parts = decodeCursor(cursor);
+            cursorTime = LocalDateTime.parse(parts[0]);
+            cursorKey = parts[1];
+        }
+        List<ConversationHeader> headers = chatDetailMapper.selectConversationPage(
+                chatId, chatType, cursorTime, cursorKey, limit + 1);
+        boolean hasMore = headers.size() > limit;
+        if (hasMore) {
+            headers = headers.subList(0, limit);
+        }
+
+        int expanded = Math.min(Math.max(expand, 0), MAX_EXPAND);
+        List<ConversationGroup> conversations = new ArrayList<>(headers.size());
+        for (ConversationHeader header : headers) {
+            ConversationGroup group = new ConversationGroup();
+            group.setChatType(header.getChatType());
+            group.setChatTypeName(CHAT_TYPE_NAMES.get(header.getChatType()));
+            group.setConversationId(header.getConversationId());
+            group.setStopFlag(header.getStopFlag());
+            group.setStopTime(header.getStopTime());
+            group.setMessageCount(header.getMessageCount());
+            group.setLastMessageTime(header.getLastMessageTime());
+            group.setLastMessagePreview(header.getLastMessagePreview());
+            if (conversations.size() < expanded) {
+                MessagePageResponse messages = getConversationMessages(chatId, header.getChatType(),
+                        header.getConversationId(), null, DEFAULT_PAGE_SIZE);
+                group.setMessages(messages.getMessages());
+                group.setMessagesCursor(messages.getNextCursor());
+            }
+            conversations.add(group);
+        }
+
+        ConversationPageResponse page = new ConversationPageResponse();
+        page.setConversations(conversations);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            ConversationHeader last = headers.get(headers.size() - 1);
+            page.setNextCursor(encodeCursor(last.getLastMessageTime(), conversationKey(last)));
+        }
+        return page;
+    }
+
+    /**
+     * 分页获取对话组内的消息，按时间倒序
+     *
+     * @param conversationId 为空时查询未关联conversationId的消息
+     * @param cursor         上一页返回的游标，为空时查询最新的消息
+     */
+    public MessagePageResponse getConversationMessages(String chatId, Integer chatType, String conversationId,
+                                                       String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LocalDateTime cursorTime = null;
+        Long cursorId = null;
+        if (StrUtil.isNotBlank(cursor)) {
+            String[] parts = decodeCursor(cursor);
+            cursorTime = LocalDateTime.parse(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
+        List<MessageItem> messages = chatDetailMapper.selectConversationMessages(
+                chatId, chatType, StrUtil.emptyToNull(conversationId), cursorTime, cursorId, limit + 1);
+        boolean hasMore = messages.size() > limit;
+        if (hasMore) {
+            messages = new ArrayList<>(messages.subList(0, limit));
+        }
+
+        MessagePageResponse page = new MessagePageResponse();
+        page.setMessages(messages);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            MessageItem last = messages.get(messages.size() - 1);
+            page.setNextCursor(encodeCursor(last.getCreateTime(), last.getId()));
+        }
+        return page;
+    }
+
+    /**
+     * 对话组排序键，与 selectConversationPage 中的 CONCAT(chat_type, ':', conversation_id) 一致
+     */
+    private static String conversationKey(ConversationHeader header) {
+        return header.getChatType() + ":" + StrUtil.nullToEmpty(header.getConversationId());
+    }
+
+    /**
+     * 获取对话详情(平铺结构)
+     */
+    public List<ChatDetail> getChatDetailAll(String chatId) {
+        List<ChatDetail> details = chatDetailMapper.selectByChatId(chatId);
+        return details;
+    }
+
+    /**
+     * 获取对话详情
+     */
+    public List<ChatDetailResponse> getChatDetail(String chatId) {
+        List<ChatDetailResponse> responses = new ArrayList<>();
+        // 一次查询全部消息后按对话类型分组
+        Map<Integer, List<ChatDetail>> detailsByType = chatDetailMapper.selectByChatId(chatId).stream()
+                .filter(detail -> detail.getChatType() != null)
+                .collect(Collectors.groupingBy(ChatDetail::getChatType));
+
+        // 遍历四种对话类型
+        for (int chatType = 1; chatType <= 4; chatType++) {
+            ChatDetailResponse response = new ChatDetailResponse();
+            response.setChatType(chatType);
+            response.setChatTypeName(CHAT_TYPE_NAMES.get(chatType));
+            
+            // 该类型下的所有消息
+            List<ChatDetail> details = detailsByType.getOrDefault(chatType, Collections.emptyList());
+            
+            // 按conversationId分组
+            Map<String, List<ChatDetail>> groupedByConversation = details.stream()
+                    .collect(Collectors.groupingBy(
+                            detail -> detail.getConversationId() != null ? detail.getConversationId() : "null",
+                            LinkedHashMap::new,
+                            Collectors.toList()
+                    ));
+            
+            // 构建对话组
+            List<ConversationGroup> conversations = new ArrayList<>();
+            for (Map.Entry<String, List<ChatDetail>> entry : groupedByConversation.entrySet()) {
+                ConversationGroup group = new ConversationGroup();
+                group.setConversationId(entry.getKey().equals("null") ? null : entry.getKey());
+                
+                List<ChatDetail> detailList = entry.getValue();
+                if (!detailList.isEmpty()) {
+                    ChatDetail firstDetail = detailList.get(0);
+                    group.setStopFlag(firstDetail.getConversationStopFlag());
+                    group.setStopTime(firstDetail.getConversationStopTime());
+                }
+                
+                // 构建消息列表，按时间倒序排列
+                List<MessageItem> messages = detailList.stream()
+                        .sorted(Comparator.comparing(ChatDetail::getCreateTime).reversed())
+                        .map(detail -> {
+                            MessageItem item = new MessageItem();
+                            item.setId(detail.getId());
+                            item.setContent(detail.getContent());
+                            item.setRole(detail.getRole());
+                            item.setCreateTime(detail.getCreateTime());
+                            return item;
+                        })
+                        .collect(Collectors.toList());
+                
+                group.setMessages(messages);
+                conversations.add(group);
+            }
+            
+            // 按时间倒序排列对话组
+            conversations.sort((a, b) -> {
+                LocalDateTime timeA = a.getMessages().isEmpty() ? LocalDateTime.MIN : a.getMessages().get(0).getCreateTime();
+                LocalDateTime timeB = b.getMessages().isEmpty() ? LocalDateTime.MIN : b.getMessages().get(0).getCreateTime();
+                return timeB.compareTo(timeA);
+            });
+            
+            response.setConversations(conversations);
+            responses.add(response);
+        }
+        
+        return responses;
+    }
+    
+    /**
+     * 创建新对话
+     */
+    @Transactional
+    public String createChat(String userId, String firstQuery) {
+        Chat chat = new Chat();
+        chat.setChatId(UUID.randomUUID().toString());
+        chat.setTitle(firstQuery); // 暂时使用第一次提问作为标题，后续可以调用大模型生成
+        chat.setCreateBy(userId);
+        chat.setCreateTime(LocalDateTime.now());
+        chatMapper.insert(chat);
+        evictFirstPageAfterCommit(userId);
+        return chat.getChatId();
+    }
+
+    /**
+     * 事务提交后清除第一页缓存；提交前清除时，并发的列表查询可能读到未提交的旧数据并重新写入缓存
+     */
+    private void evictFirstPageAfterCommit(String userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            firstPageCache.remove(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                firstPageCache.remove(userId);
+            }
+        });
+    }
+    
+//    /**
+//     * 发送消息（阻塞模式）
+//     */
+//    @Transactional
+//    public ChatMessageResponse sendMessage(ChatMessageRequest request) {
+//        // 1. 检查是否需要创建新对话
+//        if (request.getChatId() == null || request.getChatId().isEmpty()) {
+//            request.setChatId(createChat(request.getUserId(), request.getQuery()));
+//        }
+//
+//        // 2. 保存用户消息
+//        saveUserMessage(request.getChatId(), request.getChatType(),
+//                request.getConversationId(), request.getQuery());
+//
+//        // 3. 调用Dify发送消息
+//        List<FileInfo> files = convertFileInfo(request.getFiles());
+//        ChatMessageResponse response = difyService.sendMessage(
+//                request.getQuery(),
+//                request.getUserId(),
+//                request.getConversationId(),
+//                files
+//        );
+//
+//        // 4. 保存AI回复
+//        saveAssistantMessage(request.getChatId(), request.getChatType(),
+//                response.getConversationId(), response.getAnswer());
+//
+//        return response;
+//    }
+//
+//    /**
+//     * 发送消息（流式模式）
+//     */
+//    @Transactional
+//    public SseEmitter sendMessageStream(ChatMessageRequest request) {
+//        // 1. 检查是否需要创建新对话
+//        if (request.getChatId() == null || request.getChatId().isEmpty()) {
+//            request.setChatId(createChat(request.getUserId(), request.getQuery()));
+//        }
+//
+//        // 2. 保存用户消息
+//        saveUserMessage(request.getChatId(), request.getChatType(),
+//                request.getConversationId(), request.getQuery());
+//
+//        // 3. 调用Dify发送流式消息
+//        List<FileInfo> files = convertFileInfo(request.getFiles());
+//        SseEmitter emitter = difyService.sendMessageStream(
+//                request.getQuery(),
+//                request.getUserId(),
+//                request.getConversationId(),
+//                files
+//        );
+//
+//        // 注意：流式响应的AI回复需要在前端接收完整后，由前端调用保存接口保存
+//        // 或者在DifyService的onMessageEnd回调中保存
+//
+//        return emitter;
+//    }
+    
+    /**
+     * 终止流程
+     */
+    @Transactional
+    public boolean stopConversation(StopConversationRequest request) {
+        int rows = chatDetailMapper.updateConversationStopFlag(
+                request.getChatId(),
+                request.getChatType(),
+                request.getConversationId()
+        );
+        // 已归档的消息在归档表中
+        rows += chatDetailArchiveMapper.updateConversationStopFlag(
+                request.getChatId(),
+                request.getChatType(),
+                request.getConversationId()
+        );
+        if (rows > 0) {
+            conversationSummaryMapper.updateStopFlag(
+                    request.getChatId(),
+                    request.getChatType(),
+                    request.getConversationId());
+        }
+        return rows > 0;
+    }
+    
+    /**
+     * 停止响应
+     */
+//    public boolean stopResponse(String taskId) {
+//        return difyService.stopResponse(taskId);
+//    }
+    
+    /**
+     * 保存消息
+     */
+    @Transactional
+    public void saveMessage(ChatDetail detail) {
+        chatDetailMapper.insert(detail);
+        // 同一事务内更新对话组概要
+        if (detail.getChatId() != null && detail.getChatType() != null) {
+            conversationSummaryMapper.upsertOnMessage(detail, StrUtil.maxLength(detail.getContent(), PREVIEW_LENGTH - 3));
+        }
+        // 同步到ChatMemory(用于AI上下文)
+        /*Message aiMessage = detail.getRole() == MessageRole.USER.name()
+                ? new UserMessage(detail.getContent())
+                : new AssistantMessage(detail.getContent());
+        chatMemory.add(detail.getConversationId(), aiMessage);*/
+    }
+    
+
+    /**
+     * 转换文件信息
+     */
+//    private List<FileInfo> convertFileInfo(List<FileInfoDTO> fileDTOs) {
+//        if (fileDTOs == null || fileDTOs.isEmpty()) {
+//            return null;
+//        }
+//
+//        return fileDTOs.stream()
+//                .map(dto -> FileInfo.builder()
+//                        .type(io.github.imfangs.dify.client.enums.FileType.valueOf(dto.getType()))
+//                        .transferMethod(io.github.imfangs.dify.client.enums.FileTransferMethod.valueOf(dto.getTransferMethod()))
+//                        .uploadFileId(dto.getUploadFileId())
+//                        .build())
+//                .collect(Collectors.toList());
+//    }
+
+    private record FirstPage(LocalDate day, int size, ChatListPageResponse page) {
+    }
+}
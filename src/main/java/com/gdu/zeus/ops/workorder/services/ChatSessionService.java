@@ -1,152 +1,152 @@
-package com.gdu.zeus.ops.workorder.services;
-
-import com.gdu.zeus.ops.workorder.data.ChatMessage;
-import com.gdu.zeus.ops.workorder.data.ChatMessageDTO;
-import com.gdu.zeus.ops.workorder.data.ChatSession;
-import com.gdu.zeus.ops.workorder.data.ChatSessionDTO;
-import com.gdu.zeus.ops.workorder.data.enums.MessageRole;
-import com.gdu.zeus.ops.workorder.data.enums.SessionStatus;
-import com.gdu.zeus.ops.workorder.data.enums.SessionType;
-import com.gdu.zeus.ops.workorder.repository.ChatMessageRepository;
-import com.gdu.zeus.ops.workorder.repository.ChatSessionRepository;
-import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.chat.messages.AssistantMessage;
-import org.springframework.ai.chat.messages.Message;
-import org.springframework.ai.chat.messages.UserMessage;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
-
-@Service
-public class ChatSessionService {
-
-    @Autowired
-    private ChatSessionRepository sessionRepository;
-
-    @Autowired
-    private ChatMessageRepository messageRepository;
-
-    @Autowired
-    private ChatMemory chatMemory;
-
-    /**
-     * 获取用户的会话列表
-     */
-    public List<ChatSessionDTO> getUserSessions(String userId) {
-        List<ChatSession> sessions = sessionRepository
-                .findByUserIdOrderByUpdatedAtDesc(userId);
-
-        return sessions.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * 获取会话历史消息(分页)
-     */
-    public Page<ChatMessageDTO> getSessionMessages(
-            String userId,
-            String chatId,
-            int page,
-            int size) {
-
-        // 验证会话归属
-        ChatSession session = sessionRepository
-                .findByChatIdAndUserId(chatId, userId)
-                .orElseThrow(() -> new IllegalArgumentException("会话不存在或无权访问"));
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("timestamp").descending());
-        Page<ChatMessage> messages = messageRepository
-                .findByChatIdAndUserIdPaged(chatId, userId, pageable);
-
-        return messages.map(this::toMessageDTO);
-    }
-
-    /**
-     * 获取会话历史消息(全部)
-     */
-    public List<ChatMessageDTO> getAllSessionMessages(String userId, String chatId) {
-        // 验证会话归属
-        sessionRepository.findByChatIdAndUserId(chatId, userId)
-                .orElseThrow(() -> new IllegalArgumentException("会话不存在或无权访问"));
-
-        List<ChatMessage> messages = messageRepository
-                .findByChatIdAndUserIdOrderByTimestampAsc(chatId, userId);
-
-        return messages.stream()
-                .map(this::toMessageDTO)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * 创建新会话
-     */
-    @Transactional
-    public ChatSession createSession(String userId, String title) {
-        ChatSession session = new ChatSession();
-        session.setChatId(UUID.randomUUID().toString());
-        session.setUserId(userId);
-        session.setTitle(title != null ? title : "无人机智能工单"+System.currentTimeMillis());
-        session.setSessionType(SessionType.SMART_WORKORDER);
-        session.setCreatedAt(LocalDateTime.now());
-        session.setUpdatedAt(LocalDateTime.now());
-        session.setStatus(SessionStatus.ACTIVE);
-
-        return sessionRepository.save(session);
-    }
-
-    /**
-     * 保存消息(同步到数据库和ChatMemory)
-     */
-    @Transactional
-    public void saveMessage(String userId, String chatId, MessageRole role, String content) {
-        // 保存到数据库
-        ChatMessage message = new ChatMessage();
-        message.setChatId(chatId);
-        message.setUserId(userId);
-        message.setRole(role);
-        message.setContent(content);
-        message.setTimestamp(LocalDateTime.now());
-        messageRepository.save(message);
-
-        // 更新会话时间
-        sessionRepository.findByChatIdAndUserId(chatId, userId)
-                .ifPresent(session -> {
-                    session.setUpdatedAt(LocalDateTime.now());
-                    sessionRepository.save(session);
-                });
-
-        // 同步到ChatMemory(用于AI上下文)
-        Message aiMessage = role == MessageRole.USER
-                ? new UserMessage(content)
-                : new AssistantMessage(content);
-        chatMemory.add(chatId, aiMessage);
-    }
-
-    private ChatSessionDTO toDTO(ChatSession session) {
-        return new ChatSessionDTO(
-                session.getChatId(),
-                session.getTitle(),
-                session.getSessionType(),
-                session.getCreatedAt(),
-                session.getUpdatedAt()
-        );
-    }
-
-    private ChatMessageDTO toMessageDTO(ChatMessage message) {
-        return new ChatMessageDTO(
-                message.getRole(),
-                message.getContent(),
-                message.getTimestamp()
-        );
-    }
-}
+package com.gdu.zeus.ops.workorder.services;
+
+import com.gdu.zeus.ops.workorder.data.ChatMessage;
+import com.gdu.zeus.ops.workorder.data.ChatMessageDTO;
+import com.gdu.zeus.ops.workorder.data.ChatSession;
+import com.gdu.zeus.ops.workorder.data.ChatSessionDTO;
+import com.gdu.zeus.ops.workorder.data.enums.MessageRole;
+import com.gdu.zeus.ops.workorder.data.enums.SessionStatus;
+import com.gdu.zeus.ops.workorder.data.enums.SessionType;
+import com.gdu.zeus.ops.workorder.repository.ChatMessageRepository;
+import com.gdu.zeus.ops.workorder.repository.ChatSessionRepository;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class ChatSessionService {
+
+    @Autowired
+    private ChatSessionRepository sessionRepository;
+
+    @Autowired
+    private ChatMessageRepository messageRepository;
+
+    @Autowired
+    private ChatMemory chatMemory;
+
+    /**
+     * 获取用户的会话列表
+     */
+    public List<ChatSessionDTO> getUserSessions(String userId) {
+        List<ChatSession> sessions = sessionRepository
+                .findByUserIdOrderByUpdatedAtDesc(userId);
+
+        return sessions.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取会话历史消息(分页)
+     */
+    public Page<ChatMessageDTO> getSessionMessages(
+            String userId,
+            String chatId,
+            int page,
+            int size) {
+
+        // 验证会话归属
+        ChatSession session = sessionRepository
+                .findByChatIdAndUserId(chatId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("会话不存在或无权访问"));
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("timestamp").descending());
+        Page<ChatMessage> messages = messageRepository
+                .findByChatIdAndUserIdPaged(chatId, userId, pageable);
+
+        return messages.map(this::toMessageDTO);
+    }
+
+    /**
+     * 获取会话历史消息(全部)
+     */
+    public List<ChatMessageDTO> getAllSessionMessages(String userId, String chatId) {
+        // 验证会话归属
+        sessionRepository.findByChatIdAndUserId(chatId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("会话不存在或无权访问"));
+
+        List<ChatMessage> messages = messageRepository
+                .findByChatIdAndUserIdOrderByTimestampAsc(chatId, userId);
+
+        return messages.stream()
+                .map(this::toMessageDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 创建新会话
+     */
+    @Transactional
+    public ChatSession createSession(String userId, String title) {
+        ChatSession session = new ChatSession();
+        session.setChatId(UUID.randomUUID().toString());
+        session.setUserId(userId);
+        session.setTitle(title != null ? title : "无人机智能工单"+System.currentTimeMillis());
+        session.setSessionType(SessionType.SMART_WORKORDER);
+        session.setCreatedAt(LocalDateTime.now());
+        session.setUpdatedAt(LocalDateTime.now());
+        session.setStatus(SessionStatus.ACTIVE);
+
+        return sessionRepository.save(session);
+    }
+
+    /**
+     * 保存消息(同步到数据库和ChatMemory)
+     */
+    @Transactional
+    public void saveMessage(String userId, String chatId, MessageRole role, String content) {
+        // 保存到数据库
+        ChatMessage message = new ChatMessage();
+        message.setChatId(chatId);
+        message.setUserId(userId);
+        message.setRole(role);
+        message.setContent(content);
+        message.setTimestamp(LocalDateTime.now());
+        messageRepository.save(message);
+
+        // 更新会话时间
+        sessionRepository.findByChatIdAndUserId(chatId, userId)
+                .ifPresent(session -> {
+                    session.setUpdatedAt(LocalDateTime.now());
+                    sessionRepository.save(session);
+                });
+
+        // 同步到ChatMemory(用于AI上下文)
+        Message aiMessage = role == MessageRole.USER
+                ? new UserMessage(content)
+                : new AssistantMessage(content);
+        chatMemory.add(chatId, aiMessage);
+    }
+
+    private ChatSessionDTO toDTO(ChatSession session) {
+        return new ChatSessionDTO(
+                session.getChatId(),
+                session.getTitle(),
+                session.getSessionType(),
+                session.getCreatedAt(),
+                session.getUpdatedAt()
+        );
+    }
+
+    private ChatMessageDTO toMessageDTO(ChatMessage message) {
+        return new ChatMessageDTO(
+                message.getRole(),
+                message.getContent(),
+                message.getTimestamp()
+        );
+    }
+}
@@ -1,414 +1,397 @@
-/*
- * Copyright 2024-2024 the original author or authors.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      https://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-package com.gdu.zeus.ops.workorder.services;
-
-import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.map.MapUtil;
-import cn.hutool.core.util.IdUtil;
-import cn.hutool.core.util.StrUtil;
-import com.alibaba.fastjson.JSON;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.gdu.uap.auth.core.oauth2.UAPUser;
-import com.gdu.uap.auth.core.util.SecurityUtils;
-import com.gdu.zeus.ops.workorder.data.enums.MessageRole;
-import com.gdu.zeus.ops.workorder.dto.ChatMessageRequest;
-import com.gdu.zeus.ops.workorder.entity.ChatDetail;
-import com.gdu.zeus.ops.workorder.filter.TokenContext;
-import com.gdu.zeus.ops.workorder.util.ToolResultHolder;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.PromptChatMemoryAdvisor;
-import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
-import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.model.tool.ToolCallingChatOptions;
-import org.springframework.ai.vectorstore.VectorStore;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.http.codec.ServerSentEvent;
-import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
-import org.springframework.util.StringUtils;
-import reactor.core.publisher.Flux;
-
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDate;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-
-import static org.springframework.ai.chat.client.advisor.vectorstore.VectorStoreChatMemoryAdvisor.TOP_K;
-import static org.springframework.ai.chat.memory.ChatMemory.CONVERSATION_ID;
-
-/**
- * 自然语言交互（ChatClient）
- * 记忆能力（ChatMemory）
- * 知识检索（RAG via VectorStore）
- * 函数调用（Function Calling）
- */
-@Service
-public class CustomerSupportAssistant {
-
-    private static final Logger logger = LoggerFactory.getLogger(CustomerSupportAssistant.class);
-
-    private final ChatClient chatClient;
-    private final PatrolOrderTools patrolOrderTools;
-    private final ChatService chatService;
-
-    private static final Map<String, Boolean> GENERATE_STATUS = new ConcurrentHashMap<>();
-
-    public CustomerSupportAssistant(ChatClient.Builder modelBuilder,
-                                    VectorStore vectorStore,
-                                    ChatMemory chatMemory,
-                                    ChatService chatService,
-                                    PatrolOrderTools patrolOrderTools,
-                                    @Value("classpath:system-prompt.txt") Resource systemPromptResource,
-                                    @Value("${system-prompt.file-path:}") String externalPromptPath) {
-        this.chatService = chatService;
-        this.patrolOrderTools = patrolOrderTools;
-        // 优先使用外部文件路径，否则使用classpath资源
-        String systemPrompt = loadSystemPrompt(externalPromptPath, systemPromptResource);
-        // @formatter:off
-        this.chatClient = modelBuilder
-                .defaultSystem(systemPrompt)
-                .defaultTools(patrolOrderTools)  // 显式注册工具
-                // 插件组合
-                .defaultAdvisors(
-                        PromptChatMemoryAdvisor.builder(chatMemory).build(), // Chat Memory
-                        // new VectorStoreChatMemoryAdvisor(vectorStore)),
-                        // new QuestionAnswerAdvisor(vectorStore), // RAG
-                        // new QuestionAnswerAdvisor(vectorStore, SearchRequest.defaults()
-                        // 	.withFilterExpression("'documentType' == 'terms-of-service' && region in ['EU', 'US']")),
-                        // logger
-                        new SimpleLoggerAdvisor()
-                ).build();
-        // @formatter:on
-    }
-
-    /**
-     * 从配置文件加载系统提示词
-     */
-    private String loadSystemPrompt(String externalPath, Resource classpathResource) {
-        try {
-            logger.info("=== 开始加载系统提示词 ===");
-            String systemPrompt;
-            // 优先使用外部文件路径
-            if (externalPath != null && !externalPath.trim().isEmpty()) {
-                logger.info("使用外部文件路径: {}", externalPath);
-                Path path = Paths.get(externalPath);
-
-                if (Files.exists(path)) {
-                    systemPrompt = Files.readString(path, StandardCharsets.UTF_8);
-                    logger.info("从外部文件加载成功: {}", externalPath);
-                } else {
-                    logger.warn("外部文件不存在: {}, 降级使用classpath资源", externalPath);
-                    systemPrompt = loadFromClasspath(classpathResource);
-                }
-            } else {
-                // 使用classpath资源
-                logger.info("使用classpath资源");
-                systemPrompt = loadFromClasspath(classpathResource);
-            }
-            logger.info("=== 系统提示词加载成功 ===");
-            logger.info("系统提示词长度: {} 字符", systemPrompt.length());
-            logger.info("系统提示词内容:\n{}", systemPrompt);
-            logger.info("=== 系统提示词加载完成 ===");
-            return systemPrompt;
-        } catch (IOException e) {
-            logger.error("加载系统提示词失败", e);
-            throw new RuntimeException("加载系统提示词失败", e);
-        }
-    }
-
-    /**
-     * 从classpath加载资源
-     */
-    private String loadFromClasspath(Resource resource) throws IOException {
-        try (var inputStream = resource.getInputStream()) {
-            return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
-        }
-    }
-
-    public Flux<ServerSentEvent<String>> chatWithMetadata(ChatMessageRequest request) {
-        String user = Optional.ofNullable(SecurityUtils.getUser()).map(UAPUser::getUsername).orElse("unknown");
-        Integer chatType = request.getChatType();
-        String userMessageContent = request.getQuery();
-        String splittitle = StrUtil.length(userMessageContent) > 10
-                ? StrUtil.maxLength(userMessageContent, 10) + "..."
-                : userMessageContent;
-        String token = TokenContext.getToken();
-        // 生成请求id
-        String requestId = IdUtil.fastSimpleUUID();
-        // 1. 检查是否需要创建新对话
-        if (StringUtils.isEmpty(request.getChatId())) {
-            request.setChatId(chatService.createChat(user, userMessageContent));
-        }
-        //  检查conservationId是否存在
-        if (StringUtils.isEmpty(request.getConversationId())) {
-            request.setConversationId(UUID.randomUUID().toString());
-        }
-
-        // 构建工具上下文(包含Token)
-        Map<String, Object> toolContext = MapUtil.<String, Object>builder()
-                .put("requestId", requestId)
-                .put(TokenContext.TOKEN_KEY, token)
-                .build();
-
-        // 保存用户消息
-        chatService.saveMessage(ChatDetail.builder()
-                        .chatId(request.getChatId())
-                        .chatType(chatType)
-                        .role(MessageRole.USER.name())
-                        .conversationId(request.getConversationId())
-                        .content(userMessageContent)
-                        .build());
-        // 构建更强制性的提示
-        String enhancedUserMessage = buildEnhancedPrompt(userMessageContent);
-        // 使用最新的系统提示词构建ChatClient
-        Flux<String> content = chatClient.prompt()
-                .system(s ->s.param("current_date", LocalDate.now().toString())
-                ).user(enhancedUserMessage)
-//                .tools(patrolOrderTools)
-                .advisors(advisor ->{
-                            String convId = request.getConversationId();
-                            logger.info("使用 conversationId 查询历史: {}", convId);
-                            advisor.param(CONVERSATION_ID, request.getConversationId()).param(TOP_K, 100);
-                        })
-                .toolContext(toolContext)
-                .options(ToolCallingChatOptions.builder().build())
-                .stream()
-                .content();
-
-        StringBuilder fullResponse = new StringBuilder();
-        // 将内容流转换为 SSE 事件
-        Flux<ServerSentEvent<String>> contentEvents = content
-                .doFirst(() -> {
-                    GENERATE_STATUS.put(request.getConversationId(), true);
-                })
-                .takeWhile(chunk -> GENERATE_STATUS.getOrDefault(request.getConversationId(), false))
-                .doOnNext(chunk -> fullResponse.append(chunk))
-                .map(chunk -> ServerSentEvent.<String>builder()
-                        .event("message")  // 事件类型：普通消息
-                        .data(chunk)
-                        .build())
-                .doOnComplete(() -> {
-                    logger.info("Chat stream complete");
-                    GENERATE_STATUS.remove(request.getConversationId());
-                    if (fullResponse.length() > 0) {
-                        // 获取订单信息并构建完整的消息内容
-                        String messageContent = buildMessageWithOrderLink(
-                                fullResponse.toString(),
-                                requestId
-                        );
-                        chatService.saveMessage(
-                                ChatDetail.builder()
-                                        .chatId(request.getChatId())
-                                        .chatType(chatType)
-                                        .role(MessageRole.ASSISTANT.name())
-                                        .conversationId(request.getConversationId())
-                                        .content(messageContent)
-                                        .build());
-                    }
-                })
-                .doOnError(throwable -> {
-                    logger.error("Chat stream error", throwable);
-                    GENERATE_STATUS.remove(request.getConversationId());
-                })
-                .doOnCancel(() -> {
-                    logger.info("Chat stream cancelled");
-                    GENERATE_STATUS.remove(request.getConversationId());
-                    if (fullResponse.length() > 0) {
-                        chatService.saveMessage(
-                                ChatDetail.builder()
-                                        .chatId(request.getChatId())
-                                        .chatType(chatType)
-                                        .role(MessageRole.ASSISTANT.name())
-                                        .conversationId(request.getConversationId())
-                                        .content(fullResponse + " [已停止]")
-                                        .build());
-                    }
-                });
-
-        // 添加元数据事件
-        ServerSentEvent<String> metadataEvent = ServerSentEvent.<String>builder()
-                .event("metadata")  // 事件类型：元数据
-                .data(buildMetadataJson(request.getConversationId(), request.getChatId(), splittitle))
-                .build();
-
-        ServerSentEvent<String> completeEvent = ServerSentEvent.<String>builder()
-                .event("complete")  // 事件类型：完成
-                .data("done")
-                .build();
-        return Flux.just(metadataEvent) // 返回初始的元数据事件
-                .concatWith(contentEvents)  // 接着返回实际的对话内容
-                .concatWith(Flux.defer(() -> {
-                    Map<String, Object> map = ToolResultHolder.get(requestId);
-                            if (CollUtil.isNotEmpty(map)) {
-                                ToolResultHolder.remove(requestId); // 清除参数列表
-                                //添加订单事件
-                                ServerSentEvent<String> orderinfoEvent = ServerSentEvent.<String>builder()
-                                        .event("orderinfo")  // 事件类型：订单数据
-                                        .data(JSON.toJSONString(map))
-                                        .build();
-                                return Flux.just(orderinfoEvent,completeEvent);
-                            }
-                             return Flux.just(completeEvent);
-                    }))
-                .onBackpressureBuffer();
-    }
-
-    // 构建元数据 JSON
-    private String buildMetadataJson(String conversationId, String chatId, String title) {
-        Map<String, String> metadata = new HashMap<>();
-        metadata.put("conversationId", conversationId);
-        metadata.put("chatId", chatId);
-        metadata.put("status", "completed");
-        metadata.put("title", title);
-
-        try {
-            return new ObjectMapper().writeValueAsString(metadata);
-        } catch (JsonProcessingException e) {
-            return "{\"error\":\"failed to serialize metadata\"}";
-        }
-    }
-
-    /**
-     * 构建增强提示,明确指导模型使用工具
-     */
-    private String buildEnhancedPrompt(String userMessage) {
-        return String.format("""
-        用户请求: %s
-        
-        重要提醒:
-        1. 如果涉及"区域"或"位置",必须调用getPOILocations工具
-        2. 如果涉及"航线",必须调用getAvailableRoutes工具
-        3. 如果要创建工单且所有信息齐全,必须调用createPatrolOrder工具
-        4. 不要假设或编造数据,必须使用工具获取真实数据
-        
-        请分析用户请求并调用相应的工具。
-        """, userMessage);
-    }
-
-    /**
-     * 构建包含订单链接的消息内容
-     *
-     * @param originalContent 原始消息内容
-     * @param requestId 请求ID
-     * @return 包含订单链接标识符的完整消息
-     */
-    private String buildMessageWithOrderLink(String originalContent, String requestId) {
-        Map<String, Object> orderInfo = ToolResultHolder.get(requestId);
-
-        if (CollUtil.isEmpty(orderInfo)) {
-            return originalContent;
-        }
-        String orderName = orderInfo.get("orderName").toString();
-        String orderId = orderInfo.get("orderId").toString();
-        String orderType = orderInfo.get("orderType").toString();
-        // 构建订单链接标识符
-        StringBuilder contentBuilder = new StringBuilder(originalContent);
-
-        // 添加换行和订单链接（使用特殊标识符）
-        contentBuilder.append("\n\n");
-
-
-        // 使用特殊标识符格式：{{ORDER_LINK:JSON数据}}
-        contentBuilder.append("[").append(orderName).append("]")
-                .append("(")
-                .append("orderId=").append(orderId)
-                .append("&orderType=").append(orderType)
-                .append(")");
-
-        return contentBuilder.toString();
-    }
-
-    /**
-     * 停止指定会话的流式输出
-     * @param chatId 会话ID
-     * @return 是否成功停止
-     */
-    public boolean stopChat(String chatId) {
-        if (GENERATE_STATUS.containsKey(chatId)) {
-            GENERATE_STATUS.remove(chatId);
-            logger.info("Stopped chat stream for chatId: {}", chatId);
-            return true;
-        }
-        return false;
-    }
-
-    public Flux<String> chat(String chatId, String userMessageContent) {
-
-        // 生成请求id
-        String requestId = IdUtil.fastSimpleUUID();
-        String token = "c2950e3d-557e-4a99-a154-d649f4569b55";
-        TokenContext.setToken(token);
-        // 构建工具上下文(包含Token)
-        Map<String, Object> toolContext = MapUtil.<String, Object>builder()
-                .put("requestId", requestId)
-                .put(TokenContext.TOKEN_KEY, token)
-                .build();
-
-        Flux<String> content = chatClient.prompt()
-                .system(s -> s.param("current_date", LocalDate.now().toString()))
-                .user(userMessageContent)
-                .tools(patrolOrderTools)
-                .advisors(advisor -> advisor.param(CONVERSATION_ID, chatId).param(TOP_K, 100))
-                .toolContext(toolContext)
-                .options(ToolCallingChatOptions.builder().temperature(0.1).build())
-                .stream()
-                .content();
-        // 收集完整响应并保存
-        StringBuilder fullResponse = new StringBuilder();
-        return content
-                .doFirst(() -> {
-                    // 流开始时标记为正在生成
-                    GENERATE_STATUS.put(chatId, true);
-                    logger.info("Started chat stream for chatId: {}", chatId);
-                })
-                .takeWhile(chunk -> {
-                    // 检查是否应该继续输出
-                    return GENERATE_STATUS.getOrDefault(chatId, false);
-                })
-                .doOnNext(chunk -> {
-                    logger.info("Model output: {}", chunk);
-                    if (!chunk.equals("[完成]")) {
-                        fullResponse.append(chunk);
-                    }
-                })
-                .doOnComplete(() -> {
-                    logger.info("Chat stream complete for chatId: {}", chatId);
-                    GENERATE_STATUS.remove(chatId);
-                })
-                .doOnError(throwable -> {
-                    logger.error("Chat stream error for chatId: {}", chatId, throwable);
-                    GENERATE_STATUS.remove(chatId);
-                })
-                .doOnCancel(() -> {
-                    logger.info("Chat stream cancelled for chatId: {}", chatId);
-                    GENERATE_STATUS.remove(chatId);
-                })
-                .concatWith(Flux.just("[完成]"))
-                .onBackpressureBuffer(); // 添加背压缓冲 ;
-    }
-}
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.map.MapUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson.JSON;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdu.uap.auth.core.oauth2.UAPUser;
+import com.gdu.uap.auth.core.util.SecurityUtils;
+import com.gdu.zeus.ops.workorder.advisor.LatencyBudgetedRetrievalAdvisor;
+import com.gdu.zeus.ops.workorder.data.enums.MessageRole;
+import com.gdu.zeus.ops.workorder.dto.ChatMessageRequest;
+import com.gdu.zeus.ops.workorder.entity.ChatDetail;
+import com.gdu.zeus.ops.workorder.filter.TokenContext;
+import com.gdu.zeus.ops.workorder.util.ToolResultHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.PromptChatMemoryAdvisor;
+import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.ai.chat.client.advisor.vectorstore.VectorStoreChatMemoryAdvisor.TOP_K;
+import static org.springframework.ai.chat.memory.ChatMemory.CONVERSATION_ID;
+
+/**
+ * 自然语言交互（ChatClient）
+ * 记忆能力（ChatMemory）
+ * 知识检索（RAG via VectorStore）
+ * 函数调用（Function Calling）
+ */
+@Service
+public class CustomerSupportAssistant {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSupportAssistant.class);
+
+    private final ChatClient chatClient;
+    private final PatrolOrderTools patrolOrderTools;
+    private final ChatService chatService;
+    private final SystemPromptService systemPromptService;
+    private final SlotExtractor slotExtractor;
+    private final OrderTurnTracker orderTurnTracker;
+
+    private static final Map<String, Boolean> GENERATE_STATUS = new ConcurrentHashMap<>();
+
+    public CustomerSupportAssistant(ChatClient.Builder modelBuilder,
+                                    VectorStore vectorStore,
+                                    ChatMemory chatMemory,
+                                    ChatService chatService,
+                                    PatrolOrderTools patrolOrderTools,
+                                    LatencyBudgetedRetrievalAdvisor retrievalAdvisor,
+                                    SystemPromptService systemPromptService,
+                                    SlotExtractor slotExtractor,
+                                    OrderTurnTracker orderTurnTracker) {
+        this.chatService = chatService;
+        this.patrolOrderTools = patrolOrderTools;
+        this.systemPromptService = systemPromptService;
+        this.slotExtractor = slotExtractor;
+        this.orderTurnTracker = orderTurnTracker;
+        // 系统提示词在每次请求时取最新值(字典数据可能已刷新)，这里只作为默认值
+        // @formatter:off
+        this.chatClient = modelBuilder
+                .defaultSystem(systemPromptService.getSystemPrompt())
+                .defaultTools(patrolOrderTools)  // 显式注册工具
+                // 插件组合
+                .defaultAdvisors(
+                        PromptChatMemoryAdvisor.builder(chatMemory).build(), // Chat Memory
+                        // new VectorStoreChatMemoryAdvisor(vectorStore)),
+                        retrievalAdvisor, // RAG(意图判断 + 时间预算 + 结果缓存)
+                        // new QuestionAnswerAdvisor(vectorStore, SearchRequest.defaults()
+                        // 	.withFilterExpression("'documentType' == 'terms-of-service' && region in ['EU', 'US']")),
+                        // logger
+                        new SimpleLoggerAdvisor()
+                ).build();
+        // @formatter:on
+    }
+
+    public Flux<ServerSentEvent<String>> chatWithMetadata(ChatMessageRequest request) {
+        String user = Optional.ofNullable(SecurityUtils.getUser()).map(UAPUser::getUsername).orElse("unknown");
+        Integer chatType = request.getChatType();
+        String userMessageContent = request.getQuery();
+        String splittitle = StrUtil.length(userMessageContent) > 10
+                ? StrUtil.maxLength(userMessageContent, 10) + "..."
+                : userMessageContent;
+        String token = TokenContext.getToken();
+        // 生成请求id
+        String requestId = IdUtil.fastSimpleUUID();
+        // 1. 检查是否需要创建新对话
+        if (StringUtils.isEmpty(request.getChatId())) {
+            request.setChatId(chatService.createChat(user, userMessageContent));
+        }
+        //  检查conservationId是否存在
+        if (StringUtils.isEmpty(request.getConversationId())) {
+            request.setConversationId(UUID.randomUUID().toString());
+        }
+
+        // 构建工具上下文(包含Token)
+        Map<String, Object> toolContext = MapUtil.<String, Object>builder()
+                .put("requestId", requestId)
+                .put("conversationId", request.getConversationId())
+                .put(TokenContext.TOKEN_KEY, token)
+                .build();
+
+        // 保存用户消息
+        chatService.saveMessage(ChatDetail.builder()
+                        .chatId(request.getChatId())
+                        .chatType(chatType)
+                        .role(MessageRole.USER.name())
+                        .conversationId(request.getConversationId())
+                        .content(userMessageContent)
+                        .build());
+        orderTurnTracker.onUserTurn(request.getConversationId());
+        // 构建更强制性的提示
+        String enhancedUserMessage = buildEnhancedPrompt(userMessageContent);
+        // 使用最新的系统提示词构建ChatClient
+        Flux<String> content = chatClient.prompt()
+                .system(s -> s.text(systemPromptService.getSystemPrompt())
+                        .param("current_date", LocalDate.now().toString())
+                ).user(enhancedUserMessage)
+//                .tools(patrolOrderTools)
+                .advisors(advisor ->{
+                            String convId = request.getConversationId();
+                            logger.info("使用 conversationId 查询历史: {}", convId);
+                            advisor.param(CONVERSATION_ID, request.getConversationId()).param(TOP_K, 100)
+                                    .param(LatencyBudgetedRetrievalAdvisor.RETRIEVAL_QUERY, userMessageContent);
+                        })
+                .toolContext(toolContext)
+                .options(ToolCallingChatOptions.builder().build())
+                .stream()
+                .content();
+
+        StringBuilder fullResponse = new StringBuilder();
+        // 将内容流转换为 SSE 事件
+        Flux<ServerSentEvent<String>> contentEvents = content
+                .doFirst(() -> {
+                    GENERATE_STATUS.put(request.getConversationId(), true);
+                })
+                .takeWhile(chunk -> GENERATE_STATUS.getOrDefault(request.getConversationId(), false))
+                .doOnNext(chunk -> fullResponse.append(chunk))
+                .map(chunk -> ServerSentEvent.<String>builder()
+                        .event("message")  // 事件类型：普通消息
+                        .data(chunk)
+                        .build())
+                .doOnComplete(() -> {
+                    logger.info("Chat stream complete");
+                    GENERATE_STATUS.remove(request.getConversationId());
+                    if (fullResponse.length() > 0) {
+                        // 获取订单信息并构建完整的消息内容
+                        String messageContent = buildMessageWithOrderLink(
+                                fullResponse.toString(),
+                                requestId
+                        );
+                        chatService.saveMessage(
+                                ChatDetail.builder()
+                                        .chatId(request.getChatId())
+                                        .chatType(chatType)
+                                        .role(MessageRole.ASSISTANT.name())
+                                        .conversationId(request.getConversationId())
+                                        .content(messageContent)
+                                        .build());
+                    }
+                })
+                .doOnError(throwable -> {
+                    logger.error("Chat stream error", throwable);
+                    GENERATE_STATUS.remove(request.getConversationId());
+                })
+                .doOnCancel(() -> {
+                    logger.info("Chat stream cancelled");
+                    GENERATE_STATUS.remove(request.getConversationId());
+                    if (fullResponse.length() > 0) {
+                        chatService.saveMessage(
+                                ChatDetail.builder()
+                                        .chatId(request.getChatId())
+                                        .chatType(chatType)
+                                        .role(MessageRole.ASSISTANT.name())
+                                        .conversationId(request.getConversationId())
+                                        .content(fullResponse + " [已停止]")
+                                        .build());
+                    }
+                });
+
+        // 添加元数据事件
+        ServerSentEvent<String> metadataEvent = ServerSentEvent.<String>builder()
+                .event("metadata")  // 事件类型：元数据
+                .data(buildMetadataJson(request.getConversationId(), request.getChatId(), splittitle))
+                .build();
+
+        ServerSentEvent<String> completeEvent = ServerSentEvent.<String>builder()
+                .event("complete")  // 事件类型：完成
+                .data("done")
+                .build();
+        return Flux.just(metadataEvent) // 返回初始的元数据事件
+                .concatWith(contentEvents)  // 接着返回实际的对话内容
+                .concatWith(Flux.defer(() -> {
+                    Map<String, Object> map = ToolResultHolder.get(requestId);
+                            if (CollUtil.isNotEmpty(map)) {
+                                ToolResultHolder.remove(requestId); // 清除参数列表
+                                //添加订单事件
+                                ServerSentEvent<String> orderinfoEvent = ServerSentEvent.<String>builder()
+                                        .event("orderinfo")  // 事件类型：订单数据
+                                        .data(JSON.toJSONString(map))
+                                        .build();
+                                return Flux.just(orderinfoEvent,completeEvent);
+                            }
+                             return Flux.just(completeEvent);
+                    }))
+                .onBackpressureBuffer()
+                // 无论完成、异常还是取消都清除本次请求的工具结果
+                .doFinally(signal -> ToolResultHolder.remove(requestId));
+    }
+
+    // 构建元数据 JSON
+    private String buildMetadataJson(String conversationId, String chatId, String title) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("conversationId", conversationId);
+        metadata.put("chatId", chatId);
+        metadata.put("status", "completed");
+        metadata.put("title", title);
+
+        try {
+            return new ObjectMapper().writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            return "{\"error\":\"failed to serialize metadata\"}";
+        }
+    }
+
+    /**
+     * 构建增强提示,明确指导模型使用工具
+     */
+    private String buildEnhancedPrompt(String userMessage) {
+        return String.format("""
+        用户请求: %s
+        %s
+        重要提醒:
+        1. 如果涉及"区域"或"位置",必须调用getPOILocations工具
+        2. 如果涉及"航线",必须调用getAvailableRoutes工具
+        3. 如果要创建工单且所有信息齐全,必须调用createPatrolOrder工具
+        4. 不要假设或编造数据,必须使用工具获取真实数据
+        
+        请分析用户请求并调用相应的工具。
+        """, userMessage, buildSlotHint(userMessage));
+    }
+
+    /**
+     * 本地规则预提取的工单要素，没有提取到或未启用时为空
+     */
+    private String buildSlotHint(String userMessage) {
+        if (!slotExtractor.isEnabled()) {
+            return "";
+        }
+        SlotExtractor.Slots slots = slotExtractor.extract(userMessage, LocalDateTime.now());
+        if (slots.isEmpty()) {
+            return "";
+        }
+        return "\n已从用户请求中提取的要素(规则解析，与用户原话或对话历史冲突时以原话为准，无需再向用户确认已提取的要素):\n"
+                + slots.toHint();
+    }
+
+    /**
+     * 构建包含订单链接的消息内容
+     *
+     * @param originalContent 原始消息内容
+     * @param requestId 请求ID
+     * @return 包含订单链接标识符的完整消息
+     */
+    private String buildMessageWithOrderLink(String originalContent, String requestId) {
+        Map<String, Object> orderInfo = ToolResultHolder.get(requestId);
+
+        if (CollUtil.isEmpty(orderInfo)) {
+            return originalContent;
+        }
+        String orderName = orderInfo.get("orderName").toString();
+        String orderId = orderInfo.get("orderId").toString();
+        String orderType = orderInfo.get("orderType").toString();
+        // 构建订单链接标识符
+        StringBuilder contentBuilder = new StringBuilder(originalContent);
+
+        // 添加换行和订单链接（使用特殊标识符）
+        contentBuilder.append("\n\n");
+
+
+        // 使用特殊标识符格式：{{ORDER_LINK:JSON数据}}
+        contentBuilder.append("[").append(orderName).append("]")
+                .append("(")
+                .append("orderId=").append(orderId)
+                .append("&orderType=").append(orderType)
+                .append(")");
+
+        return contentBuilder.toString();
+    }
+
+    /**
+     * 停止指定会话的流式输出
+     * @param chatId 会话ID
+     * @return 是否成功停止
+     */
+    public boolean stopChat(String chatId) {
+        if (GENERATE_STATUS.containsKey(chatId)) {
+            GENERATE_STATUS.remove(chatId);
+            logger.info("Stopped chat stream for chatId: {}", chatId);
+            return true;
+        }
+        return false;
+    }
+
+    public Flux<String> chat(String chatId, String userMessageContent) {
+
+        // 生成请求id
+        String requestId = IdUtil.fastSimpleUUID();
+        String token = "c2950e3d-557e-4a99-a154-d649f4569b55";
+        TokenContext.setToken(token);
+        // 构建工具上下文(包含Token)
+        Map<String, Object> toolContext = MapUtil.<String, Object>builder()
+                .put("requestId", requestId)
+                .put("conversationId", chatId)
+                .put(TokenContext.TOKEN_KEY, token)
+                .build();
+        orderTurnTracker.onUserTurn(chatId);
+
+        Flux<String> content = chatClient.prompt()
+                .system(s -> s.text(systemPromptService.getSystemPrompt())
+                        .param("current_date", LocalDate.now().toString()))
+                .user(userMessageContent)
+                .tools(patrolOrderTools)
+                .advisors(advisor -> advisor.param(CONVERSATION_ID, chatId).param(TOP_K, 100)
+                        .param(LatencyBudgetedRetrievalAdvisor.RETRIEVAL_QUERY, userMessageContent))
+                .toolContext(toolContext)
+                .options(ToolCallingChatOptions.builder().temperature(0.1).build())
+                .stream()
+                .content();
+        // 收集完整响应并保存
+        StringBuilder fullResponse = new StringBuilder();
+        return content
+                .doFirst(() -> {
+                    // 流开始时标记为正在生成
+                    GENERATE_STATUS.put(chatId, true);
+                    logger.info("Started chat stream for chatId: {}", chatId);
+                })
+                .takeWhile(chunk -> {
+                    // 检查是否应该继续输出
+                    return GENERATE_STATUS.getOrDefault(chatId, false);
+                })
+                .doOnNext(chunk -> {
+                    logger.info("Model output: {}", chunk);
+                    if (!chunk.equals("[完成]")) {
+                        fullResponse.append(chunk);
+                    }
+                })
+                .doOnComplete(() -> {
+                    logger.info("Chat stream complete for chatId: {}", chatId);
+                    GENERATE_STATUS.remove(chatId);
+                })
+                .doOnError(throwable -> {
+                    logger.error("Chat stream error for chatId: {}", chatId, throwable);
+                    GENERATE_STATUS.remove(chatId);
+                })
+                .doOnCancel(() -> {
+                    logger.info("Chat stream cancelled for chatId: {}", chatId);
+                    GENERATE_STATUS.remove(chatId);
+                })
+                .concatWith(Flux.just("[完成]"))
+                .onBackpressureBuffer() // 添加背压缓冲 ;
+                .doFinally(signal -> ToolResultHolder.remove(requestId));
+    }
+}
@@ -0,0 +1,189 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.StrUtil;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.util.TextUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 字典数据缓存(工单性质等参考数据)
+ * <p>
+ * 启动后立即在专用线程上预热，之后按固定间隔在同一线程上刷新，不占用Spring调度线程；读取只取当前快照，从不等待远程调用。
+ * 快照超过刷新间隔仍未更新(如定时刷新失败)时，读取方触发一次后台刷新并继续返回旧数据(stale-while-revalidate)。
+ * 刷新成功后整体替换快照，刷新失败保留旧快照；从未加载成功时快照为空，调用方使用各自的默认值。
+ */
+@Slf4j
+@Component
+public class DictionaryCache {
+
+    private final WorkOrderExternalService externalService;
+    private final long refreshIntervalMs;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ScheduledExecutorService refreshExecutor;
+    private final Counter refreshSuccess;
+    private final Counter refreshFailure;
+
+    public DictionaryCache(WorkOrderExternalService externalService,
+                           @Value("${workorder.dictionary.refresh-interval-ms:600000}") long refreshIntervalMs,
+                           MeterRegistry meterRegistry) {
+        this.externalService = externalService;
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dictionary-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refreshSuccess = Counter.builder("workorder.dictionary.refresh")
+                .tag("result", "success").register(meterRegistry);
+        this.refreshFailure = Counter.builder("workorder.dictionary.refresh")
+                .tag("result", "failure").register(meterRegistry);
+        Gauge.builder("workorder.dictionary.age", this, cache -> cache.ageMs() / 1000.0)
+                .description("字典快照距上次成功刷新的时间，从未加载时为-1")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 启动定时刷新，首次立即执行作为预热
+     */
+    @PostConstruct
+    public void start() {
+        refreshExecutor.scheduleWithFixedDelay(this::refresh, 0, Math.max(1000, refreshIntervalMs),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 拉取字典并替换快照，同一时刻只有一个刷新在执行
+     *
+     * @return 是否刷新成功
+     */
+    public boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            List<WorkOrderApiDto.OrderNatureResponse> natures = externalService.getNatureList();
+            if (natures == null || natures.isEmpty()) {
+                refreshFailure.increment();
+                log.warn("字典刷新失败，继续使用当前快照(版本{})", snapshot.get().version());
+                return false;
+            }
+            Snapshot next = Snapshot.of(natures, snapshot.get().version() + 1);
+            snapshot.set(next);
+            refreshSuccess.increment();
+            log.info("字典刷新完成: 版本{}, 工单性质{}个", next.version(), natures.size());
+            return true;
+        } catch (Exception e) {
+            refreshFailure.increment();
+            log.warn("字典刷新异常，继续使用当前快照(版本{}): {}", snapshot.get().version(), e.getMessage());
+            return false;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * 当前快照，过期时触发后台刷新但不等待
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot.get();
+        if (current.loadedAt() > 0 && ageMs() > refreshIntervalMs && !refreshing.get()) {
+            try {
+                refreshExecutor.execute(this::refresh);
+            } catch (RejectedExecutionException e) {
+                log.debug("字典后台刷新提交失败", e);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 按工单性质名称查询ID
+     */
+    public Optional<String> natureId(String label) {
+        return snapshot().natureId(label);
+    }
+
+    private long ageMs() {
+        long loadedAt = snapshot.get().loadedAt();
+        return loadedAt > 0 ? System.currentTimeMillis() - loadedAt : -1000;
+    }
+
+    /**
+     * 不可变字典快照
+     *
+     * @param natures         工单性质列表
+     * @param natureIdByLabel 归一化性质名称 -> 性质ID
+     * @param version         版本号，每次成功刷新加一，从未加载时为0
+     * @param loadedAt        加载时间，从未加载时为0
+     */
+    public record Snapshot(List<WorkOrderApiDto.OrderNatureResponse> natures,
+                           Map<String, String> natureIdByLabel,
+                           long version,
+                           long loadedAt) {
+
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), Collections.emptyMap(), 0, 0);
+
+        static Snapshot of(List<WorkOrderApiDto.OrderNatureResponse> natures, long version) {
+            Map<String, String> idByLabel = new LinkedHashMap<>();
+            for (WorkOrderApiDto.OrderNatureResponse nature : natures) {
+                String id = StrUtil.isNotBlank(nature.getItemValue())
+                        ? nature.getItemValue() : Convert.toStr(nature.getId());
+                if (id == null) {
+                    continue;
+                }
+                if (StrUtil.isNotBlank(nature.getLabel())) {
+                    idByLabel.putIfAbsent(TextUtils.normalize(nature.getLabel()), id);
+                }
+                if (StrUtil.isNotBlank(nature.getDescription())) {
+                    idByLabel.putIfAbsent(TextUtils.normalize(nature.getDescription()), id);
+                }
+            }
+            return new Snapshot(List.copyOf(natures), Collections.unmodifiableMap(idByLabel),
+                    version, System.currentTimeMillis());
+        }
+
+        /**
+         * 按工单性质名称查询ID
+         */
+        public Optional<String> natureId(String label) {
+            return Optional.ofNullable(natureIdByLabel.get(TextUtils.normalize(label)));
+        }
+
+        /**
+         * 工单性质名称列表，按接口顺序
+         */
+        public List<String> natureLabels() {
+            return natures.stream()
+                    .map(n -> StrUtil.isNotBlank(n.getDescription()) ? n.getDescription() : n.getLabel())
+                    .filter(StrUtil::isNotBlank)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.core.util.StrUtil;
+import com.gdu.zeus.ops.workorder.data.enums.ExecutionType;
+import com.gdu.zeus.ops.workorder.data.enums.OrderNature;
+import com.gdu.zeus.ops.workorder.data.enums.PatrolResult;
+import com.gdu.zeus.ops.workorder.util.TextUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * 工单枚举同义词解析
+ * <p>
+ * 模型填写工具参数时措辞不固定(如"多次"/"多个"、"图片"/"照片"、"护林防御"/"护林防火")，
+ * 精确匹配失败会让工具报错，模型只能再调用一次。启动时为每个枚举预先构建查找表：
+ * 1. 归一化形式：全角转半角、转小写、去除空白和标点，枚举名与描述均可匹配
+ * 2. 同义词与拼音(全拼、首字母)
+ * 3. 常见错别字：对长度不小于3的词条预生成删除一个字符的变体，
+ *    输入与词条相差一个字符(多字、少字、错字)时命中；同一变体指向多个枚举值时视为歧义，不参与匹配
+ * 查找只做哈希表读取，不做运行时的模糊计算。
+ * <p>
+ * 指标：workorder.enum.resolve{type, match=exact|synonym|typo|miss} 各匹配方式的次数，
+ * workorder.enum.retry.avoided{type} 原精确匹配无法识别、经本解析器识别的次数，即避免的工具重试次数。
+ */
+@Slf4j
+@Component
+public class EnumSynonymResolver {
+
+    private static final Pattern MULTI_VALUE_SEPARATOR = Pattern.compile("以及|[,，、;；/|+&和及与\\s]+");
+    private static final int MIN_TYPO_LENGTH = 3;
+
+    private final Lexicon<OrderNature> orderNatures;
+    private final Lexicon<ExecutionType> executionTypes;
+    private final Lexicon<PatrolResult> patrolResults;
+    // 表示"全部巡查结果"的说法
+    private final Set<String> allPatrolResults;
+
+    public EnumSynonymResolver(MeterRegistry meterRegistry) {
+        this.orderNatures = new Lexicon<>("orderNature", OrderNature.class, meterRegistry);
+        orderNatures.legacy(OrderNature.values(), OrderNature::getDescription)
+                .add(OrderNature.FIELD_CONSTRUCTION, "野外建设", "建设巡查", "违法建设巡查", "违法建设", "违建巡查",
+                        "违章建筑巡查", "违建", "yewaijianshexuncha", "ywjsxc", "construction")
+                .add(OrderNature.AERIAL_PATROL, "空巡", "空中巡检", "航空巡查", "空中巡逻",
+                        "kongzhongxuncha", "kzxc", "patrol", "aerialpatrol")
+                .add(OrderNature.FOREST_PROTECTION, "护林防御", "森林防火", "护林", "防火巡查", "林区防火",
+                        "hulinfanghuo", "hlfh", "forest", "fireprevention")
+                .add(OrderNature.ATMOSPHERE_DETECTION, "探测大气", "大气监测", "空气监测", "空气质量监测", "大气检测",
+                        "daqitance", "dqtc", "atmosphere")
+                .add(OrderNature.PHOTOGRAPHY, "摄影", "航摄", "航拍摄影",
+                        "hangkongsheying", "hksy", "photography")
+                .add(OrderNature.AERIAL_PHOTOGRAPHY, "空中摄影", "航拍", "空中拍摄", "拍照",
+                        "kongzhongpaizhao", "kzpz", "aerialphoto")
+                .add(OrderNature.SURVEYING, "测量", "航测", "测绘巡查", "测绘作业", "cehui", "surveying", "mapping")
+                .add(OrderNature.OTHER, "其它", "别的", "未知", "qita", "other")
+                .build();
+
+        this.executionTypes = new Lexicon<>("executionType", ExecutionType.class, meterRegistry);
+        executionTypes.legacy(ExecutionType.SINGLE, "单次", "single")
+                .legacy(ExecutionType.MULTIPLE, "多个", "multiple")
+                .legacy(ExecutionType.CUSTOM, "自定义", "custom")
+                .add(ExecutionType.SINGLE, "一次", "一次性", "仅一次", "单次执行", "单个时间", "danci", "once")
+                .add(ExecutionType.MULTIPLE, "多次", "多次执行", "多个时间", "多个时间点", "多时间",
+                        "duoge", "duoci", "multi")
+                // 周期性执行按自定义规则处理
+                .add(ExecutionType.CUSTOM, "自定义规则", "自定义执行", "周期", "周期性", "周期执行", "定期",
+                        "zidingyi", "zdy", "zhouqi", "periodic")
+                .build();
+
+        this.patrolResults = new Lexicon<>("patrolResult", PatrolResult.class, meterRegistry);
+        patrolResults.legacy(PatrolResult.PHOTO, "照片", "photo", "图片")
+                .legacy(PatrolResult.VIDEO, "视频", "video", "录像")
+                .add(PatrolResult.PHOTO, "相片", "图像", "拍照", "照相", "截图", "zhaopian", "tupian", "zp",
+                        "picture", "image", "jpg")
+                .add(PatrolResult.VIDEO, "录影", "影片", "视屏", "录制视频", "shipin", "luxiang", "sp", "mp4")
+                .build();
+        this.allPatrolResults = Set.of("全部", "都要", "两者", "两个都要", "照片视频", "视频照片",
+                "图片视频", "all", "both");
+    }
+
+    /**
+     * 解析工单性质
+     */
+    public Optional<OrderNature> orderNature(String text) {
+        return Optional.ofNullable(orderNatures.resolveCounted(text));
+    }
+
+    /**
+     * 名称精确或按同义词对应的工单性质，不纠错、不计入解析指标，用于核对字典标签
+     */
+    public Optional<OrderNature> knownOrderNature(String label) {
+        return Optional.ofNullable(orderNatures.lookup(TextUtils.normalize(label)));
+    }
+
+    /**
+     * 解析执行方式
+     */
+    public Optional<ExecutionType> executionType(String text) {
+        return Optional.ofNullable(executionTypes.resolveCounted(text));
+    }
+
+    /**
+     * 解析巡查结果(可多选)，无法识别的项忽略
+     *
+     * @return 去重后的巡查结果，按输入顺序
+     */
+    public List<PatrolResult> patrolResults(String text) {
+        if (StrUtil.isBlank(text)) {
+            return Collections.emptyList();
+        }
+        Set<PatrolResult> results = new LinkedHashSet<>();
+        if (allPatrolResults.contains(TextUtils.normalize(text))) {
+            results.add(PatrolResult.PHOTO);
+            results.add(PatrolResult.VIDEO);
+        } else {
+            for (String item : MULTI_VALUE_SEPARATOR.split(text)) {
+                if (StrUtil.isNotBlank(item)) {
+                    PatrolResult result = patrolResults.resolve(item);
+                    if (result != null) {
+                        results.add(result);
+                    }
+                }
+            }
+        }
+        // 原实现按英文逗号拆分后精确匹配，结果不同即为本解析器纠正的输入
+        Set<PatrolResult> legacy = new LinkedHashSet<>();
+        for (String item : text.split(",")) {
+            PatrolResult result = patrolResults.legacyValue(item);
+            if (result != null) {
+                legacy.add(result);
+            }
+        }
+        if (!results.isEmpty() && !results.equals(legacy)) {
+            patrolResults.retryAvoided(text, results);
+        }
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * 在自由文本中查找提及的工单性质，多个时取最长的词条，不返回"其他"；
+     * 同时是巡查结果的词条(如"拍照")不作为工单性质，避免一句话同时填入两个要素
+     */
+    public Optional<OrderNature> findOrderNature(String text) {
+        return orderNatures.find(TextUtils.normalize(text), key -> patrolResults.lookup(key) != null).stream()
+                .filter(nature -> nature != OrderNature.OTHER)
+                .findFirst();
+    }
+
+    /**
+     * 在自由文本中查找提及的巡查结果，按枚举顺序
+     */
+    public List<PatrolResult> findPatrolResults(String text) {
+        List<PatrolResult> found = patrolResults.find(TextUtils.normalize(text));
+        found.sort(Comparator.naturalOrder());
+        return found;
+    }
+
+    private enum MatchKind {
+        EXACT, SYNONYM, TYPO, MISS
+    }
+
+    /**
+     * 单个枚举的查找表，构建完成后只读
+     */
+    private static final class Lexicon<E extends Enum<E>> {
+
+        private final String type;
+        private final Class<E> enumType;
+        // 原精确匹配即可识别的输入(未归一化)
+        private final Map<String, E> legacyKeys = new HashMap<>();
+        // 归一化词条 -> 枚举值，枚举名与描述为精确匹配，其余为同义词
+        private final Map<String, E> exact = new HashMap<>();
+        private final Map<String, E> synonyms = new HashMap<>();
+        // 删除一个字符的变体及长度不小于3的词条 -> 枚举值，歧义变体不收录
+        private final Map<String, E> typos = new HashMap<>();
+        // 用于在自由文本中查找的词条，按长度从长到短
+        private final List<Map.Entry<String, E>> scanKeys = new ArrayList<>();
+        private final Map<MatchKind, Counter> resolveCounters = new EnumMap<>(MatchKind.class);
+        private final Counter retryAvoided;
+
+        Lexicon(String type, Class<E> enumType, MeterRegistry meterRegistry) {
+            this.type = type;
+            this.enumType = enumType;
+            for (MatchKind kind : MatchKind.values()) {
+                resolveCounters.put(kind, Counter.builder("workorder.enum.resolve")
+                        .tag("type", type)
+                        .tag("match", kind.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            this.retryAvoided = Counter.builder("workorder.enum.retry.avoided")
+                    .description("原精确匹配无法识别、经同义词解析识别的工具参数数")
+                    .tag("type", type)
+                    .register(meterRegistry);
+            for (E value : enumType.getEnumConstants()) {
+                exact.put(TextUtils.normalize(value.name()), value);
+            }
+        }
+
+        Lexicon<E> legacy(E[] values, Function<E, String> description) {
+            for (E value : values) {
+                legacy(value, description.apply(value));
+            }
+            return this;
+        }
+
+        Lexicon<E> legacy(E value, String... keys) {
+            for (String key : keys) {
+                legacyKeys.put(key, value);
+                exact.put(TextUtils.normalize(key), value);
+            }
+            return this;
+        }
+
+        Lexicon<E> add(E value, String... keys) {
+            for (String key : keys) {
+                E previous = synonyms.put(TextUtils.normalize(key), value);
+                if (previous != null && previous != value) {
+                    throw new IllegalStateException(type + "同义词冲突: " + key);
+                }
+            }
+            return this;
+        }
+
+        Lexicon<E> build() {
+            Map<String, E> all = new HashMap<>(synonyms);
+            all.putAll(exact);
+            Set<String> ambiguous = new HashSet<>();
+            for (Map.Entry<String, E> entry : all.entrySet()) {
+                String key = entry.getKey();
+                if (key.length() < MIN_TYPO_LENGTH) {
+                    continue;
+                }
+                for (String variant : deletions(key)) {
+                    // 变体本身是词条时以词条为准
+                    if (all.containsKey(variant) || ambiguous.contains(variant)) {
+                        continue;
+                    }
+                    E previous = typos.putIfAbsent(variant, entry.getValue());
+                    if (previous != null && previous != entry.getValue()) {
+                        ambiguous.add(variant);
+                        typos.remove(variant);
+                    }
+                }
+                // 输入多一个字符时，输入的删除变体等于词条本身
+                typos.putIfAbsent(key, entry.getValue());
+            }
+            // 短的字母词条(如拼音首字母)在自由文本中误命中率高，不参与查找
+            all.entrySet().stream()
+                    .filter(entry -> entry.getKey().length() >= 2
+                            && (entry.getKey().length() >= 4 || !entry.getKey().matches("[a-z0-9]+")))
+                    .sorted(Comparator.comparingInt((Map.Entry<String, E> entry) -> entry.getKey().length()).reversed())
+                    .forEach(scanKeys::add);
+            log.info("{}同义词表构建完成: 精确{}个, 同义词{}个, 纠错变体{}个",
+                    enumType.getSimpleName(), exact.size(), synonyms.size(), typos.size());
+            return this;
+        }
+
+        /**
+         * 查找文本中出现的词条，长词条优先，已被长词条覆盖的位置不再匹配
+         *
+         * @return 匹配到的枚举值，按匹配词条长度从长到短，不重复
+         */
+        List<E> find(String normalizedText) {
+            return find(normalizedText, key -> false);
+        }
+
+        /**
+         * 查找文本中出现的词条，跳过被排除的词条
+         */
+        List<E> find(String normalizedText, Predicate<String> excluded) {
+            List<E> found = new ArrayList<>();
+            if (normalizedText.isEmpty()) {
+                return found;
+            }
+            boolean[] covered = new boolean[normalizedText.length()];
+            for (Map.Entry<String, E> entry : scanKeys) {
+                String key = entry.getKey();
+                if (excluded.test(key)) {
+                    continue;
+                }
+                int index = normalizedText.indexOf(key);
+                while (index >= 0) {
+                    if (!covered[index] && !covered[index + key.length() - 1]) {
+                        Arrays.fill(covered, index, index + key.length(), true);
+                        if (!found.contains(entry.getValue())) {
+                            found.add(entry.getValue());
+                        }
+                    }
+                    index = normalizedText.indexOf(key, index + 1);
+                }
+            }
+            return found;
+        }
+
+        E lookup(String key) {
+            E value = exact.get(key);
+            return value != null ? value : synonyms.get(key);
+        }
+
+        E resolve(String text) {
+            String key = TextUtils.normalize(text);
+            if (key.isEmpty()) {
+                return null;
+            }
+            E value = exact.get(key);
+            MatchKind kind = MatchKind.EXACT;
+            if (value == null) {
+                value = synonyms.get(key);
+                kind = MatchKind.SYNONYM;
+            }
+            if (value == null && key.length() >= MIN_TYPO_LENGTH) {
+                value = typo(key);
+                kind = MatchKind.TYPO;
+            }
+            if (value == null) {
+                kind = MatchKind.MISS;
+            }
+            resolveCounters.get(kind).increment();
+            return value;
+        }
+
+        /**
+         * 解析单值参数，原精确匹配无法识别时计入避免的重试
+         */
+        E resolveCounted(String text) {
+            E value = resolve(text);
+            if (value != null && legacyValue(text) == null) {
+                retryAvoided(text, value);
+            }
+            return value;
+        }
+
+        E legacyValue(String text) {
+            return text == null ? null : legacyKeys.get(text.trim());
+        }
+
+        void retryAvoided(String text, Object value) {
+            retryAvoided.increment();
+            log.info("{}参数'{}'解析为{}", type, text, value);
+        }
+
+        private E typo(String key) {
+            // 输入少一个字符：输入本身是词条的删除变体
+            E value = typos.get(key);
+            if (value != null) {
+                return value;
+            }
+            // 输入多一个字符或错一个字符：输入的删除变体是词条或词条的删除变体
+            E found = null;
+            for (String variant : deletions(key)) {
+                E candidate = typos.get(variant);
+                if (candidate == null) {
+                    continue;
+                }
+                if (found != null && found != candidate) {
+                    return null;
+                }
+                found = candidate;
+            }
+            return found;
+        }
+
+        private static Set<String> deletions(String key) {
+            Set<String> variants = new HashSet<>(key.length());
+            for (int i = 0; i < key.length(); i++) {
+                variants.add(key.substring(0, i) + key.substring(i + 1));
+            }
+            return variants;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 每个工单的对话轮次统计
+ * <p>
+ * 按会话记录用户发送的消息数，工单创建成功时记入 workorder.order.turns 并重新计数，
+ * 标签 slot_hints 表示是否启用了 {@link SlotExtractor} 的本地要素提取，用于对比启用前后的轮次。
+ * 未创建工单的会话按有效期淘汰，不计入指标。
+ */
+@Component
+public class OrderTurnTracker {
+
+    private static final int MAX_CONVERSATIONS = 10_000;
+    private static final long TTL_MS = TimeUnit.HOURS.toMillis(2);
+
+    private final LRUCache<String, AtomicInteger> turns = CacheUtil.newLRUCache(MAX_CONVERSATIONS, TTL_MS);
+    private final DistributionSummary turnsPerOrder;
+
+    public OrderTurnTracker(SlotExtractor slotExtractor, MeterRegistry meterRegistry) {
+        this.turnsPerOrder = DistributionSummary.builder("workorder.order.turns")
+                .description("创建一个工单用户发送的消息数")
+                .tag("slot_hints", slotExtractor.isEnabled() ? "enabled" : "disabled")
+                .publishPercentiles(0.5, 0.9)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一轮用户消息
+     */
+    public void onUserTurn(String conversationId) {
+        if (conversationId == null) {
+            return;
+        }
+        turns.get(conversationId, false, AtomicInteger::new).incrementAndGet();
+    }
+
+    /**
+     * 工单创建成功，记录本单的轮次并重新计数
+     */
+    public void onOrderCreated(String conversationId) {
+        if (conversationId == null) {
+            return;
+        }
+        AtomicInteger count = turns.get(conversationId, false);
+        turns.remove(conversationId);
+        if (count != null && count.get() > 0) {
+            turnsPerOrder.record(count.get());
+        }
+    }
+}
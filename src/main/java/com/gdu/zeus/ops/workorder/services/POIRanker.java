@@ -0,0 +1,207 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.PoiProperties;
+import com.gdu.zeus.ops.workorder.util.GeoUtils;
+import com.gdu.zeus.ops.workorder.util.TextUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * POI排序与去重
+ * <p>
+ * 1. 文本匹配分：名称与区域完全相同 > 名称以区域开头 > 名称包含区域 > 简称/别名包含区域 > 地址包含区域，
+ *    均不命中时按二元组重合度计分
+ * 2. 距离分：到区域中心的距离越近分越高，区域中心取文本匹配较好的POI的坐标中位数
+ * 3. 去重：距离在阈值内且归一化名称相同或互相包含的POI视为同一地点，保留得分高的；
+ *    同名但相距较远的POI(如不同区的同名公园)都保留
+ * 排序结果稳定，同一批数据多次排序结果相同，可按偏移分页取出。
+ */
+@Component
+public class POIRanker {
+
+    private static final double TEXT_WEIGHT = 0.7;
+    private static final double DISTANCE_WEIGHT = 0.3;
+    // 文本分不低于此值的POI参与计算区域中心
+    private static final double CENTROID_TEXT_SCORE = 0.6;
+
+    private final PoiProperties poiProperties;
+
+    public POIRanker(PoiProperties poiProperties) {
+        this.poiProperties = poiProperties;
+    }
+
+    /**
+     * 排序并去重
+     *
+     * @param area      巡查区域
+     * @param locations 接口返回的POI
+     * @return 按相关度从高到低排列的POI
+     */
+    public List<WorkOrderApiDto.POILocationResponse> rank(String area,
+                                                          List<WorkOrderApiDto.POILocationResponse> locations) {
+        if (locations == null || locations.isEmpty()) {
+            return List.of();
+        }
+        String key = TextUtils.normalize(area);
+        List<Scored> scored = new ArrayList<>(locations.size());
+        for (int i = 0; i < locations.size(); i++) {
+            WorkOrderApiDto.POILocationResponse poi = locations.get(i);
+            scored.add(new Scored(poi, i, TextUtils.normalize(poi.getName()), textScore(key, poi)));
+        }
+
+        double[] centroid = centroid(scored);
+        double scale = centroid != null ? distanceScale(scored, centroid) : 0;
+        for (Scored s : scored) {
+            double distanceScore = 0;
+            if (centroid != null && s.hasLocation()) {
+                double distance = GeoUtils.haversine(centroid[1], centroid[0], s.poi.getY(), s.poi.getX());
+                distanceScore = scale > 0 ? Math.exp(-distance / scale) : 1;
+            }
+            s.score = TEXT_WEIGHT * s.textScore + DISTANCE_WEIGHT * distanceScore;
+        }
+        // 分数相同按接口原顺序
+        scored.sort(Comparator.comparingDouble((Scored s) -> s.score).reversed()
+                .thenComparingInt(s -> s.index));
+
+        List<WorkOrderApiDto.POILocationResponse> result = new ArrayList<>(scored.size());
+        List<Scored> kept = new ArrayList<>(scored.size());
+        for (Scored s : scored) {
+            if (isNearDuplicate(s, kept)) {
+                continue;
+            }
+            kept.add(s);
+            result.add(s.poi);
+        }
+        return result;
+    }
+
+    /**
+     * 是否与已保留的POI为同一地点：名称相同或互相包含，且距离在阈值内；
+     * 都没有坐标时无法区分，仅名称相同才视为同一地点
+     */
+    private boolean isNearDuplicate(Scored candidate, List<Scored> kept) {
+        if (candidate.name.isEmpty()) {
+            return false;
+        }
+        double threshold = poiProperties.getDedupeDistanceMeters();
+        for (Scored s : kept) {
+            if (s.name.isEmpty()) {
+                continue;
+            }
+            if (!candidate.hasLocation() && !s.hasLocation()) {
+                if (s.name.equals(candidate.name)) {
+                    return true;
+                }
+                continue;
+            }
+            if (candidate.hasLocation() && s.hasLocation()
+                    && (s.name.contains(candidate.name) || candidate.name.contains(s.name))
+                    && GeoUtils.haversine(s.poi.getY(), s.poi.getX(), candidate.poi.getY(), candidate.poi.getX()) <= threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double textScore(String area, WorkOrderApiDto.POILocationResponse poi) {
+        if (area.isEmpty()) {
+            return 0;
+        }
+        String name = TextUtils.normalize(poi.getName());
+        if (name.equals(area)) {
+            return 1.0;
+        }
+        if (name.startsWith(area)) {
+            return 0.8;
+        }
+        if (name.contains(area)) {
+            return 0.6;
+        }
+        if (TextUtils.normalize(poi.getShortName()).contains(area) || TextUtils.normalize(poi.getAliasName()).contains(area)) {
+            return 0.5;
+        }
+        if (TextUtils.normalize(poi.getAddress()).contains(area)) {
+            return 0.3;
+        }
+        return 0.3 * bigramOverlap(area, name);
+    }
+
+    /**
+     * 区域二元组在名称中出现的比例
+     */
+    private static double bigramOverlap(String area, String name) {
+        if (area.length() < 2 || name.length() < 2) {
+            return 0;
+        }
+        int total = area.length() - 1;
+        int hit = 0;
+        for (int i = 0; i < total; i++) {
+            if (name.contains(area.substring(i, i + 2))) {
+                hit++;
+            }
+        }
+        return (double) hit / total;
+    }
+
+    /**
+     * 区域中心：文本匹配较好的POI坐标中位数，没有时取全部POI，返回[经度,纬度]
+     */
+    private static double[] centroid(List<Scored> scored) {
+        List<Scored> anchors = scored.stream()
+                .filter(s -> s.hasLocation() && s.textScore >= CENTROID_TEXT_SCORE)
+                .toList();
+        if (anchors.isEmpty()) {
+            anchors = scored.stream().filter(Scored::hasLocation).toList();
+        }
+        if (anchors.isEmpty()) {
+            return null;
+        }
+        return new double[]{median(anchors.stream().mapToDouble(s -> s.poi.getX()).toArray()),
+                median(anchors.stream().mapToDouble(s -> s.poi.getY()).toArray())};
+    }
+
+    /**
+     * 距离衰减尺度：各POI到区域中心距离的中位数，至少1公里
+     */
+    private static double distanceScale(List<Scored> scored, double[] centroid) {
+        double[] distances = scored.stream()
+                .filter(Scored::hasLocation)
+                .mapToDouble(s -> GeoUtils.haversine(centroid[1], centroid[0], s.poi.getY(), s.poi.getX()))
+                .toArray();
+        return Math.max(1000, median(distances));
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    private static final class Scored {
+        final WorkOrderApiDto.POILocationResponse poi;
+        final int index;
+        final String name;
+        final double textScore;
+        double score;
+
+        Scored(WorkOrderApiDto.POILocationResponse poi, int index, String name, double textScore) {
+            this.poi = poi;
+            this.index = index;
+            this.name = name;
+            this.textScore = textScore;
+        }
+
+        boolean hasLocation() {
+            return poi.getX() != null && poi.getY() != null;
+        }
+    }
+}
@@ -1,93 +1,170 @@
-package com.gdu.zeus.ops.workorder.services;
-
-import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-/**
- * POI服务 - 重构版
- * 支持通过配置切换真实API和Mock数据
- */
-@Service
-public class POIService {
-
-    private static final Logger logger = LoggerFactory.getLogger(POIService.class);
-
-    private final WorkOrderExternalService externalService;
-
-    /**
-     * 是否使用Mock数据
-     * 在application.yml中配置: workorder.mock-mode=true/false
-     */
-    @Value("${workorder.mock-mode:false}")
-    private boolean mockMode;
-
-    public POIService(WorkOrderExternalService externalService) {
-        this.externalService = externalService;
-    }
-
-    /**
-     * 根据区域获取POI位置列表
-     */
-    public List<WorkOrderApiDto.POILocationResponse> getLocationsByArea(String area) {
-        logger.info("查询区域POI: area={}, mockMode={}", area, mockMode);
-        if (mockMode) {
-            // Mock模式：返回模拟数据
-            return getMockLocations(area);
-        } else {
-            // 真实模式：调用外部API
-            try {
-                WorkOrderApiDto.POILocationRequest request = WorkOrderApiDto.POILocationRequest.builder()
-                        .name(area)
-                        .build();
-                List<WorkOrderApiDto.POILocationResponse> response =
-                        externalService.getPoiName(request);
-                if (response == null || response.isEmpty()) {
-                    return Collections.emptyList();
-                }
-                logger.info("从API获取POI位置: area={}, response={}", area, response.size(), response);
-                return response;
-            } catch (Exception e) {
-                logger.error("调用POI API失败， area={}", area, e);
-                return Collections.emptyList();
-            }
-        }
-    }
-
-    /**
-     * Mock数据生成
-     */
-    private List<WorkOrderApiDto.POILocationResponse> getMockLocations(String area) {
-        logger.debug("使用Mock数据: area={}", area);
-
-        List<String> locations = new ArrayList<>();
-
-        if (area.contains("普宙科技") || area.contains("普宙")) {
-            locations.add("黄龙山普宙科技");
-            locations.add("未来一路普宙科技");
-        } else if (area.contains("光谷广场") || area.contains("光谷")) {
-            locations.add("光谷广场A出口");
-            locations.add("光谷广场B出口");
-            locations.add("光谷广场中心区域");
-        } else {
-            // 默认返回一些通用位置
-            locations.add(area + "中心区域");
-            locations.add(area + "周边区域");
-        }
-
-        logger.debug("Mock POI位置: {}", locations);
-        List<WorkOrderApiDto.POILocationResponse> responses = new ArrayList<>();
-        for (String location : locations) {
-            responses.add(WorkOrderApiDto.POILocationResponse.builder()
-                    .name(location)
-                    .build());
-        }
-        return responses;
-    }
-}
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.StrUtil;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.PoiProperties;
+import com.gdu.zeus.ops.workorder.util.LocalCache;
+import com.gdu.zeus.ops.workorder.util.ServiceDegradedException;
+import com.gdu.zeus.ops.workorder.util.TextUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POI服务 - 重构版
+ * 支持通过配置切换真实API和Mock数据
+ * 真实模式下按归一化区域名称缓存查询结果，空结果短期缓存，调用失败不缓存
+ * 查询到POI的区域名称与配置的同义词记为已知区域，供对话前的本地要素提取识别区域
+ */
+@Service
+public class POIService {
+
+    private static final Logger logger = LoggerFactory.getLogger(POIService.class);
+
+    private final WorkOrderExternalService externalService;
+    private final PoiProperties poiProperties;
+    private final LocalCache<String, List<WorkOrderApiDto.POILocationResponse>> poiCache;
+    private final Map<String, String> synonyms = new HashMap<>();
+    private final Set<String> knownAreas = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 是否使用Mock数据
+     * 在application.yml中配置: workorder.mock-mode=true/false
+     */
+    @Value("${workorder.mock-mode:false}")
+    private boolean mockMode;
+
+    public POIService(WorkOrderExternalService externalService,
+                      PoiProperties poiProperties,
+                      MeterRegistry meterRegistry) {
+        this.externalService = externalService;
+        this.poiProperties = poiProperties;
+        this.poiCache = new LocalCache<>("poi",
+                poiProperties.getCacheSize(),
+                TimeUnit.SECONDS.toMillis(poiProperties.getCacheTtlSeconds()),
+                TimeUnit.SECONDS.toMillis(poiProperties.getNegativeTtlSeconds()),
+                List::isEmpty,
+                meterRegistry);
+        poiProperties.getSynonyms().forEach((alias, name) -> {
+            synonyms.put(TextUtils.normalize(alias), name);
+            knownAreas.add(alias);
+            knownAreas.add(name);
+        });
+    }
+
+    /**
+     * 已知区域名称(查询到过POI的区域及同义词)，数量不超过缓存大小
+     */
+    public Set<String> knownAreas() {
+        return Collections.unmodifiableSet(knownAreas);
+    }
+
+    /**
+     * 根据区域获取POI位置列表
+     */
+    public List<WorkOrderApiDto.POILocationResponse> getLocationsByArea(String area) {
+        logger.info("查询区域POI: area={}, mockMode={}", area, mockMode);
+        if (mockMode) {
+            // Mock模式：返回模拟数据
+            return getMockLocations(area);
+        } else {
+            // 真实模式：调用外部API
+            String name = canonicalArea(area);
+            if (name.isEmpty()) {
+                return Collections.emptyList();
+            }
+            String key = TextUtils.normalize(name);
+            List<WorkOrderApiDto.POILocationResponse> response;
+            try {
+                response = poiProperties.isCacheEnabled()
+                        ? poiCache.get(key, k -> fetchLocations(name))
+                        : fetchLocations(name);
+            } catch (ServiceDegradedException e) {
+                // 服务降级时使用已过期的缓存兜底
+                response = poiCache.getStale(key);
+                if (response == null) {
+                    throw e;
+                }
+                logger.warn("POI服务降级，使用过期缓存: area={}", name);
+            }
+            if (response != null && !response.isEmpty() && knownAreas.size() < poiProperties.getCacheSize()) {
+                knownAreas.add(name);
+            }
+            return response != null ? response : Collections.emptyList();
+        }
+    }
+
+    /**
+     * 调用外部API查询POI，失败时返回null(不缓存)
+     */
+    private List<WorkOrderApiDto.POILocationResponse> fetchLocations(String area) {
+        try {
+            WorkOrderApiDto.POILocationRequest request = WorkOrderApiDto.POILocationRequest.builder()
+                    .name(area)
+                    .build();
+            List<WorkOrderApiDto.POILocationResponse> response =
+                    externalService.getPoiName(request);
+            if (response == null) {
+                return null;
+            }
+            logger.info("从API获取POI位置: area={}, size={}", area, response.size());
+            return response;
+        } catch (ServiceDegradedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("调用POI API失败， area={}", area, e);
+            return null;
+        }
+    }
+
+    /**
+     * 标准区域名称：去除首尾空白、全角转半角，命中同义词时替换为标准名称
+     */
+    private String canonicalArea(String area) {
+        String name = StrUtil.trim(Convert.toDBC(StrUtil.nullToEmpty(area)));
+        return synonyms.getOrDefault(TextUtils.normalize(name), name);
+    }
+
+    /**
+     * Mock数据生成
+     */
+    private List<WorkOrderApiDto.POILocationResponse> getMockLocations(String area) {
+        logger.debug("使用Mock数据: area={}", area);
+
+        List<String> locations = new ArrayList<>();
+
+        if (area.contains("普宙科技") || area.contains("普宙")) {
+            locations.add("黄龙山普宙科技");
+            locations.add("未来一路普宙科技");
+        } else if (area.contains("光谷广场") || area.contains("光谷")) {
+            locations.add("光谷广场A出口");
+            locations.add("光谷广场B出口");
+            locations.add("光谷广场中心区域");
+        } else {
+            // 默认返回一些通用位置
+            locations.add(area + "中心区域");
+            locations.add(area + "周边区域");
+        }
+
+        logger.debug("Mock POI位置: {}", locations);
+        List<WorkOrderApiDto.POILocationResponse> responses = new ArrayList<>();
+        for (String location : locations) {
+            responses.add(WorkOrderApiDto.POILocationResponse.builder()
+                    .name(location)
+                    .build());
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,219 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.RouteProperties;
+import com.gdu.zeus.ops.workorder.filter.TokenContext;
+import com.gdu.zeus.ops.workorder.util.GeoUtils;
+import com.gdu.zeus.ops.workorder.util.RouteMatchMode;
+import com.gdu.zeus.ops.workorder.util.RouteStreamDecoder;
+import com.gdu.zeus.ops.workorder.util.ServiceDegradedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按geohash单元格缓存的航线查询
+ * <p>
+ * 每个单元格以单元格中心为圆心、按"请求半径 + 单元格半对角线"向远程获取航线超集，记录已获取的最大半径。
+ * 单元格内的查询只要 (查询点到中心距离 + 查询半径) 不超过已获取半径，即可在本地过滤得到结果。
+ * 航线与查询点的距离按 workorder.route.match-mode 计算({@link RouteMatchMode})，与航线接口的判定方式保持一致，
+ * 命中缓存与远程查询返回相同的航线。
+ * 超过新鲜期的单元格先返回旧数据再在后台刷新，超过最长可用期则同步刷新。
+ */
+@Slf4j
+@Component
+public class RouteCellCache {
+
+    private final WorkOrderExternalService externalService;
+    private final RouteProperties routeProperties;
+    private final LRUCache<String, CellEntry> cells;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final ExecutorService revalidateExecutor;
+
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+    private final Counter bypassCounter;
+
+    public RouteCellCache(WorkOrderExternalService externalService,
+                          RouteProperties routeProperties,
+                          MeterRegistry meterRegistry) {
+        this.externalService = externalService;
+        this.routeProperties = routeProperties;
+        this.cells = CacheUtil.newLRUCache(routeProperties.getCache().getMaxCells());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.revalidateExecutor = Executors.newFixedThreadPool(
+                Math.max(1, routeProperties.getCache().getRevalidateThreads()), r -> {
+                    Thread thread = new Thread(r, "route-cache-revalidate-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.hitCounter = requestCounter(meterRegistry, "hit");
+        this.staleCounter = requestCounter(meterRegistry, "stale");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+        this.bypassCounter = requestCounter(meterRegistry, "bypass");
+        Gauge.builder("workorder.cache.size", cells, LRUCache::size)
+                .tag("cache", "route_cell").register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("workorder.cache.requests")
+                .tag("cache", "route_cell").tag("result", result).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        revalidateExecutor.shutdownNow();
+    }
+
+    /**
+     * 查询半径内的航线，调用失败时返回null
+     */
+    public List<WorkOrderApiDto.RouteResponse> getRoutes(double lon, double lat, double radius) {
+        RouteProperties.Cache config = routeProperties.getCache();
+        String cell = GeoUtils.geohash(lat, lon, config.getGeohashPrecision());
+        long now = System.currentTimeMillis();
+        CellEntry entry = cells.get(cell, false);
+
+        if (entry != null && entry.covers(lat, lon, radius)
+                && now - entry.fetchedAt < TimeUnit.SECONDS.toMillis(config.getMaxStaleSeconds())) {
+            if (!entry.filterable) {
+                // 航线坐标无法解析，不能在本地过滤，直接远程查询
+                bypassCounter.increment();
+                return fetch(lon, lat, radius);
+            }
+            if (now - entry.fetchedAt < TimeUnit.SECONDS.toMillis(config.getTtlSeconds())) {
+                hitCounter.increment();
+            } else {
+                staleCounter.increment();
+                revalidate(cell, entry.fetchedRadius);
+            }
+            return entry.filter(lat, lon, radius, routeProperties.getMatchMode());
+        }
+
+        missCounter.increment();
+        double fetchRadius = Math.ceil(radius + GeoUtils.geohashHalfDiagonal(cell));
+        if (entry != null) {
+            fetchRadius = Math.max(fetchRadius, entry.fetchedRadius);
+        }
+        CellEntry loaded;
+        try {
+            loaded = load(cell, fetchRadius);
+        } catch (ServiceDegradedException e) {
+            // 服务降级时，超过最长可用期但仍覆盖查询范围的旧数据兜底
+            if (entry != null && entry.filterable && entry.covers(lat, lon, radius)) {
+                log.warn("航线服务降级，使用过期单元格缓存: cell={}", cell);
+                return entry.filter(lat, lon, radius, routeProperties.getMatchMode());
+            }
+            throw e;
+        }
+        if (loaded == null) {
+            return null;
+        }
+        return loaded.filterable
+                ? loaded.filter(lat, lon, radius, routeProperties.getMatchMode())
+                : fetch(lon, lat, radius);
+    }
+
+    /**
+     * 以单元格中心获取航线超集并写入缓存
+     */
+    private CellEntry load(String cell, double fetchRadius) {
+        double[] center = GeoUtils.geohashCenter(cell);
+        List<WorkOrderApiDto.RouteResponse> routes = fetch(center[1], center[0], fetchRadius);
+        if (routes == null) {
+            return null;
+        }
+        CellEntry entry = CellEntry.of(center, fetchRadius, routes, routeProperties.getCoordinateDimension());
+        cells.put(cell, entry);
+        log.debug("航线单元格已缓存: cell={}, radius={}m, routes={}", cell, fetchRadius, routes.size());
+        return entry;
+    }
+
+    /**
+     * 后台刷新单元格，同一单元格同时只刷新一次；透传当前请求的token
+     */
+    private void revalidate(String cell, double fetchRadius) {
+        if (!revalidating.add(cell)) {
+            return;
+        }
+        String token = TokenContext.getToken();
+        try {
+            revalidateExecutor.execute(() -> {
+                TokenContext.setToken(token);
+                try {
+                    load(cell, fetchRadius);
+                } catch (Exception e) {
+                    log.warn("航线单元格后台刷新失败: cell={}", cell, e);
+                } finally {
+                    TokenContext.clear();
+                    revalidating.remove(cell);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(cell);
+        }
+    }
+
+    private List<WorkOrderApiDto.RouteResponse> fetch(double lon, double lat, double radius) {
+        WorkOrderApiDto.RouteRequest request = WorkOrderApiDto.RouteRequest.builder()
+                .lon(lon)
+                .lat(lat)
+                .radius(radius)
+                .build();
+        // 单元格过滤需要坐标，航线文件、标签等字段不解析
+        return externalService.getRoutes(request, RouteStreamDecoder.GEOMETRY_FIELDS);
+    }
+
+    /**
+     * 单元格缓存条目
+     */
+    private record CellEntry(double centerLat, double centerLon, double fetchedRadius, long fetchedAt,
+                             List<RouteEntry> routes, boolean filterable) {
+
+        static CellEntry of(double[] center, double fetchedRadius,
+                            List<WorkOrderApiDto.RouteResponse> responses, int dimension) {
+            List<RouteEntry> routes = new ArrayList<>(responses.size());
+            boolean filterable = true;
+            for (WorkOrderApiDto.RouteResponse response : responses) {
+                List<double[]> points = GeoUtils.parseCoordinates(response.getCoordinates(), dimension);
+                filterable &= !points.isEmpty();
+                routes.add(new RouteEntry(response, points));
+            }
+            return new CellEntry(center[0], center[1], fetchedRadius, System.currentTimeMillis(),
+                    routes, filterable);
+        }
+
+        boolean covers(double lat, double lon, double radius) {
+            return GeoUtils.haversine(centerLat, centerLon, lat, lon) + radius <= fetchedRadius;
+        }
+
+        List<WorkOrderApiDto.RouteResponse> filter(double lat, double lon, double radius, RouteMatchMode mode) {
+            List<WorkOrderApiDto.RouteResponse> result = new ArrayList<>();
+            for (RouteEntry route : routes) {
+                if (mode.distance(lat, lon, route.points) <= radius) {
+                    result.add(route.response);
+                }
+            }
+            return result;
+        }
+    }
+
+    private record RouteEntry(WorkOrderApiDto.RouteResponse response, List<double[]> points) {
+    }
+}
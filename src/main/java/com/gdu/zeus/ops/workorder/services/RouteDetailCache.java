@@ -0,0 +1,77 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.StrUtil;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.RouteProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话内航线详情缓存
+ * <p>
+ * getAvailableRoutes 列出航线时已拿到完整的 RouteResponse，按 会话ID -> 航线ID 缓存，
+ * 创建工单时直接读取预计时长、长度、航点数，未命中时才远程查询航线详情。
+ */
+@Component
+public class RouteDetailCache {
+
+    private final LRUCache<String, Map<String, WorkOrderApiDto.RouteResponse>> cache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public RouteDetailCache(RouteProperties routeProperties, MeterRegistry meterRegistry) {
+        this.cache = CacheUtil.newLRUCache(routeProperties.getDetailCacheMaxConversations(),
+                TimeUnit.SECONDS.toMillis(routeProperties.getDetailCacheTtlSeconds()));
+        this.hitCounter = Counter.builder("workorder.cache.requests")
+                .tag("cache", "route_detail").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("workorder.cache.requests")
+                .tag("cache", "route_detail").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 缓存会话中列出的航线详情
+     */
+    public void put(String conversationId, List<WorkOrderApiDto.RouteResponse> routes) {
+        if (StrUtil.isBlank(conversationId) || routes == null || routes.isEmpty()) {
+            return;
+        }
+        Map<String, WorkOrderApiDto.RouteResponse> details = cache.get(conversationId);
+        if (details == null) {
+            details = new ConcurrentHashMap<>();
+            cache.put(conversationId, details);
+        }
+        for (WorkOrderApiDto.RouteResponse route : routes) {
+            if (route.getRouteId() != null) {
+                details.put(Convert.toStr(route.getRouteId()), route);
+            }
+        }
+    }
+
+    /**
+     * 读取会话中列出过的航线详情，未命中返回null
+     */
+    public WorkOrderApiDto.RouteResponse get(String conversationId, String routeId) {
+        if (StrUtil.isBlank(conversationId) || StrUtil.isBlank(routeId)) {
+            return null;
+        }
+        Map<String, WorkOrderApiDto.RouteResponse> details = cache.get(conversationId);
+        WorkOrderApiDto.RouteResponse route = details != null ? details.get(routeId.trim()) : null;
+        (route != null ? hitCounter : missCounter).increment();
+        return route;
+    }
+
+    public void remove(String conversationId) {
+        if (conversationId != null) {
+            cache.remove(conversationId);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.core.util.StrUtil;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.RouteProperties;
+import com.gdu.zeus.ops.workorder.util.GeoUtils;
+import com.gdu.zeus.ops.workorder.util.RouteMatchMode;
+import com.gdu.zeus.ops.workorder.util.RouteStreamDecoder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 航线本地空间索引
+ * <p>
+ * 定时按配置的中心点和同步半径拉取航线，按 match-mode 的参考点({@link RouteMatchMode#referencePoints})所在网格建立 网格 -> 航线 的索引，
+ * 按半径查询时只检查覆盖查询范围的网格，再按 workorder.route.match-mode 精确过滤。
+ * 保留接口返回的全部航线(不按状态过滤)，结果与远程接口一致；只有查询圆完全落在已同步的范围内
+ * ({@link #covers})才由本索引回答，范围外或存在坐标无法解析的航线时由调用方改走缓存或远程接口。
+ * 同步在独立线程中执行，不占用 @Scheduled 的共享线程。
+ * 远程接口没有增量查询，拉取后按 routeId + routeSnapshotId + createTime 与当前索引比对，
+ * 未变化的航线复用已解析的航点，只解析新增和变化的航线；新索引构建完成后整体替换，查询无锁。
+ * 任一中心点拉取失败时保留当前索引，避免误删航线。
+ * 拉取时流式解码并只解析空间过滤所需字段，航线数量增大时内存占用保持平稳。
+ */
+@Slf4j
+@Component
+public class RouteSpatialIndex {
+
+    private final WorkOrderExternalService externalService;
+    private final RouteProperties routeProperties;
+
+    private static final long INITIAL_DELAY_MS = 5000;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private ScheduledExecutorService syncExecutor;
+    private final AtomicLong version = new AtomicLong();
+
+    public RouteSpatialIndex(WorkOrderExternalService externalService,
+                             RouteProperties routeProperties,
+                             MeterRegistry meterRegistry) {
+        this.externalService = externalService;
+        this.routeProperties = routeProperties;
+        Gauge.builder("workorder.route.index.size", this, index -> index.snapshot.routes.size())
+                .description("本地航线索引中的航线数")
+                .register(meterRegistry);
+        Gauge.builder("workorder.route.index.version", version, AtomicLong::get)
+                .description("本地航线索引版本号")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 是否可用：已启用且至少完成一次同步
+     */
+    public boolean isReady() {
+        return routeProperties.getIndex().isEnabled() && version.get() > 0;
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public int size() {
+        return snapshot.routes.size();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!routeProperties.getIndex().isEnabled()) {
+            return;
+        }
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "route-index-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(this::scheduledSync, INITIAL_DELAY_MS,
+                Math.max(1000, routeProperties.getIndex().getSyncIntervalMs()), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 定时同步，异常不中断后续调度
+     */
+    private void scheduledSync() {
+        try {
+            sync();
+        } catch (Exception e) {
+            log.warn("航线索引同步异常，保留当前索引(版本{}): {}", version.get(), e.getMessage());
+        }
+    }
+
+    /**
+     * 查询圆是否完全落在某个已同步中心点的同步范围内，且索引中的航线均可在本地判定距离
+     */
+    public boolean covers(double lon, double lat, double radius) {
+        Snapshot current = snapshot;
+        if (current.unfilterable > 0) {
+            return false;
+        }
+        for (double[] center : current.centers) {
+            if (GeoUtils.haversine(center[1], center[0], lat, lon) + radius <= current.syncRadius) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 拉取航线并增量更新索引
+     */
+    public synchronized boolean sync() {
+        RouteProperties.Index config = routeProperties.getIndex();
+        if (config.getSyncCenters().isEmpty()) {
+            log.warn("未配置航线同步中心点(workorder.route.index.sync-centers)，跳过同步");
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        Map<Integer, WorkOrderApiDto.RouteResponse> fetched = new LinkedHashMap<>();
+        List<double[]> centers = new ArrayList<>();
+        for (String center : config.getSyncCenters()) {
+            List<String> parts = StrUtil.split(center, ',', true, true);
+            if (parts.size() != 2) {
+                log.warn("航线同步中心点格式错误，应为\"经度,纬度\": {}", center);
+                continue;
+            }
+            WorkOrderApiDto.RouteRequest request;
+            try {
+                request = WorkOrderApiDto.RouteRequest.builder()
+                        .lon(Double.parseDouble(parts.get(0)))
+                        .lat(Double.parseDouble(parts.get(1)))
+                        .radius(config.getSyncRadius())
+                        .build();
+            } catch (NumberFormatException e) {
+                log.warn("航线同步中心点格式错误，应为\"经度,纬度\": {}", center);
+                continue;
+            }
+            // 流式解码，不在内存中保留整个响应；航线文件、标签等字段不解析
+            Integer count = externalService.streamRoutes(request, RouteStreamDecoder.GEOMETRY_FIELDS, route -> {
+                if (route.getRouteId() != null) {
+                    fetched.put(route.getRouteId(), route);
+                }
+            });
+            if (count == null) {
+                log.warn("航线同步失败，保留当前索引(版本{}): center={}", version.get(), center);
+                return false;
+            }
+            centers.add(new double[]{request.getLon(), request.getLat()});
+        }
+
+        Snapshot current = snapshot;
+        Map<Integer, IndexedRoute> routes = new LinkedHashMap<>();
+        int added = 0;
+        int updated = 0;
+        int unfilterable = 0;
+        for (WorkOrderApiDto.RouteResponse route : fetched.values()) {
+            IndexedRoute existing = current.routes.get(route.getRouteId());
+            if (existing != null && existing.sameVersion(route)) {
+                routes.put(route.getRouteId(), existing);
+                continue;
+            }
+            List<double[]> points = GeoUtils.parseCoordinates(route.getCoordinates(), routeProperties.getCoordinateDimension());
+            if (points.isEmpty()) {
+                log.debug("航线坐标无法解析，不纳入索引: routeId={}", route.getRouteId());
+                unfilterable++;
+                continue;
+            }
+            routes.put(route.getRouteId(), new IndexedRoute(route, points));
+            if (existing == null) {
+                added++;
+            } else {
+                updated++;
+            }
+        }
+        int removed = 0;
+        for (Integer routeId : current.routes.keySet()) {
+            if (!routes.containsKey(routeId)) {
+                removed++;
+            }
+        }
+        if (unfilterable > 0) {
+            log.warn("{}条航线坐标无法解析，本地索引不回答查询，航线查询改走缓存或远程接口", unfilterable);
+        }
+        if (added == 0 && updated == 0 && removed == 0 && unfilterable == current.unfilterable
+                && sameCenters(centers, current.centers) && config.getSyncRadius() == current.syncRadius
+                && version.get() > 0) {
+            log.debug("航线索引无变化: 版本{}, 航线{}条", version.get(), routes.size());
+            return true;
+        }
+        this.snapshot = Snapshot.of(routes, config.getGridSizeDegrees(), routeProperties.getMatchMode(),
+                centers, config.getSyncRadius(), unfilterable);
+        long newVersion = version.incrementAndGet();
+        log.info("航线索引同步完成: 版本{}, 航线{}条(新增{}, 更新{}, 删除{}), 耗时{}ms",
+                newVersion, routes.size(), added, updated, removed, System.currentTimeMillis() - start);
+        return true;
+    }
+
+    /**
+     * 查询半径内的航线，距离判定同航线接口({@link RouteMatchMode})
+     */
+    public List<WorkOrderApiDto.RouteResponse> query(double lon, double lat, double radius) {
+        Snapshot current = snapshot;
+        double grid = current.gridSize;
+        if (current.routes.isEmpty() || grid <= 0) {
+            return Collections.emptyList();
+        }
+        // 半径换算为经纬度跨度，经度跨度随纬度增大
+        double latSpan = Math.toDegrees(radius / GeoUtils.EARTH_RADIUS);
+        double lonSpan = latSpan / Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        long minX = cellIndex(lon - lonSpan, grid);
+        long maxX = cellIndex(lon + lonSpan, grid);
+        long minY = cellIndex(lat - latSpan, grid);
+        long maxY = cellIndex(lat + latSpan, grid);
+
+        // 航线可能跨多个网格，按routeId去重
+        Map<Integer, IndexedRoute> candidates = new LinkedHashMap<>();
+        for (long x = minX; x <= maxX; x++) {
+            for (long y = minY; y <= maxY; y++) {
+                List<IndexedRoute> cellRoutes = current.grid.get(cellKey(x, y));
+                if (cellRoutes != null) {
+                    for (IndexedRoute route : cellRoutes) {
+                        candidates.putIfAbsent(route.response.getRouteId(), route);
+                    }
+                }
+            }
+        }
+        RouteMatchMode mode = routeProperties.getMatchMode();
+        List<WorkOrderApiDto.RouteResponse> result = new ArrayList<>();
+        for (IndexedRoute route : candidates.values()) {
+            if (mode.distance(lat, lon, route.points) <= radius) {
+                result.add(route.response);
+            }
+        }
+        return result;
+    }
+
+    private static boolean sameCenters(List<double[]> a, List<double[]> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!Arrays.equals(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long cellIndex(double degrees, double gridSize) {
+        return (long) Math.floor(degrees / gridSize);
+    }
+
+    private static long cellKey(long x, long y) {
+        return (x << 32) ^ (y & 0xffffffffL);
+    }
+
+    /**
+     * 已索引航线
+     */
+    private record IndexedRoute(WorkOrderApiDto.RouteResponse response, List<double[]> points) {
+
+        boolean sameVersion(WorkOrderApiDto.RouteResponse other) {
+            return Objects.equals(response.getRouteSnapshotId(), other.getRouteSnapshotId())
+                    && Objects.equals(response.getCreateTime(), other.getCreateTime())
+                    && Objects.equals(response.getCoordinates(), other.getCoordinates());
+        }
+    }
+
+    /**
+     * 不可变索引快照
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap(), 0,
+                Collections.emptyList(), 0, 0);
+
+        final Map<Integer, IndexedRoute> routes;
+        final Map<Long, List<IndexedRoute>> grid;
+        final double gridSize;
+        // 已同步的中心点(经度,纬度)与同步半径，决定索引可回答的范围
+        final List<double[]> centers;
+        final double syncRadius;
+        // 坐标无法解析、未纳入索引的航线数
+        final int unfilterable;
+
+        private Snapshot(Map<Integer, IndexedRoute> routes, Map<Long, List<IndexedRoute>> grid, double gridSize,
+                         List<double[]> centers, double syncRadius, int unfilterable) {
+            this.routes = routes;
+            this.grid = grid;
+            this.gridSize = gridSize;
+            this.centers = centers;
+            this.syncRadius = syncRadius;
+            this.unfilterable = unfilterable;
+        }
+
+        /**
+         * 航线登记在其参考点(按判定方式，如航点中心)所在的网格，查询半径覆盖的网格即包含全部候选
+         */
+        static Snapshot of(Map<Integer, IndexedRoute> routes, double gridSize, RouteMatchMode mode,
+                           List<double[]> centers, double syncRadius, int unfilterable) {
+            Map<Long, List<IndexedRoute>> grid = new HashMap<>();
+            for (IndexedRoute route : routes.values()) {
+                Set<Long> cells = new LinkedHashSet<>();
+                for (double[] point : mode.referencePoints(route.points)) {
+                    cells.add(cellKey(cellIndex(point[0], gridSize), cellIndex(point[1], gridSize)));
+                }
+                for (Long cell : cells) {
+                    grid.computeIfAbsent(cell, k -> new ArrayList<>()).add(route);
+                }
+            }
+            return new Snapshot(Collections.unmodifiableMap(routes), grid, gridSize,
+                    Collections.unmodifiableList(centers), syncRadius, unfilterable);
+        }
+    }
+}
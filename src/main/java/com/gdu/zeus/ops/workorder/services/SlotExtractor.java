@@ -0,0 +1,392 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.StrUtil;
+import com.gdu.zeus.ops.workorder.data.enums.ExecutionType;
+import com.gdu.zeus.ops.workorder.data.enums.OrderNature;
+import com.gdu.zeus.ops.workorder.data.enums.PatrolResult;
+import com.gdu.zeus.ops.workorder.util.TextUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 工单要素本地提取
+ * <p>
+ * 在调用模型前用确定性规则从用户输入中提取工单要素，作为结构化提示附加到用户消息，
+ * 信息完整的请求(如"明天下午3点 光谷广场 拍照")可减少模型用于追问和提取要素的轮次：
+ * 1. 日期：今天/明天/后天/大后天、周X/下周X、X月X日、yyyy-MM-dd
+ * 2. 时间：上午/下午/晚上 + X点(半/一刻/X分)、HH:mm，支持中文数字；晚上/夜里/半夜12点为次日0点
+ * 3. 周期：每天/每周X/每月X号/每隔X天/工作日，按自定义执行方式处理
+ * 4. 区域：{@link POIService} 中已知的区域名称，取最长匹配
+ * 5. 巡查结果、工单性质：{@link EnumSynonymResolver} 中的词条
+ * 只提取能确定的要素，不确定的留给模型。通过 workorder.slot-extraction.enabled 关闭后不附加提示，
+ * 可与 {@link OrderTurnTracker} 的每单对话轮次指标对比效果。
+ */
+@Component
+public class SlotExtractor {
+
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String NUM = "(\\d{1,2}|[零一二两三四五六七八九十]{1,3})";
+    private static final String PERIOD = "(凌晨|早上|早晨|上午|中午|下午|傍晚|晚上|夜里|夜间|半夜|深夜|晚)";
+    // 这些时段的12点指当天结束时的0点，即次日0点
+    private static final Set<String> MIDNIGHT_PERIODS = Set.of("晚上", "夜里", "夜间", "半夜", "深夜", "晚");
+
+    private static final Pattern ABSOLUTE_DATE = Pattern.compile("(\\d{4})\\s*[-/.年]\\s*(\\d{1,2})\\s*[-/.月]\\s*(\\d{1,2})\\s*[日号]?");
+    private static final Pattern MONTH_DAY = Pattern.compile(NUM + "\\s*月\\s*" + NUM + "\\s*[日号]");
+    private static final Pattern RELATIVE_DAY = Pattern.compile("大后天|后天|明天|明日|今天|今日");
+    private static final Pattern WEEKDAY = Pattern.compile("(下下|下个|下|这个|这|本)?(?:周|星期|礼拜)([一二三四五六日天1-7])");
+    private static final Pattern CLOCK_TIME = Pattern.compile(PERIOD + "?\\s*" + NUM + "\\s*[点时](?:\\s*(半|一刻|三刻|" + NUM + "\\s*分?))?");
+    private static final Pattern COLON_TIME = Pattern.compile(PERIOD + "?\\s*(\\d{1,2})\\s*[:：]\\s*(\\d{2})");
+    private static final Pattern RECURRING = Pattern.compile(
+            "每(?:天|日|周[一二三四五六日天1-7]?|星期[一二三四五六日天1-7]|个?月\\s*" + NUM + "\\s*[日号]|隔\\s*" + NUM + "\\s*天)|工作日");
+
+    private final POIService poiService;
+    private final EnumSynonymResolver enumSynonymResolver;
+    private final boolean enabled;
+
+    public SlotExtractor(POIService poiService,
+                         EnumSynonymResolver enumSynonymResolver,
+                         @Value("${workorder.slot-extraction.enabled:true}") boolean enabled) {
+        this.poiService = poiService;
+        this.enumSynonymResolver = enumSynonymResolver;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 是否在调用模型前附加提取结果
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 提取工单要素
+     *
+     * @param text 用户输入
+     * @param now  当前时间，用于解析相对日期
+     */
+    public Slots extract(String text, LocalDateTime now) {
+        if (StrUtil.isBlank(text)) {
+            return Slots.EMPTY;
+        }
+        String input = Convert.toDBC(text);
+        String area = findArea(input);
+        List<PatrolResult> patrolResults = enumSynonymResolver.findPatrolResults(input);
+        OrderNature orderNature = enumSynonymResolver.findOrderNature(input).orElse(null);
+
+        Matcher recurring = RECURRING.matcher(input);
+        if (recurring.find()) {
+            // 周期执行：规则原样交给自定义执行方式
+            String times = findTimes(input).stream()
+                    .map(clock -> clock.time().toString())
+                    .collect(Collectors.joining("、"));
+            String rule = times.isEmpty() ? recurring.group() : recurring.group() + " " + times;
+            return new Slots(area, ExecutionType.CUSTOM, List.of(), null, rule, patrolResults, orderNature);
+        }
+
+        List<LocalDate> dates = findDates(input, now.toLocalDate());
+        List<ClockTime> times = findTimes(input);
+        if (times.isEmpty()) {
+            // 只有日期没有时间时只提示日期
+            LocalDate date = dates.isEmpty() ? null : dates.get(0);
+            return new Slots(area, null, List.of(), date, null, patrolResults, orderNature);
+        }
+        if (dates.isEmpty()) {
+            // 只有时间：今天已过的时间视为明天，"今晚12点"总在今天之后
+            ClockTime first = times.get(0);
+            dates = List.of(first.nextDay() || now.toLocalTime().isBefore(first.time())
+                    ? now.toLocalDate() : now.toLocalDate().plusDays(1));
+        }
+        List<LocalDateTime> executionTimes = new ArrayList<>();
+        if (dates.size() == 1 || times.size() == 1) {
+            // "明天和后天下午3点"、"明天上午9点和下午3点"
+            for (LocalDate date : dates) {
+                for (ClockTime time : times) {
+                    executionTimes.add(time.on(date));
+                }
+            }
+        } else if (dates.size() == times.size()) {
+            // "明天下午3点、后天上午10点"按出现顺序配对
+            for (int i = 0; i < dates.size(); i++) {
+                executionTimes.add(times.get(i).on(dates.get(i)));
+            }
+        } else {
+            // 日期与时间无法对应，留给模型处理
+            return new Slots(area, null, List.of(), null, null, patrolResults, orderNature);
+        }
+        ExecutionType executionType = executionTimes.size() > 1 ? ExecutionType.MULTIPLE : ExecutionType.SINGLE;
+        return new Slots(area, executionType, executionTimes, null, null, patrolResults, orderNature);
+    }
+
+    /**
+     * 解析执行时间文本(如模型直接传入"明天下午3点")，无法解析时返回空列表
+     */
+    public List<LocalDateTime> parseExecutionTimes(String text, LocalDateTime now) {
+        if (StrUtil.isBlank(text)) {
+            return List.of();
+        }
+        // 多个时间逐段解析，每段须恰好一个时间
+        List<LocalDateTime> result = new ArrayList<>();
+        for (String segment : text.split("[,，、;；]")) {
+            if (StrUtil.isBlank(segment)) {
+                continue;
+            }
+            List<LocalDateTime> times = extract(segment, now).executionTimes();
+            if (times.size() != 1) {
+                return extract(text, now).executionTimes();
+            }
+            result.add(times.get(0));
+        }
+        return result;
+    }
+
+    private String findArea(String input) {
+        String normalized = TextUtils.normalize(input);
+        return poiService.knownAreas().stream()
+                .filter(area -> {
+                    String key = TextUtils.normalize(area);
+                    return key.length() >= 2 && normalized.contains(key);
+                })
+                .max(Comparator.comparingInt(String::length))
+                .orElse(null);
+    }
+
+    /**
+     * 查找日期，按出现顺序
+     */
+    private List<LocalDate> findDates(String input, LocalDate today) {
+        Map<Integer, LocalDate> found = new TreeMap<>();
+        Matcher m = ABSOLUTE_DATE.matcher(input);
+        while (m.find()) {
+            LocalDate date = safeDate(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3)));
+            if (date != null) {
+                found.put(m.start(), date);
+            }
+        }
+        m = MONTH_DAY.matcher(input);
+        while (m.find()) {
+            LocalDate date = safeDate(today.getYear(), number(m.group(1)), number(m.group(2)));
+            if (date != null) {
+                // 已过去的月日视为明年
+                found.put(m.start(), date.isBefore(today) ? date.plusYears(1) : date);
+            }
+        }
+        m = RELATIVE_DAY.matcher(input);
+        while (m.find()) {
+            int offset = switch (m.group()) {
+                case "明天", "明日" -> 1;
+                case "后天" -> 2;
+                case "大后天" -> 3;
+                default -> 0;
+            };
+            found.put(m.start(), today.plusDays(offset));
+        }
+        m = WEEKDAY.matcher(input);
+        while (m.find()) {
+            found.put(m.start(), weekday(today, m.group(1), m.group(2)));
+        }
+        return found.values().stream().distinct().toList();
+    }
+
+    /**
+     * 查找时间，按出现顺序；未写上下午的时间沿用前一个时间的时段
+     */
+    private List<ClockTime> findTimes(String input) {
+        Map<Integer, String[]> found = new TreeMap<>();
+        Matcher m = CLOCK_TIME.matcher(input);
+        while (m.find()) {
+            // "一点"常作"稍微"讲(如"详细一点")，没有时段和分钟时不视为时间
+            if (m.group(1) == null && "一".equals(m.group(2)) && m.group(3) == null) {
+                continue;
+            }
+            int minute = 0;
+            String fraction = m.group(3);
+            if ("半".equals(fraction)) {
+                minute = 30;
+            } else if ("一刻".equals(fraction)) {
+                minute = 15;
+            } else if ("三刻".equals(fraction)) {
+                minute = 45;
+            } else if (m.group(4) != null) {
+                minute = number(m.group(4));
+            }
+            found.put(m.start(), new String[]{m.group(1), String.valueOf(number(m.group(2))), String.valueOf(minute)});
+        }
+        m = COLON_TIME.matcher(input);
+        while (m.find()) {
+            found.put(m.start(), new String[]{m.group(1), m.group(2), m.group(3)});
+        }
+        List<ClockTime> times = new ArrayList<>();
+        String period = null;
+        for (String[] parts : found.values()) {
+            period = parts[0] != null ? parts[0] : period;
+            int hour = Integer.parseInt(parts[1]);
+            int minute = Integer.parseInt(parts[2]);
+            boolean nextDay = hour == 12 && period != null && MIDNIGHT_PERIODS.contains(period);
+            hour = nextDay ? 0 : adjustHour(period, hour);
+            if (hour >= 0 && hour < 24 && minute >= 0 && minute < 60) {
+                ClockTime time = new ClockTime(LocalTime.of(hour, minute), nextDay);
+                if (!times.contains(time)) {
+                    times.add(time);
+                }
+            }
+        }
+        return times;
+    }
+
+    private static int adjustHour(String period, int hour) {
+        if (period == null || hour >= 12) {
+            return hour;
+        }
+        return switch (period) {
+            case "下午", "傍晚", "晚上", "夜里", "夜间", "晚" -> hour + 12;
+            // 中午1点为13点，中午11点仍为11点
+            case "中午" -> hour < 11 ? hour + 12 : hour;
+            default -> hour;
+        };
+    }
+
+    private static LocalDate weekday(LocalDate today, String prefix, String day) {
+        int dayOfWeek = switch (day) {
+            case "日", "天" -> 7;
+            default -> number(day);
+        };
+        LocalDate monday = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate date = monday.plusDays(dayOfWeek - 1L);
+        if (prefix == null) {
+            // "周三"指最近的周三(含今天)
+            return date.isBefore(today) ? date.plusWeeks(1) : date;
+        }
+        return switch (prefix) {
+            case "下下" -> date.plusWeeks(2);
+            case "下", "下个" -> date.plusWeeks(1);
+            default -> date;
+        };
+    }
+
+    private static LocalDate safeDate(int year, int month, int day) {
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 阿拉伯数字或不超过两位的中文数字
+     */
+    static int number(String text) {
+        if (text.chars().allMatch(Character::isDigit)) {
+            return Integer.parseInt(text);
+        }
+        int index = text.indexOf('十');
+        if (index < 0) {
+            return digit(text.charAt(0));
+        }
+        int tens = index == 0 ? 1 : digit(text.charAt(index - 1));
+        int ones = index == text.length() - 1 ? 0 : digit(text.charAt(index + 1));
+        return tens * 10 + ones;
+    }
+
+    private static int digit(char c) {
+        return switch (c) {
+            case '一' -> 1;
+            case '二', '两' -> 2;
+            case '三' -> 3;
+            case '四' -> 4;
+            case '五' -> 5;
+            case '六' -> 6;
+            case '七' -> 7;
+            case '八' -> 8;
+            case '九' -> 9;
+            default -> Character.isDigit(c) ? c - '0' : 0;
+        };
+    }
+
+    /**
+     * 时刻，nextDay 表示落在所说日期的次日(如"明天晚上12点"为后天0点)
+     */
+    private record ClockTime(LocalTime time, boolean nextDay) {
+
+        LocalDateTime on(LocalDate date) {
+            LocalDateTime dateTime = LocalDateTime.of(date, time);
+            return nextDay ? dateTime.plusDays(1) : dateTime;
+        }
+    }
+
+    /**
+     * 提取结果，未提取到的要素为null或空列表
+     *
+     * @param area           巡查区域
+     * @param executionType  执行方式
+     * @param executionTimes 执行时间，单次或多个时有值
+     * @param date           只提到日期未提到时间时的日期
+     * @param customRule     周期执行规则
+     * @param patrolResults  巡查结果
+     * @param orderNature    工单性质
+     */
+    public record Slots(String area,
+                        ExecutionType executionType,
+                        List<LocalDateTime> executionTimes,
+                        LocalDate date,
+                        String customRule,
+                        List<PatrolResult> patrolResults,
+                        OrderNature orderNature) {
+
+        static final Slots EMPTY = new Slots(null, null, List.of(), null, null, List.of(), null);
+
+        public boolean isEmpty() {
+            return area == null && executionType == null && date == null
+                    && patrolResults.isEmpty() && orderNature == null;
+        }
+
+        /**
+         * 转为附加在用户消息后的提示文本
+         */
+        public String toHint() {
+            StringBuilder hint = new StringBuilder();
+            if (area != null) {
+                hint.append("- 巡查区域: ").append(area).append('\n');
+            }
+            if (executionType != null) {
+                hint.append("- 执行方式: ").append(executionType == ExecutionType.MULTIPLE ? "多个" : executionType.getDescription()).append('\n');
+            }
+            if (!executionTimes.isEmpty()) {
+                hint.append("- 执行时间: ").append(executionTimes.stream()
+                        .map(DATETIME_FORMATTER::format)
+                        .collect(Collectors.joining(","))).append('\n');
+            }
+            if (date != null) {
+                hint.append("- 执行日期: ").append(date).append("(时间未提供)\n");
+            }
+            if (customRule != null) {
+                hint.append("- 自定义执行规则: ").append(customRule).append('\n');
+            }
+            if (!patrolResults.isEmpty()) {
+                hint.append("- 巡查结果: ").append(patrolResults.stream()
+                        .map(PatrolResult::getDescription)
+                        .collect(Collectors.joining(","))).append('\n');
+            }
+            if (orderNature != null) {
+                hint.append("- 工单性质: ").append(orderNature.getDescription()).append('\n');
+            }
+            return hint.toString();
+        }
+    }
+}
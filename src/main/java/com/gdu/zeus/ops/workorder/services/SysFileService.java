@@ -1,36 +1,36 @@
-package com.gdu.zeus.ops.workorder.services;
-
-import com.gdu.common.core.util.R;
-import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.web.multipart.MultipartFile;
-
-/**
- * 文件管理
- *
- * @author Luckly
- * @date 2019-06-18 17:18:42
- */
-public interface SysFileService {
-
-
-
-    /**
-     * 上传文件至GSP平台
-     *
-     * @param file    文件
-     * @param bizType 业务类型
-     * @return GspFIleInfo
-     */
-    R uploadFile(MultipartFile file, String bizType);
-
-    /**
-     * 读取文件
-     *
-     * @param bucket   桶名称
-     * @param fileName 文件名称
-     * @param response 输出流
-     */
-    void getFile(String bucket, String fileName, HttpServletResponse response);
-
-
-}
+package com.gdu.zeus.ops.workorder.services;
+
+import com.gdu.common.core.util.R;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 文件管理
+ *
+ * @author Luckly
+ * @date 2019-06-18 17:18:42
+ */
+public interface SysFileService {
+
+
+
+    /**
+     * 上传文件至GSP平台
+     *
+     * @param file    文件
+     * @param bizType 业务类型
+     * @return GspFIleInfo
+     */
+    R uploadFile(MultipartFile file, String bizType);
+
+    /**
+     * 读取文件
+     *
+     * @param bucket   桶名称
+     * @param fileName 文件名称
+     * @param response 输出流
+     */
+    void getFile(String bucket, String fileName, HttpServletResponse response);
+
+
+}
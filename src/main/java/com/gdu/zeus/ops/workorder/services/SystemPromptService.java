@@ -1,198 +1,253 @@
-package com.gdu.zeus.ops.workorder.services;
-
-import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.util.StreamUtils;
-
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
-/**
- * 系统提示词服务
- * 负责加载和动态生成系统提示词
- */
-@Slf4j
-//@Service
-public class SystemPromptService {
-
-    private final WorkOrderExternalService workOrderExternalService;
-    private final String externalPromptPath;
-    private final Resource classpathPromptResource;
-
-    // 缓存生成的提示词
-    private volatile String cachedSystemPrompt;
-    private volatile long lastUpdateTime = 0;
-    private static final long CACHE_DURATION = 3600000; // 1小时缓存
-
-    public SystemPromptService(
-            WorkOrderExternalService workOrderExternalService,
-            @Value("${system-prompt.file-path:}") String externalPromptPath,
-            @Value("classpath:system-prompt.txt") Resource classpathPromptResource) {
-        this.workOrderExternalService = workOrderExternalService;
-        this.externalPromptPath = externalPromptPath;
-        this.classpathPromptResource = classpathPromptResource;
-    }
-
-    /**
-     * 获取系统提示词（带缓存）
-     */
-    public String getSystemPrompt() {
-        long currentTime = System.currentTimeMillis();
-        // 如果缓存有效，直接返回
-        if (cachedSystemPrompt != null && (currentTime - lastUpdateTime) < CACHE_DURATION) {
-            log.info("使用缓存的系统提示词");
-            return cachedSystemPrompt;
-        }
-        // 重新生成提示词
-        synchronized (this) {
-            // 双重检查
-            if (cachedSystemPrompt != null && (currentTime - lastUpdateTime) < CACHE_DURATION) {
-                return cachedSystemPrompt;
-            }
-            log.info("=== 开始生成系统提示词 ===");
-            cachedSystemPrompt = generateSystemPrompt();
-            lastUpdateTime = currentTime;
-            log.info("=== 系统提示词生成完成 ===");
-
-            return cachedSystemPrompt;
-        }
-    }
-
-    /**
-     * 强制刷新系统提示词
-     */
-    /*public String refreshSystemPrompt() {
-        log.info("强制刷新系统提示词");
-        synchronized (this) {
-            cachedSystemPrompt = generateSystemPrompt();
-            lastUpdateTime = System.currentTimeMillis();
-            return cachedSystemPrompt;
-        }
-    }*/
-    /**
-     * 生成系统提示词
-     */
-    private String generateSystemPrompt() {
-        try {
-            // 1. 加载提示词模板
-            String template = loadPromptTemplate();
-            // 2. 获取动态数据
-            Map<String, String> placeholders = fetchDynamicData();
-            // 3. 替换占位符
-            String systemPrompt = replacePlaceholders(template, placeholders);
-
-            log.info("系统提示词长度: {} 字符", systemPrompt.length());
-            log.info("系统提示词内容:\n{}", systemPrompt);
-
-            return systemPrompt;
-
-        } catch (Exception e) {
-            log.error("生成系统提示词失败", e);
-            // 返回默认模板（不包含动态数据）
-            return loadPromptTemplateWithoutDynamicData();
-        }
-    }
-
-    /**
-     * 加载提示词模板
-     */
-    private String loadPromptTemplate() {
-        try {
-            // 优先使用外部文件
-            if (externalPromptPath != null && !externalPromptPath.trim().isEmpty()) {
-                Path path = Paths.get(externalPromptPath);
-                if (Files.exists(path)) {
-                    log.info("从外部文件加载提示词模板: {}", externalPromptPath);
-                    return Files.readString(path, StandardCharsets.UTF_8);
-                } else {
-                    log.warn("外部文件不存在: {}, 降级使用classpath资源", externalPromptPath);
-                }
-            }
-
-            // 使用classpath资源
-            log.info("从classpath加载提示词模板");
-            return StreamUtils.copyToString(
-                    classpathPromptResource.getInputStream(),
-                    StandardCharsets.UTF_8);
-
-        } catch (IOException e) {
-            throw new RuntimeException("加载提示词模板失败", e);
-        }
-    }
-
-    /**
-     * 获取动态数据
-     */
-    private Map<String, String> fetchDynamicData() {
-        Map<String, String> placeholders = new HashMap<>();
-        try {
-            // 1. 获取工单性质列表
-            List<WorkOrderApiDto.OrderNatureResponse> natures =
-                    workOrderExternalService.getNatureList();
-
-            if (natures != null && !natures.isEmpty()) {
-                String orderNatures = natures.stream()
-                        .map(WorkOrderApiDto.OrderNatureResponse::getDescription)
-                        .collect(Collectors.joining("、"));
-                placeholders.put("ORDER_NATURES", orderNatures);
-                log.info("成功获取工单性质列表: {}", orderNatures);
-            } else {
-                // 使用默认值
-                String defaultNatures = "野外建设巡查、空中巡查、护林防御、探测大气、摄影、空中摄影、测绘、其他";
-                placeholders.put("ORDER_NATURES", defaultNatures);
-                log.warn("未获取到工单性质列表，使用默认值");
-            }
-            // 2. 可以在这里添加其他动态数据的获取
-            // 例如：巡查结果类型、执行方式等
-
-        } catch (Exception e) {
-            log.error("获取动态数据失败，使用默认值", e);
-            // 使用默认值
-            String defaultNatures = "野外建设巡查、空中巡查、护林防御、探测大气、摄影、空中摄影、测绘、其他";
-            placeholders.put("ORDER_NATURES", defaultNatures);
-        }
-
-        return placeholders;
-    }
-
-    /**
-     * 替换占位符
-     */
-    private String replacePlaceholders(String template, Map<String, String> placeholders) {
-        String result = template;
-
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            String placeholder = "{{" + entry.getKey() + "}}";
-            String value = entry.getValue();
-            result = result.replace(placeholder, value);
-        }
-
-        return result;
-    }
-
-    /**
-     * 加载不包含动态数据的模板（降级方案）
-     */
-    private String loadPromptTemplateWithoutDynamicData() {
-        try {
-            String template = loadPromptTemplate();
-            // 使用默认值替换所有占位符
-            Map<String, String> defaults = new HashMap<>();
-            defaults.put("ORDER_NATURES", "野外建设巡查、空中巡查、护林防御、探测大气、摄影、空中摄影、测绘、其他");
-            return replacePlaceholders(template, defaults);
-        } catch (Exception e) {
-            log.error("加载降级模板失败", e);
-            // 返回最基本的提示词
-            return "你是无人机运维服务平台的智能助手，请协助用户创建巡查工单。";
-        }
-    }
-}
+package com.gdu.zeus.ops.workorder.services;
+
+import cn.hutool.crypto.SecureUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 系统提示词服务
+ * 负责加载和动态生成系统提示词
+ * <p>
+ * 模板启动时加载一次，动态占位符(如 {{ORDER_NATURES}})取自 {@link DictionaryCache} 的当前快照，
+ * 按字典版本缓存生成结果；获取提示词不加锁、不调用远程接口，不会阻塞对话。
+ * <p>
+ * 外部模板文件变更后由 {@link SystemPromptWatcher} 调用 {@link #reload()}，校验通过后替换模板，
+ * 校验失败保留当前模板。每次请求取一次提示词，已开始的对话流不受替换影响。
+ */
+@Slf4j
+@Service
+public class SystemPromptService {
+
+    private static final String DEFAULT_NATURES = "野外建设巡查、空中巡查、护林防御、探测大气、摄影、空中摄影、测绘、其他";
+
+    private final DictionaryCache dictionaryCache;
+    private final EnumSynonymResolver enumSynonymResolver;
+    private final String externalPromptPath;
+    private final Resource classpathPromptResource;
+
+    private final Counter reloadSuccess;
+    private final Counter reloadRejected;
+
+    private volatile String template;
+    private volatile String templateHash;
+    private volatile long loadedAt;
+    // 缓存生成的提示词，与生成时的字典版本一起替换
+    private volatile Rendered rendered;
+
+    public SystemPromptService(
+            DictionaryCache dictionaryCache,
+            EnumSynonymResolver enumSynonymResolver,
+            @Value("${system-prompt.file-path:}") String externalPromptPath,
+            @Value("classpath:system-prompt.txt") Resource classpathPromptResource,
+            MeterRegistry meterRegistry) {
+        this.dictionaryCache = dictionaryCache;
+        this.enumSynonymResolver = enumSynonymResolver;
+        this.externalPromptPath = externalPromptPath;
+        this.classpathPromptResource = classpathPromptResource;
+        swapTemplate(loadTemplateOrDefault());
+        this.reloadSuccess = Counter.builder("workorder.prompt.reload")
+                .tag("result", "success").register(meterRegistry);
+        this.reloadRejected = Counter.builder("workorder.prompt.reload")
+                .tag("result", "rejected").register(meterRegistry);
+        // 哈希前8位转为数值，便于对比各实例使用的模板是否一致
+        Gauge.builder("workorder.prompt.hash", this, service -> Long.parseLong(service.templateHash.substring(0, 8), 16))
+                .description("当前提示词模板SHA-256前8位")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 重新加载模板，内容未变化时不替换
+     *
+     * @return 模板是否被替换
+     */
+    public boolean reload() {
+        String loaded;
+        try {
+            loaded = loadPromptTemplate();
+        } catch (Exception e) {
+            reloadRejected.increment();
+            log.warn("重新加载提示词模板失败，继续使用当前模板({}): {}", templateHash, e.getMessage());
+            return false;
+        }
+        if (hash(loaded).equals(templateHash)) {
+            log.debug("提示词模板内容未变化");
+            return false;
+        }
+        String error = validate(loaded);
+        if (error != null) {
+            reloadRejected.increment();
+            log.warn("提示词模板校验失败，继续使用当前模板({}): {}", templateHash, error);
+            return false;
+        }
+        String previousHash = templateHash;
+        swapTemplate(loaded);
+        reloadSuccess.increment();
+        log.info("提示词模板已重新加载: {} -> {}, 长度{}字符", previousHash, templateHash, loaded.length());
+        return true;
+    }
+
+    /**
+     * 获取系统提示词，字典更新后自动重新生成
+     */
+    public String getSystemPrompt() {
+        DictionaryCache.Snapshot snapshot = dictionaryCache.snapshot();
+        String currentTemplate = template;
+        Rendered current = rendered;
+        if (current != null && current.version == snapshot.version() && current.template == currentTemplate) {
+            return current.prompt;
+        }
+        // 并发时可能重复生成，结果相同，无需加锁
+        String prompt = replacePlaceholders(currentTemplate, placeholders(snapshot));
+        rendered = new Rendered(snapshot.version(), currentTemplate, prompt);
+        log.info("系统提示词已生成: 字典版本{}, 长度{}字符", snapshot.version(), prompt.length());
+        return prompt;
+    }
+
+    /**
+     * 获取提示词模板(占位符未替换)
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    public String getTemplateHash() {
+        return templateHash;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * 校验模板：非空，替换占位符后可按请求参数渲染(模板语法正确且不含未知变量)
+     *
+     * @return 错误信息，校验通过返回null
+     */
+    private String validate(String candidate) {
+        if (candidate == null || candidate.isBlank()) {
+            return "模板为空";
+        }
+        try {
+            String prompt = replacePlaceholders(candidate, placeholders(dictionaryCache.snapshot()));
+            PromptTemplate.builder().template(prompt).build()
+                    .render(Map.<String, Object>of("current_date", LocalDate.now().toString()));
+            return null;
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+
+    private void swapTemplate(String newTemplate) {
+        // 先更新哈希再替换模板，读取方总是拿到完整的模板
+        this.templateHash = hash(newTemplate);
+        this.loadedAt = System.currentTimeMillis();
+        this.template = newTemplate;
+    }
+
+    private static String hash(String text) {
+        return SecureUtil.sha256(text).substring(0, 16);
+    }
+
+    /**
+     * 动态数据：字典未加载成功时使用默认值
+     */
+    private Map<String, String> placeholders(DictionaryCache.Snapshot snapshot) {
+        Map<String, String> placeholders = new HashMap<>();
+        List<String> natures = orderNatures(snapshot);
+        placeholders.put("ORDER_NATURES", natures.isEmpty() ? DEFAULT_NATURES : String.join("、", natures));
+        // 可以在这里添加其他动态数据，例如：巡查结果类型、执行方式等
+        return placeholders;
+    }
+
+    /**
+     * 提供给模型的工单性质：只保留能对应到工单性质枚举、且按该枚举映射回同一字典ID的名称，
+     * 否则模型选中后会被工具当作"其他"提交
+     */
+    private List<String> orderNatures(DictionaryCache.Snapshot snapshot) {
+        return snapshot.natureLabels().stream()
+                .filter(label -> {
+                    Optional<String> id = snapshot.natureId(label);
+                    return id.isPresent() && enumSynonymResolver.knownOrderNature(label)
+                            .flatMap(nature -> snapshot.natureId(nature.getDescription()))
+                            .equals(id);
+                })
+                .toList();
+    }
+
+    /**
+     * 加载提示词模板
+     */
+    private String loadPromptTemplate() {
+        try {
+            // 优先使用外部文件
+            if (externalPromptPath != null && !externalPromptPath.trim().isEmpty()) {
+                Path path = Paths.get(externalPromptPath);
+                if (Files.exists(path)) {
+                    log.info("从外部文件加载提示词模板: {}", externalPromptPath);
+                    return Files.readString(path, StandardCharsets.UTF_8);
+                } else {
+                    log.warn("外部文件不存在: {}, 降级使用classpath资源", externalPromptPath);
+                }
+            }
+
+            // 使用classpath资源
+            log.info("从classpath加载提示词模板");
+            try (var inputStream = classpathPromptResource.getInputStream()) {
+                return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+            }
+
+        } catch (IOException e) {
+            throw new RuntimeException("加载提示词模板失败", e);
+        }
+    }
+
+    /**
+     * 加载模板，失败时返回最基本的提示词(降级方案)
+     */
+    private String loadTemplateOrDefault() {
+        try {
+            String loaded = loadPromptTemplate();
+            log.info("系统提示词模板加载成功，长度: {} 字符", loaded.length());
+            return loaded;
+        } catch (Exception e) {
+            log.error("加载系统提示词模板失败", e);
+            return "你是无人机运维服务平台的智能助手，请协助用户创建巡查工单。";
+        }
+    }
+
+    /**
+     * 替换占位符
+     */
+    private String replacePlaceholders(String template, Map<String, String> placeholders) {
+        String result = template;
+
+        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+            String placeholder = "{{" + entry.getKey() + "}}";
+            String value = entry.getValue();
+            result = result.replace(placeholder, value);
+        }
+
+        return result;
+    }
+
+    private record Rendered(long version, String template, String prompt) {
+    }
+}
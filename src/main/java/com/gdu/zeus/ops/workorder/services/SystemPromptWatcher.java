@@ -0,0 +1,137 @@
+package com.gdu.zeus.ops.workorder.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 外部系统提示词文件监听
+ * <p>
+ * 监听 system-prompt.file-path 所在目录而非文件本身：Kubernetes ConfigMap 挂载的文件是指向 ..data 的符号链接，
+ * 更新时替换的是 ..data 链接，文件本身不会产生事件。目录有任何变化都重新读取文件，
+ * 由 {@link SystemPromptService#reload()} 比较内容哈希并校验，内容未变化或校验失败时不替换。
+ * <p>
+ * 当前模板哈希、加载时间通过 /actuator/info 的 systemPrompt 节点暴露。
+ */
+@Slf4j
+@Component
+public class SystemPromptWatcher implements InfoContributor {
+
+    // 一次更新通常产生多个事件，合并后只重新加载一次
+    private static final long DEBOUNCE_MS = 500;
+
+    private final SystemPromptService systemPromptService;
+    private final String externalPromptPath;
+    private final boolean watchEnabled;
+
+    private volatile WatchService watchService;
+    private Thread watcherThread;
+
+    public SystemPromptWatcher(SystemPromptService systemPromptService,
+                               @Value("${system-prompt.file-path:}") String externalPromptPath,
+                               @Value("${system-prompt.watch-enabled:true}") boolean watchEnabled) {
+        this.systemPromptService = systemPromptService;
+        this.externalPromptPath = externalPromptPath;
+        this.watchEnabled = watchEnabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!watchEnabled || externalPromptPath == null || externalPromptPath.trim().isEmpty()) {
+            return;
+        }
+        Path directory = Paths.get(externalPromptPath).toAbsolutePath().getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            log.warn("提示词文件目录不存在，不监听文件变更: {}", externalPromptPath);
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            log.warn("注册提示词文件监听失败，模板变更需重启生效: {}", e.getMessage());
+            return;
+        }
+        watcherThread = new Thread(this::watchLoop, "system-prompt-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        log.info("开始监听提示词文件变更: {}", directory);
+    }
+
+    @PreDestroy
+    public void stop() {
+        WatchService service = watchService;
+        if (service == null) {
+            return;
+        }
+        try {
+            service.close();
+        } catch (IOException e) {
+            log.debug("关闭提示词文件监听失败", e);
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    private void watchLoop() {
+        WatchService service = watchService;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                WatchKey key = service.take();
+                drain(key);
+                // 合并短时间内的后续事件
+                WatchKey next;
+                while ((next = service.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(next);
+                }
+                systemPromptService.reload();
+                if (!key.isValid()) {
+                    log.warn("提示词文件目录已不可监听，停止监听");
+                    return;
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            } catch (Exception e) {
+                log.warn("处理提示词文件变更失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void drain(WatchKey key) {
+        key.pollEvents();
+        key.reset();
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> detail = new LinkedHashMap<>();
+        detail.put("hash", systemPromptService.getTemplateHash());
+        detail.put("loadedAt", Instant.ofEpochMilli(systemPromptService.getLoadedAt()).toString());
+        detail.put("source", externalPromptPath == null || externalPromptPath.trim().isEmpty()
+                ? "classpath:system-prompt.txt" : externalPromptPath);
+        detail.put("watching", watchService != null);
+        builder.withDetail("systemPrompt", detail);
+    }
+}
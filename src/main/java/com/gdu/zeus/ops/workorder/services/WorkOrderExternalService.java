@@ -1,53 +1,81 @@
-package com.gdu.zeus.ops.workorder.services;
-
-import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
-
-import java.util.List;
-
-/**
- * 工单系统外部API服务接口
- * 定义与外部工单系统交互的所有方法
- */
-public interface WorkOrderExternalService {
-    
-    /**
-     * 查询所有可用的工单性质
-     * 
-     * @return 工单性质列表
-     */
-    List<WorkOrderApiDto.OrderNatureResponse> getNatureList();
-
-    /**
-     * 根据地址名称POI位置列表
-     * @param request
-     * @return
-     */
-    List<WorkOrderApiDto.POILocationResponse> getPoiName(
-            WorkOrderApiDto.POILocationRequest request);
-
-    /**
-     * 获取已有航线
-     *
-     * @param request 航线查询请求
-     * @return 航线列表
-     */
-    List<WorkOrderApiDto.RouteResponse> getRoutes(
-            WorkOrderApiDto.RouteRequest request);
-
-    /**
-     * 查询航线基本信息
-     */
-    WorkOrderApiDto.RouteResponse getRouteInfo(
-            WorkOrderApiDto.RouteInfoRequest request);
-
-
-
-    /**
-     * 创建工单
-     * @param request
-     * @return
-     */
-    Long createWorkOrder(
-            WorkOrderApiDto.CreateWorkOrderRequest request);
-
+package com.gdu.zeus.ops.workorder.services;
+
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 工单系统外部API服务接口
+ * 定义与外部工单系统交互的所有方法
+ * <p>
+ * 地点(POI)、航线、航线详情是所有用户共用的参考数据，接口不按调用方过滤，调用方Token只用于认证。
+ * 因此这些读请求的结果在调用方之间共享，不按Token区分：并发请求合并(SingleFlight)、地点缓存(POIService)、
+ * 航线单元格缓存(RouteCellCache)和航线本地空间索引(RouteSpatialIndex，以服务静态Token同步)都只以查询参数为键。
+ * 若外部接口改为按用户返回数据，这四层须同时改为按调用方身份隔离。
+ */
+public interface WorkOrderExternalService {
+    
+    /**
+     * 查询所有可用的工单性质
+     * 
+     * @return 工单性质列表
+     */
+    List<WorkOrderApiDto.OrderNatureResponse> getNatureList();
+
+    /**
+     * 根据地址名称POI位置列表
+     * @param request
+     * @return
+     */
+    List<WorkOrderApiDto.POILocationResponse> getPoiName(
+            WorkOrderApiDto.POILocationRequest request);
+
+    /**
+     * 获取已有航线
+     *
+     * @param request 航线查询请求
+     * @return 航线列表
+     */
+    List<WorkOrderApiDto.RouteResponse> getRoutes(
+            WorkOrderApiDto.RouteRequest request);
+
+    /**
+     * 获取已有航线，只解析指定字段
+     *
+     * @param request 航线查询请求
+     * @param fields  需要的字段，见 {@link com.gdu.zeus.ops.workorder.util.RouteStreamDecoder}
+     * @return 航线列表
+     */
+    List<WorkOrderApiDto.RouteResponse> getRoutes(
+            WorkOrderApiDto.RouteRequest request, Set<String> fields);
+
+    /**
+     * 流式获取已有航线，每解析出一条航线即回调，不在内存中保留完整列表
+     *
+     * @param request  航线查询请求
+     * @param fields   需要的字段
+     * @param consumer 航线消费者
+     * @return 航线数量，失败时返回null(此前已回调的航线应丢弃)
+     */
+    Integer streamRoutes(WorkOrderApiDto.RouteRequest request, Set<String> fields,
+                         Consumer<WorkOrderApiDto.RouteResponse> consumer);
+
+    /**
+     * 查询航线基本信息
+     */
+    WorkOrderApiDto.RouteResponse getRouteInfo(
+            WorkOrderApiDto.RouteInfoRequest request);
+
+
+
+    /**
+     * 创建工单
+     * @param request
+     * @return
+     */
+    Long createWorkOrder(
+            WorkOrderApiDto.CreateWorkOrderRequest request);
+
 }
\ No newline at end of file
@@ -1,257 +1,257 @@
-package com.gdu.zeus.ops.workorder.services;
-
-import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
-import com.gdu.zeus.ops.workorder.services.impl.WorkOrderExternalServiceImpl;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
-
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-/**
- * 工单服务示例
- * 演示如何使用WorkOrderApiClient
- */
-@Slf4j
-@Service
-public class WorkOrderUse {
-
-    private final WorkOrderExternalServiceImpl apiClient;
-
-    public WorkOrderUse(WorkOrderExternalServiceImpl apiClient) {
-        this.apiClient = apiClient;
-    }
-
-    /**
-     * 示例1: 获取所有工单性质
-     */
-    public List<WorkOrderApiDto.OrderNatureResponse> getAllNatures() {
-        List<WorkOrderApiDto.OrderNatureResponse> response =
-                apiClient.getNatureList();
-
-            return response;
-
-    }
-
-    /**
-     * 示例2: 搜索POI位置
-     */
-    public List<WorkOrderApiDto.POILocationResponse> searchPOI(String name) {
-        WorkOrderApiDto.POILocationRequest request = WorkOrderApiDto.POILocationRequest.builder()
-                .name(name)
-                .build();
-
-        List<WorkOrderApiDto.POILocationResponse> response =
-                apiClient.getPoiName(request);
-
-            return response;
-    }
-
-    /**
-     * 示例3: 获取指定位置附近的航线
-     */
-    public List<WorkOrderApiDto.RouteResponse> getRoutesNearby(Double lon, Double lat, Double radius) {
-        WorkOrderApiDto.RouteRequest request = WorkOrderApiDto.RouteRequest.builder()
-                .lon(lon)
-                .lat(lat)
-                .radius(radius != null ? radius : 2000.0)  // 默认2公里
-                .build();
-
-        List<WorkOrderApiDto.RouteResponse> response =
-                apiClient.getRoutes(request);
-
-            return response;
-
-    }
-
-    /**
-     * 示例4: 创建单次执行的日常巡查工单
-     */
-    public Long createSingleExecutionWorkOrder(
-            String workOrderName,
-            String natureId,
-            String description,
-            Integer routeId,
-            String routeName,
-            Integer routeType,
-            LocalDateTime executionTime) {
-
-        // 构建执行策略
-        WorkOrderApiDto.ExecutionTime time = WorkOrderApiDto.ExecutionTime.builder()
-                .key(0)
-                .value("")
-                .build();
-
-        WorkOrderApiDto.RouteInfo routeInfo = WorkOrderApiDto.RouteInfo.builder()
-                .routeName(routeName)
-                .routeType(routeType)
-                .existRouteType(1)
-                .routeId(routeId)
-                .estimatedTime(0)
-                .routeLength(0.0)
-                .pointCount(0)
-                .build();
-
-        WorkOrderApiDto.ExecuteStrategy strategy = WorkOrderApiDto.ExecuteStrategy.builder()
-                .executionTimes(Collections.singletonList(time))
-                .executionStrategy(1)  // 单次执行
-                .routeInfo(routeInfo)
-                .strategyGroupId(String.valueOf(System.currentTimeMillis()))
-                .existRouteType(1)
-                .singleExecutionTime(executionTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .build();
-
-        // 构建工单请求
-        WorkOrderApiDto.CreateWorkOrderRequest request = WorkOrderApiDto.CreateWorkOrderRequest.builder()
-                .name(workOrderName)
-                .natureId(natureId)
-                .description(description)
-                .attachmentList(new ArrayList<>())
-                .emergencyLevel(1)
-                .executeStrategyList(Collections.singletonList(strategy))
-                .achievementType(List.of("1", "2"))
-                .status(0)
-                .deviceIds(new ArrayList<>())
-                .flyerIds(new ArrayList<>())
-                .routeIds(new ArrayList<>())
-                .type("1")
-                .source(2)  // AI创建
-                .build();
-
-        Long response = apiClient.createWorkOrder(request);
-
-        return response;
-    }
-
-    /**
-     * 示例5: 创建多次执行的日常巡查工单
-     */
-    public Long createMultipleExecutionWorkOrder(
-            String workOrderName,
-            String natureId,
-            String description,
-            Integer routeId,
-            String routeName,
-            Integer routeType,
-            List<LocalDate> executionDates,
-            List<String> executionTimePoints) {
-
-        // 构建执行时间列表
-        List<WorkOrderApiDto.ExecutionTime> executionTimes = new ArrayList<>();
-        for (int i = 0; i < executionTimePoints.size(); i++) {
-            executionTimes.add(WorkOrderApiDto.ExecutionTime.builder()
-                    .key(i)
-                    .value(executionTimePoints.get(i))
-                    .build());
-        }
-
-        WorkOrderApiDto.RouteInfo routeInfo = WorkOrderApiDto.RouteInfo.builder()
-                .routeName(routeName)
-                .routeType(routeType)
-                .existRouteType(1)
-                .routeId(routeId)
-                .estimatedTime(0)
-                .routeLength(0.0)
-                .pointCount(0)
-                .build();
-
-        // 格式化日期
-        List<String> dateStrings = executionDates.stream()
-                .map(date -> date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")))
-                .toList();
-
-        WorkOrderApiDto.ExecuteStrategy strategy = WorkOrderApiDto.ExecuteStrategy.builder()
-                .executionTimes(executionTimes)
-                .executionStrategy(3)  // 多次执行
-                .routeInfo(routeInfo)
-                .strategyGroupId(String.valueOf(System.currentTimeMillis()))
-                .existRouteType(1)
-                .moreThanOnceExecutionDate(dateStrings)
-                .executionTimePoint(executionTimePoints)
-                .build();
-
-        // 构建工单请求
-        WorkOrderApiDto.CreateWorkOrderRequest request = WorkOrderApiDto.CreateWorkOrderRequest.builder()
-                .name(workOrderName)
-                .natureId(natureId)
-                .description(description)
-                .attachmentList(new ArrayList<>())
-                .emergencyLevel(1)
-                .executeStrategyList(Collections.singletonList(strategy))
-                .achievementType(List.of("1"))
-                .status(0)
-                .deviceIds(new ArrayList<>())
-                .flyerIds(new ArrayList<>())
-                .routeIds(new ArrayList<>())
-                .type("1")
-                .source(2)  // AI创建
-                .build();
-
-        Long response = apiClient.createWorkOrder(request);
-
-        return response;
-
-    }
-
-    /**
-     * 示例6: 创建自定义执行策略的日常巡查工单
-     */
-    public Long createCustomExecutionWorkOrder(
-            String workOrderName,
-            String natureId,
-            String description,
-            Integer routeId,
-            String routeName,
-            Integer routeType,
-            String customStrategyDesc) {
-
-        WorkOrderApiDto.ExecutionTime time = WorkOrderApiDto.ExecutionTime.builder()
-                .key(0)
-                .value("")
-                .build();
-
-        WorkOrderApiDto.RouteInfo routeInfo = WorkOrderApiDto.RouteInfo.builder()
-                .routeName(routeName)
-                .routeType(routeType)
-                .existRouteType(1)
-                .routeId(routeId)
-                .estimatedTime(0)
-                .routeLength(0.0)
-                .pointCount(0)
-                .build();
-
-        WorkOrderApiDto.ExecuteStrategy strategy = WorkOrderApiDto.ExecuteStrategy.builder()
-                .executionTimes(Collections.singletonList(time))
-                .executionStrategy(4)  // 自定义执行
-                .routeInfo(routeInfo)
-                .strategyGroupId(String.valueOf(System.currentTimeMillis()))
-                .existRouteType(1)
-                .executionStrategyDesc(customStrategyDesc)
-                .build();
-
-        // 构建工单请求
-        WorkOrderApiDto.CreateWorkOrderRequest request = WorkOrderApiDto.CreateWorkOrderRequest.builder()
-                .name(workOrderName)
-                .natureId(natureId)
-                .description(description)
-                .attachmentList(new ArrayList<>())
-                .emergencyLevel(1)
-                .executeStrategyList(Collections.singletonList(strategy))
-                .achievementType(List.of("2", "1"))
-                .status(0)
-                .deviceIds(new ArrayList<>())
-                .flyerIds(new ArrayList<>())
-                .routeIds(new ArrayList<>())
-                .type("1")
-                .source(2)  // AI创建
-                .build();
-
-        Long response = apiClient.createWorkOrder(request);
-
-        return response;
-    }
+package com.gdu.zeus.ops.workorder.services;
+
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.services.impl.WorkOrderExternalServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 工单服务示例
+ * 演示如何使用WorkOrderApiClient
+ */
+@Slf4j
+@Service
+public class WorkOrderUse {
+
+    private final WorkOrderExternalServiceImpl apiClient;
+
+    public WorkOrderUse(WorkOrderExternalServiceImpl apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    /**
+     * 示例1: 获取所有工单性质
+     */
+    public List<WorkOrderApiDto.OrderNatureResponse> getAllNatures() {
+        List<WorkOrderApiDto.OrderNatureResponse> response =
+                apiClient.getNatureList();
+
+            return response;
+
+    }
+
+    /**
+     * 示例2: 搜索POI位置
+     */
+    public List<WorkOrderApiDto.POILocationResponse> searchPOI(String name) {
+        WorkOrderApiDto.POILocationRequest request = WorkOrderApiDto.POILocationRequest.builder()
+                .name(name)
+                .build();
+
+        List<WorkOrderApiDto.POILocationResponse> response =
+                apiClient.getPoiName(request);
+
+            return response;
+    }
+
+    /**
+     * 示例3: 获取指定位置附近的航线
+     */
+    public List<WorkOrderApiDto.RouteResponse> getRoutesNearby(Double lon, Double lat, Double radius) {
+        WorkOrderApiDto.RouteRequest request = WorkOrderApiDto.RouteRequest.builder()
+                .lon(lon)
+                .lat(lat)
+                .radius(radius != null ? radius : 2000.0)  // 默认2公里
+                .build();
+
+        List<WorkOrderApiDto.RouteResponse> response =
+                apiClient.getRoutes(request);
+
+            return response;
+
+    }
+
+    /**
+     * 示例4: 创建单次执行的日常巡查工单
+     */
+    public Long createSingleExecutionWorkOrder(
+            String workOrderName,
+            String natureId,
+            String description,
+            Integer routeId,
+            String routeName,
+            Integer routeType,
+            LocalDateTime executionTime) {
+
+        // 构建执行策略
+        WorkOrderApiDto.ExecutionTime time = WorkOrderApiDto.ExecutionTime.builder()
+                .key(0)
+                .value("")
+                .build();
+
+        WorkOrderApiDto.RouteInfo routeInfo = WorkOrderApiDto.RouteInfo.builder()
+                .routeName(routeName)
+                .routeType(routeType)
+                .existRouteType(1)
+                .routeId(routeId)
+                .estimatedTime(0)
+                .routeLength(0.0)
+                .pointCount(0)
+                .build();
+
+        WorkOrderApiDto.ExecuteStrategy strategy = WorkOrderApiDto.ExecuteStrategy.builder()
+                .executionTimes(Collections.singletonList(time))
+                .executionStrategy(1)  // 单次执行
+                .routeInfo(routeInfo)
+                .strategyGroupId(String.valueOf(System.currentTimeMillis()))
+                .existRouteType(1)
+                .singleExecutionTime(executionTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
+                .build();
+
+        // 构建工单请求
+        WorkOrderApiDto.CreateWorkOrderRequest request = WorkOrderApiDto.CreateWorkOrderRequest.builder()
+                .name(workOrderName)
+                .natureId(natureId)
+                .description(description)
+                .attachmentList(new ArrayList<>())
+                .emergencyLevel(1)
+                .executeStrategyList(Collections.singletonList(strategy))
+                .achievementType(List.of("1", "2"))
+                .status(0)
+                .deviceIds(new ArrayList<>())
+                .flyerIds(new ArrayList<>())
+                .routeIds(new ArrayList<>())
+                .type("1")
+                .source(2)  // AI创建
+                .build();
+
+        Long response = apiClient.createWorkOrder(request);
+
+        return response;
+    }
+
+    /**
+     * 示例5: 创建多次执行的日常巡查工单
+     */
+    public Long createMultipleExecutionWorkOrder(
+            String workOrderName,
+            String natureId,
+            String description,
+            Integer routeId,
+            String routeName,
+            Integer routeType,
+            List<LocalDate> executionDates,
+            List<String> executionTimePoints) {
+
+        // 构建执行时间列表
+        List<WorkOrderApiDto.ExecutionTime> executionTimes = new ArrayList<>();
+        for (int i = 0; i < executionTimePoints.size(); i++) {
+            executionTimes.add(WorkOrderApiDto.ExecutionTime.builder()
+                    .key(i)
+                    .value(executionTimePoints.get(i))
+                    .build());
+        }
+
+        WorkOrderApiDto.RouteInfo routeInfo = WorkOrderApiDto.RouteInfo.builder()
+                .routeName(routeName)
+                .routeType(routeType)
+                .existRouteType(1)
+                .routeId(routeId)
+                .estimatedTime(0)
+                .routeLength(0.0)
+                .pointCount(0)
+                .build();
+
+        // 格式化日期
+        List<String> dateStrings = executionDates.stream()
+                .map(date -> date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")))
+                .toList();
+
+        WorkOrderApiDto.ExecuteStrategy strategy = WorkOrderApiDto.ExecuteStrategy.builder()
+                .executionTimes(executionTimes)
+                .executionStrategy(3)  // 多次执行
+                .routeInfo(routeInfo)
+                .strategyGroupId(String.valueOf(System.currentTimeMillis()))
+                .existRouteType(1)
+                .moreThanOnceExecutionDate(dateStrings)
+                .executionTimePoint(executionTimePoints)
+                .build();
+
+        // 构建工单请求
+        WorkOrderApiDto.CreateWorkOrderRequest request = WorkOrderApiDto.CreateWorkOrderRequest.builder()
+                .name(workOrderName)
+                .natureId(natureId)
+                .description(description)
+                .attachmentList(new ArrayList<>())
+                .emergencyLevel(1)
+                .executeStrategyList(Collections.singletonList(strategy))
+                .achievementType(List.of("1"))
+                .status(0)
+                .deviceIds(new ArrayList<>())
+                .flyerIds(new ArrayList<>())
+                .routeIds(new ArrayList<>())
+                .type("1")
+                .source(2)  // AI创建
+                .build();
+
+        Long response = apiClient.createWorkOrder(request);
+
+        return response;
+
+    }
+
+    /**
+     * 示例6: 创建自定义执行策略的日常巡查工单
+     */
+    public Long createCustomExecutionWorkOrder(
+            String workOrderName,
+            String natureId,
+            String description,
+            Integer routeId,
+            String routeName,
+            Integer routeType,
+            String customStrategyDesc) {
+
+        WorkOrderApiDto.ExecutionTime time = WorkOrderApiDto.ExecutionTime.builder()
+                .key(0)
+                .value("")
+                .build();
+
+        WorkOrderApiDto.RouteInfo routeInfo = WorkOrderApiDto.RouteInfo.builder()
+                .routeName(routeName)
+                .routeType(routeType)
+                .existRouteType(1)
+                .routeId(routeId)
+                .estimatedTime(0)
+                .routeLength(0.0)
+                .pointCount(0)
+                .build();
+
+        WorkOrderApiDto.ExecuteStrategy strategy = WorkOrderApiDto.ExecuteStrategy.builder()
+                .executionTimes(Collections.singletonList(time))
+                .executionStrategy(4)  // 自定义执行
+                .routeInfo(routeInfo)
+                .strategyGroupId(String.valueOf(System.currentTimeMillis()))
+                .existRouteType(1)
+                .executionStrategyDesc(customStrategyDesc)
+                .build();
+
+        // 构建工单请求
+        WorkOrderApiDto.CreateWorkOrderRequest request = WorkOrderApiDto.CreateWorkOrderRequest.builder()
+                .name(workOrderName)
+                .natureId(natureId)
+                .description(description)
+                .attachmentList(new ArrayList<>())
+                .emergencyLevel(1)
+                .executeStrategyList(Collections.singletonList(strategy))
+                .achievementType(List.of("2", "1"))
+                .status(0)
+                .deviceIds(new ArrayList<>())
+                .flyerIds(new ArrayList<>())
+                .routeIds(new ArrayList<>())
+                .type("1")
+                .source(2)  // AI创建
+                .build();
+
+        Long response = apiClient.createWorkOrder(request);
+
+        return response;
+    }
 }
\ No newline at end of file
@@ -1,99 +1,99 @@
-/*
- *    Copyright (c) 2018-2025, lengleng All rights reserved.
- *
- * Redistribution and use in source and binary forms, with or without
- * modification, are permitted provided that the following conditions are met:
- *
- * Redistributions of source code must retain the above copyright notice,
- * this list of conditions and the following disclaimer.
- * Redistributions in binary form must reproduce the above copyright
- * notice, this list of conditions and the following disclaimer in the
- * documentation and/or other materials provided with the distribution.
- * Neither the name of the pig4cloud.com developer nor the names of its
- * contributors may be used to endorse or promote products derived from
- * this software without specific prior written permission.
- * Author: lengleng (wangiegie@gmail.com)
- */
-package com.gdu.zeus.ops.workorder.services.impl;
-
-import cn.hutool.core.io.FileUtil;
-import cn.hutool.core.io.IoUtil;
-import cn.hutool.core.util.IdUtil;
-import cn.hutool.core.util.StrUtil;
-import com.amazonaws.services.s3.model.S3Object;
-import com.gdu.common.core.util.R;
-import com.gdu.common.uap.oss.core.FileProperties;
-import com.gdu.common.uap.oss.core.FileTemplate;
-import com.gdu.zeus.ops.workorder.services.SysFileService;
-import com.gdu.zeus.ops.workorder.util.FileExtensionValidator;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
-import lombok.SneakyThrows;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-
-import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
-
-/**
- * 文件管理
- *
- * @author Luckly
- * @date 2019-06-18 17:18:42
- */
-@Slf4j
-@Service
-@AllArgsConstructor
-public class SysFileServiceImpl implements SysFileService {
-
-    private final FileTemplate fileTemplate;
-
-    private final FileProperties properties;
-
-
-
-    @SneakyThrows
-    @Override
-    public R uploadFile(MultipartFile multipartFile, String bizType) {
-        // 验证文件后缀
-        String originalFilename = multipartFile.getOriginalFilename();
-        if (!FileExtensionValidator.isValidExtension(originalFilename)) {
-            return R.failed("不支持的文件类型，请上传允许的文件格式");
-        }
-        String fileName = IdUtil.simpleUUID() + StrUtil.DOT + FileUtil.extName(originalFilename);
-        Map<String, String> resultMap = new HashMap<>(4);
-        resultMap.put("id", properties.getBucketName() + ":" + fileName);
-        resultMap.put("fileName", fileName);
-        resultMap.put("url", String.format("/sys-file/%s/%s"
-                , properties.getBucketName(), fileName));
-
-        try (InputStream inputStream = multipartFile.getInputStream()) {
-            fileTemplate.putObject(properties.getBucketName(), fileName, inputStream, multipartFile.getContentType());
-        } catch (Exception e) {
-            log.error("上传失败", e);
-            return R.failed(e.getLocalizedMessage());
-        }
-        return R.ok(resultMap);
-    }
-
-    /**
-     * 读取文件
-     *
-     * @param bucket
-     * @param fileName
-     * @param response
-     */
-    @Override
-    public void getFile(String bucket, String fileName, HttpServletResponse response) {
-        try (S3Object s3Object = fileTemplate.getObject(bucket, fileName)) {
-            response.setContentType("application/octet-stream; charset=UTF-8");
-            IoUtil.copy(s3Object.getObjectContent(), response.getOutputStream());
-        } catch (Exception e) {
-            log.error("文件读取异常: {}", e.getLocalizedMessage());
-        }
-    }
-
-
-}
+/*
+ *    Copyright (c) 2018-2025, lengleng All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice,
+ * this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ * Neither the name of the pig4cloud.com developer nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * Author: lengleng (wangiegie@gmail.com)
+ */
+package com.gdu.zeus.ops.workorder.services.impl;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import com.amazonaws.services.s3.model.S3Object;
+import com.gdu.common.core.util.R;
+import com.gdu.common.uap.oss.core.FileProperties;
+import com.gdu.common.uap.oss.core.FileTemplate;
+import com.gdu.zeus.ops.workorder.services.SysFileService;
+import com.gdu.zeus.ops.workorder.util.FileExtensionValidator;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 文件管理
+ *
+ * @author Luckly
+ * @date 2019-06-18 17:18:42
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class SysFileServiceImpl implements SysFileService {
+
+    private final FileTemplate fileTemplate;
+
+    private final FileProperties properties;
+
+
+
+    @SneakyThrows
+    @Override
+    public R uploadFile(MultipartFile multipartFile, String bizType) {
+        // 验证文件后缀
+        String originalFilename = multipartFile.getOriginalFilename();
+        if (!FileExtensionValidator.isValidExtension(originalFilename)) {
+            return R.failed("不支持的文件类型，请上传允许的文件格式");
+        }
+        String fileName = IdUtil.simpleUUID() + StrUtil.DOT + FileUtil.extName(originalFilename);
+        Map<String, String> resultMap = new HashMap<>(4);
+        resultMap.put("id", properties.getBucketName() + ":" + fileName);
+        resultMap.put("fileName", fileName);
+        resultMap.put("url", String.format("/sys-file/%s/%s"
+                , properties.getBucketName(), fileName));
+
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            fileTemplate.putObject(properties.getBucketName(), fileName, inputStream, multipartFile.getContentType());
+        } catch (Exception e) {
+            log.error("上传失败", e);
+            return R.failed(e.getLocalizedMessage());
+        }
+        return R.ok(resultMap);
+    }
+
+    /**
+     * 读取文件
+     *
+     * @param bucket
+     * @param fileName
+     * @param response
+     */
+    @Override
+    public void getFile(String bucket, String fileName, HttpServletResponse response) {
+        try (S3Object s3Object = fileTemplate.getObject(bucket, fileName)) {
+            response.setContentType("application/octet-stream; charset=UTF-8");
+            IoUtil.copy(s3Object.getObjectContent(), response.getOutputStream());
+        } catch (Exception e) {
+            log.error("文件读取异常: {}", e.getLocalizedMessage());
+        }
+    }
+
+
+}
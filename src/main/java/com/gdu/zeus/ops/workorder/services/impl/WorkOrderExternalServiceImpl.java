@@ -1,224 +1,346 @@
-package com.gdu.zeus.ops.workorder.services.impl;
-
-import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
-import com.gdu.zeus.ops.workorder.config.WorkOrderApiProperties;
-import com.gdu.zeus.ops.workorder.services.WorkOrderExternalService;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.util.UriComponentsBuilder;
-
-import java.util.List;
-
-/**
- * 工单系统API客户端
- */
-@Slf4j
-@Service
-public class WorkOrderExternalServiceImpl implements WorkOrderExternalService {
-
-    private final RestTemplate restTemplate;
-    private final WebClient webClient;
-    private final WorkOrderApiProperties apiProperties;
-
-    /*public WorkOrderExternalServiceImpl(
-            @Qualifier("workOrderRestTemplate") RestTemplate restTemplate,
-            WorkOrderApiProperties apiProperties) {
-        this.restTemplate = restTemplate;
-        this.apiProperties = apiProperties;
-    }*/
-
-    public WorkOrderExternalServiceImpl(
-            WebClient.Builder webClientBuilder,
-            @Qualifier("workOrderRestTemplate") RestTemplate restTemplate,
-            WorkOrderApiProperties apiProperties) {
-        this.apiProperties = apiProperties;
-        this.restTemplate = restTemplate;
-        this.webClient = webClientBuilder
-                .baseUrl(apiProperties.getBaseUrl())
-                .build();
-    }
-
-    /**
-     * 获取工单性质列表
-     * GET /business/workOrder/natureList
-     *
-     * @return 工单性质列表
-     */
-    public List<WorkOrderApiDto.OrderNatureResponse> getNatureList() {
-        try {
-            log.info("获取工单性质列表");
-            ResponseEntity<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.OrderNatureResponse>>> response =
-                    restTemplate.exchange(
-                            apiProperties.getBaseUrl() + apiProperties.getEndpoints().getNatureList(),
-                            HttpMethod.GET,
-                            null,
-                            new ParameterizedTypeReference<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.OrderNatureResponse>>>() {}
-                    );
-
-            WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.OrderNatureResponse>> result = response.getBody();
-
-            if (result != null && result.isSuccess()) {
-                log.info("获取工单性质列表成功，共{}条", result.getData() != null ? result.getData().size() : 0);
-            } else {
-                log.warn("获取工单性质列表失败: {}", result != null ? result.getMsg() : "响应为空");
-            }
-
-            return result.getData();
-        } catch (Exception e) {
-            log.error("获取工单性质列表异常", e);
-            return null;
-        }
-    }
-
-    /**
-     * 获取具体地点
-     * POST /business/overview-mode/search/getPoiName
-     *
-     * @param request POI查询请求
-     * @return POI位置列表
-     */
-    public List<WorkOrderApiDto.POILocationResponse> getPoiName(
-            WorkOrderApiDto.POILocationRequest request) {
-        try {
-            log.info("查询POI位置，名称: {}", request.getName());
-
-            HttpEntity<WorkOrderApiDto.POILocationRequest> httpEntity = new HttpEntity<>(request);
-
-            ResponseEntity<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.POILocationResponse>>> response =
-                    restTemplate.exchange(
-                            apiProperties.getBaseUrl() + apiProperties.getEndpoints().getGetPoiName(),
-                            HttpMethod.POST,
-                            httpEntity,
-                            new ParameterizedTypeReference<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.POILocationResponse>>>() {}
-                    );
-            WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.POILocationResponse>> result = response.getBody();
-
-            if (result != null && result.isSuccess()) {
-                log.info("查询POI位置成功，共{}条", result.getData() != null ? result.getData().size() : 0);
-            } else {
-                log.warn("查询POI位置失败: {}", result != null ? result.getMsg() : "响应为空");
-            }
-
-            return result.getData();
-        } catch (Exception e) {
-            log.error("查询POI位置异常", e);
-            return null;
-        }
-    }
-
-    /**
-     * 获取已有航线
-     * POST /business/overview-mode/search/getRoutes
-     *
-     * @param request 航线查询请求
-     * @return 航线列表
-     */
-    public List<WorkOrderApiDto.RouteResponse> getRoutes(
-            WorkOrderApiDto.RouteRequest request) {
-        try {
-            log.info("查询航线，经纬度: ({}, {}), 半径: {}m", request.getLon(), request.getLat(), request.getRadius());
-
-            HttpEntity<WorkOrderApiDto.RouteRequest> httpEntity = new HttpEntity<>(request);
-
-            ResponseEntity<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.RouteResponse>>> response =
-                    restTemplate.exchange(
-                            apiProperties.getBaseUrl() + apiProperties.getEndpoints().getGetRoutes(),
-                            HttpMethod.POST,
-                            httpEntity,
-                            new ParameterizedTypeReference<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.RouteResponse>>>() {}
-                    );
-
-            WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.RouteResponse>> result = response.getBody();
-
-            if (result != null && result.isSuccess()) {
-                log.info("查询航线成功，共{}条", result.getData() != null ? result.getData().size() : 0);
-            } else {
-                log.warn("查询航线失败: {}", result != null ? result.getMsg() : "响应为空");
-            }
-
-            return result.getData();
-        } catch (Exception e) {
-            log.error("查询航线异常", e);
-            return null;
-        }
-    }
-
-    @Override
-    public WorkOrderApiDto.RouteResponse getRouteInfo(WorkOrderApiDto.RouteInfoRequest request) {
-        try {
-            log.info("查询航线详情,ID: {}", request.getRouteId());
-
-            // 使用 UriComponentsBuilder 构建 URL
-            String url = UriComponentsBuilder
-                    .fromHttpUrl(apiProperties.getBaseUrl() + apiProperties.getEndpoints().getGetRouteInfo())
-                    .queryParam("routeId", request.getRouteId())
-                    .toUriString();
-
-            ResponseEntity<WorkOrderApiDto.ApiResponse<WorkOrderApiDto.RouteResponse>> response =
-                    restTemplate.exchange(
-                            url,
-                            HttpMethod.GET,
-                            null,
-                            new ParameterizedTypeReference<WorkOrderApiDto.ApiResponse<WorkOrderApiDto.RouteResponse>>() {}
-                    );
-
-            WorkOrderApiDto.ApiResponse<WorkOrderApiDto.RouteResponse> result = response.getBody();
-
-            if (result != null && result.isSuccess()) {
-                log.info("查询航线基本信息成功,航线信息: {}", result.getData());
-            } else {
-                log.warn("查询航线基本信息失败: {}", result != null ? result.getMsg() : "响应为空");
-            }
-
-            return result.getData();
-        } catch (Exception e) {
-            log.error("查询航线基本信息异常", e);
-            return null;
-        }
-    }
-
-    /**
-     * 创建工单
-     * POST /business/workOrder/create
-     *
-     * @param request 创建工单请求
-     * @return 创建的工单ID
-     */
-    public Long createWorkOrder(
-            WorkOrderApiDto.CreateWorkOrderRequest request) {
-        try {
-            log.info("创建工单，名称: {}, 性质ID: {}", request.getName(), request.getNatureId());
-
-            HttpEntity<WorkOrderApiDto.CreateWorkOrderRequest> httpEntity = new HttpEntity<>(request);
-
-            ResponseEntity<WorkOrderApiDto.ApiResponse<Long>> response =
-                    restTemplate.exchange(
-                            apiProperties.getBaseUrl() + apiProperties.getEndpoints().getCreateWorkOrder(),
-                            HttpMethod.POST,
-                            httpEntity,
-                            new ParameterizedTypeReference<WorkOrderApiDto.ApiResponse<Long>>() {}
-                    );
-
-            WorkOrderApiDto.ApiResponse<Long> result = response.getBody();
-
-            if (result != null && result.isSuccess()) {
-                log.info("创建工单成功，工单ID: {}", result.getData());
-            } else {
-                log.warn("创建工单失败: {}", result != null ? result.getMsg() : "响应为空");
-                throw new RuntimeException(result.getMsg());
-            }
-
-            return result.getData();
-        } catch (Exception e) {
-            log.error("创建工单异常", e);
-            throw new RuntimeException(e);
-        }
-    }
-}
\ No newline at end of file
+package com.gdu.zeus.ops.workorder.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.WorkOrderApiProperties;
+import com.gdu.zeus.ops.workorder.services.WorkOrderExternalService;
+import com.gdu.zeus.ops.workorder.util.EndpointGuard;
+import com.gdu.zeus.ops.workorder.util.HedgedRequests;
+import com.gdu.zeus.ops.workorder.util.RouteStreamDecoder;
+import com.gdu.zeus.ops.workorder.util.ServiceDegradedException;
+import com.gdu.zeus.ops.workorder.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 工单系统API客户端
+ */
+@Slf4j
+@Service
+public class WorkOrderExternalServiceImpl implements WorkOrderExternalService {
+
+    private final RestTemplate restTemplate;
+    private final WorkOrderApiProperties apiProperties;
+    private final EndpointGuard natureListGuard;
+    private final EndpointGuard poiGuard;
+    private final EndpointGuard routesGuard;
+    private final EndpointGuard routeInfoGuard;
+    private final EndpointGuard createGuard;
+    private final HedgedRequests hedgedRequests;
+    private final RouteStreamDecoder routeDecoder;
+    private final SingleFlight<String, ResponseEntity<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.POILocationResponse>>>> poiFlight;
+    private final SingleFlight<RouteKey, WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.RouteResponse>>> routesFlight;
+    private final SingleFlight<String, ResponseEntity<WorkOrderApiDto.ApiResponse<WorkOrderApiDto.RouteResponse>>> routeInfoFlight;
+
+    /*public WorkOrderExternalServiceImpl(
+            @Qualifier("workOrderRestTemplate") RestTemplate restTemplate,
+            WorkOrderApiProperties apiProperties) {
+        this.restTemplate = restTemplate;
+        this.apiProperties = apiProperties;
+    }*/
+
+    public WorkOrderExternalServiceImpl(
+            @Qualifier("workOrderRestTemplate") RestTemplate restTemplate,
+            WorkOrderApiProperties apiProperties,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper) {
+        this.apiProperties = apiProperties;
+        this.restTemplate = restTemplate;
+        this.routeDecoder = new RouteStreamDecoder(objectMapper);
+        // 每个接口独立熔断和并发隔离，某个接口变慢不影响其他接口
+        this.natureListGuard = new EndpointGuard("natureList", "工单性质查询", apiProperties, meterRegistry);
+        this.poiGuard = new EndpointGuard("getPoiName", "地点查询", apiProperties, meterRegistry);
+        this.routesGuard = new EndpointGuard("getRoutes", "航线查询", apiProperties, meterRegistry);
+        this.routeInfoGuard = new EndpointGuard("getRouteInfo", "航线详情查询", apiProperties, meterRegistry);
+        this.createGuard = new EndpointGuard("createWorkOrder", "工单创建", apiProperties, meterRegistry);
+        // 幂等读接口(POI、航线、航线详情)可对冲，创建工单不对冲
+        this.hedgedRequests = new HedgedRequests(apiProperties.getHedging(), meterRegistry);
+        // 热点地点(如火情告警时)大量会话同时查询相同地点和航线，合并为一次远程调用
+        this.poiFlight = new SingleFlight<>("getPoiName", meterRegistry);
+        this.routesFlight = new SingleFlight<>("getRoutes", meterRegistry);
+        this.routeInfoFlight = new SingleFlight<>("getRouteInfo", meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgedRequests.shutdown();
+    }
+
+    /**
+     * 获取工单性质列表
+     * GET /business/workOrder/natureList
+     *
+     * @return 工单性质列表
+     */
+    public List<WorkOrderApiDto.OrderNatureResponse> getNatureList() {
+        try {
+            log.info("获取工单性质列表");
+            ResponseEntity<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.OrderNatureResponse>>> response =
+                    natureListGuard.execute(() -> restTemplate.exchange(
+                                apiProperties.getBaseUrl() + apiProperties.getEndpoints().getNatureList(),
+                                HttpMethod.GET,
+                                null,
+                                new ParameterizedTypeReference<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.OrderNatureResponse>>>() {}
+                        ), EndpointGuard.IDEMPOTENT);
+
+            WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.OrderNatureResponse>> result = response.getBody();
+
+            if (result != null && result.isSuccess()) {
+                log.info("获取工单性质列表成功，共{}条", result.getData() != null ? result.getData().size() : 0);
+            } else {
+                log.warn("获取工单性质列表失败: {}", result != null ? result.getMsg() : "响应为空");
+            }
+
+            return result.getData();
+        } catch (ServiceDegradedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("获取工单性质列表异常", e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取具体地点
+     * POST /business/overview-mode/search/getPoiName
+     *
+     * @param request POI查询请求
+     * @return POI位置列表
+     */
+    public List<WorkOrderApiDto.POILocationResponse> getPoiName(
+            WorkOrderApiDto.POILocationRequest request) {
+        try {
+            log.info("查询POI位置，名称: {}", request.getName());
+
+            HttpEntity<WorkOrderApiDto.POILocationRequest> httpEntity = new HttpEntity<>(request);
+
+            ResponseEntity<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.POILocationResponse>>> response =
+                    coalesce(poiFlight, request.getName(), () ->
+                        hedgedRequests.execute("getPoiName", () -> poiGuard.execute(() -> restTemplate.exchange(
+                                apiProperties.getBaseUrl() + apiProperties.getEndpoints().getGetPoiName(),
+                                HttpMethod.POST,
+                                httpEntity,
+                                new ParameterizedTypeReference<WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.POILocationResponse>>>() {}
+                        ), EndpointGuard.IDEMPOTENT)));
+            WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.POILocationResponse>> result = response.getBody();
+
+            if (result != null && result.isSuccess()) {
+                log.info("查询POI位置成功，共{}条", result.getData() != null ? result.getData().size() : 0);
+            } else {
+                log.warn("查询POI位置失败: {}", result != null ? result.getMsg() : "响应为空");
+            }
+
+            return result.getData();
+        } catch (ServiceDegradedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("查询POI位置异常", e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取已有航线
+     * POST /business/overview-mode/search/getRoutes
+     *
+     * @param request 航线查询请求
+     * @return 航线列表
+     */
+    public List<WorkOrderApiDto.RouteResponse> getRoutes(
+            WorkOrderApiDto.RouteRequest request) {
+        return getRoutes(request, RouteStreamDecoder.ALL_FIELDS);
+    }
+
+    @Override
+    public List<WorkOrderApiDto.RouteResponse> getRoutes(WorkOrderApiDto.RouteRequest request, Set<String> fields) {
+        try {
+            log.info("查询航线，经纬度: ({}, {}), 半径: {}m", request.getLon(), request.getLat(), request.getRadius());
+
+            // 每次尝试(包括对冲请求)各自收集结果，落败的一方直接丢弃；业务失败时不带数据
+            WorkOrderApiDto.ApiResponse<List<WorkOrderApiDto.RouteResponse>> result =
+                    coalesce(routesFlight, RouteKey.of(request, fields), () ->
+                        hedgedRequests.execute("getRoutes", () -> routesGuard.execute(() -> {
+                            List<WorkOrderApiDto.RouteResponse> routes = new ArrayList<>();
+                            WorkOrderApiDto.ApiResponse<Integer> decoded = exchangeRoutes(request, fields, routes::add);
+                            return new WorkOrderApiDto.ApiResponse<>(decoded.getCode(), decoded.getMsg(),
+                                    decoded.isSuccess() ? routes : null);
+                        }, EndpointGuard.IDEMPOTENT)));
+
+            // 业务失败(code != 0)返回null，与流式查询一致，避免调用方把空列表当作有效结果缓存
+            if (!result.isSuccess()) {
+                log.warn("查询航线失败: {}", result.getMsg());
+                return null;
+            }
+            log.info("查询航线成功，共{}条", result.getData().size());
+            return result.getData();
+        } catch (ServiceDegradedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("查询航线异常", e);
+            return null;
+        }
+    }
+
+    @Override
+    public Integer streamRoutes(WorkOrderApiDto.RouteRequest request, Set<String> fields,
+                                Consumer<WorkOrderApiDto.RouteResponse> consumer) {
+        try {
+            log.info("流式查询航线，经纬度: ({}, {}), 半径: {}m", request.getLon(), request.getLat(), request.getRadius());
+
+            // 已有航线交给消费者后不再重试，避免重复回调；流式结果无法对冲
+            AtomicInteger emitted = new AtomicInteger();
+            WorkOrderApiDto.ApiResponse<Integer> result = routesGuard.execute(
+                    () -> exchangeRoutes(request, fields, route -> {
+                        emitted.incrementAndGet();
+                        consumer.accept(route);
+                    }),
+                    e -> emitted.get() == 0 && EndpointGuard.IDEMPOTENT.test(e));
+
+            if (!result.isSuccess()) {
+                log.warn("流式查询航线失败: {}", result.getMsg());
+                return null;
+            }
+            log.info("流式查询航线成功，共{}条", result.getData());
+            return result.getData();
+        } catch (ServiceDegradedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("流式查询航线异常", e);
+            return null;
+        }
+    }
+
+    /**
+     * 合并并发的相同请求，未启用时直接调用
+     * <p>
+     * 合并键只含请求参数，不区分调用方，与各级缓存的共享方式一致(见 {@link WorkOrderExternalService})
+     */
+    private <K, V> V coalesce(SingleFlight<K, V> flight, K key, Supplier<V> call) {
+        if (!apiProperties.isCoalescingEnabled() || key == null) {
+            return call.get();
+        }
+        return flight.execute(key, call);
+    }
+
+    /**
+     * 调用航线接口并流式解码响应体，未投影的字段不解析
+     */
+    private WorkOrderApiDto.ApiResponse<Integer> exchangeRoutes(WorkOrderApiDto.RouteRequest request, Set<String> fields,
+                                                               Consumer<WorkOrderApiDto.RouteResponse> consumer) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        HttpEntity<WorkOrderApiDto.RouteRequest> httpEntity = new HttpEntity<>(request, headers);
+        return restTemplate.execute(
+                apiProperties.getBaseUrl() + apiProperties.getEndpoints().getGetRoutes(),
+                HttpMethod.POST,
+                restTemplate.httpEntityCallback(httpEntity),
+                response -> routeDecoder.decode(response.getBody(), fields, consumer));
+    }
+
+    @Override
+    public WorkOrderApiDto.RouteResponse getRouteInfo(WorkOrderApiDto.RouteInfoRequest request) {
+        try {
+            log.info("查询航线详情,ID: {}", request.getRouteId());
+
+            // 使用 UriComponentsBuilder 构建 URL
+            String url = UriComponentsBuilder
+                    .fromHttpUrl(apiProperties.getBaseUrl() + apiProperties.getEndpoints().getGetRouteInfo())
+                    .queryParam("routeId", request.getRouteId())
+                    .toUriString();
+
+            ResponseEntity<WorkOrderApiDto.ApiResponse<WorkOrderApiDto.RouteResponse>> response =
+                    coalesce(routeInfoFlight, request.getRouteId(), () ->
+                        hedgedRequests.execute("getRouteInfo", () -> routeInfoGuard.execute(() -> restTemplate.exchange(
+                                url,
+                                HttpMethod.GET,
+                                null,
+                                new ParameterizedTypeReference<WorkOrderApiDto.ApiResponse<WorkOrderApiDto.RouteResponse>>() {}
+                        ), EndpointGuard.IDEMPOTENT)));
+
+            WorkOrderApiDto.ApiResponse<WorkOrderApiDto.RouteResponse> result = response.getBody();
+
+            if (result != null && result.isSuccess()) {
+                log.info("查询航线基本信息成功,航线信息: {}", result.getData());
+            } else {
+                log.warn("查询航线基本信息失败: {}", result != null ? result.getMsg() : "响应为空");
+            }
+
+            return result.getData();
+        } catch (ServiceDegradedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("查询航线基本信息异常", e);
+            return null;
+        }
+    }
+
+    /**
+     * 创建工单
+     * POST /business/workOrder/create
+     *
+     * @param request 创建工单请求
+     * @return 创建的工单ID
+     */
+    public Long createWorkOrder(
+            WorkOrderApiDto.CreateWorkOrderRequest request) {
+        try {
+            log.info("创建工单，名称: {}, 性质ID: {}", request.getName(), request.getNatureId());
+
+            HttpEntity<WorkOrderApiDto.CreateWorkOrderRequest> httpEntity = new HttpEntity<>(request);
+
+            ResponseEntity<WorkOrderApiDto.ApiResponse<Long>> response =
+                    createGuard.execute(() -> restTemplate.exchange(
+                                apiProperties.getBaseUrl() + apiProperties.getEndpoints().getCreateWorkOrder(),
+                                HttpMethod.POST,
+                                httpEntity,
+                                new ParameterizedTypeReference<WorkOrderApiDto.ApiResponse<Long>>() {}
+                        ), EndpointGuard.CONNECT_FAILURE);
+
+            WorkOrderApiDto.ApiResponse<Long> result = response.getBody();
+
+            if (result != null && result.isSuccess()) {
+                log.info("创建工单成功，工单ID: {}", result.getData());
+            } else {
+                log.warn("创建工单失败: {}", result != null ? result.getMsg() : "响应为空");
+                throw new RuntimeException(result.getMsg());
+            }
+
+            return result.getData();
+        } catch (ServiceDegradedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("创建工单异常", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 航线查询合并键：查询参数相同且字段投影相同
+     */
+    private record RouteKey(Integer type, String factory, Double lon, Double lat, Double radius, Set<String> fields) {
+
+        static RouteKey of(WorkOrderApiDto.RouteRequest request, Set<String> fields) {
+            return new RouteKey(request.getType(), request.getFactory(), request.getLon(), request.getLat(),
+                    request.getRadius(), fields);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.gdu.zeus.ops.workorder.util;
+
+import com.gdu.zeus.ops.workorder.config.WorkOrderApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquireTimeoutException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 单个外部接口的调用保护：熔断、并发隔离、重试
+ * <p>
+ * 熔断：按最近 slidingWindowSize 次调用统计失败率(异常和慢调用计为失败)，达到阈值后打开，
+ * openDuration 后进入半开状态放行 halfOpenCalls 次试探，全部成功则关闭，任一失败重新打开。
+ * 并发隔离：信号量限制同时调用数，获取不到时快速失败。
+ * 重试：retryEnabled 时最多重试 maxRetries 次，指数退避加随机抖动，只重试 retryable 判定的异常；
+ * 读超时不重试(慢接口重试只会成倍占用线程)，且包括重试在内的总耗时不超过 maxCallDuration。
+ * 熔断打开或并发已满时抛出 {@link ServiceDegradedException}，不重试。
+ * <p>
+ * 指标：workorder.api.circuit.state(0关闭/1打开/2半开)、workorder.api.circuit.transitions、
+ * workorder.api.rejections(reason=circuit_open/bulkhead_full)、workorder.api.retries、workorder.api.bulkhead.available
+ */
+@Slf4j
+public class EndpointGuard {
+
+    /**
+     * 幂等读接口：连接失败等IO异常、5xx可重试；读超时不重试
+     */
+    public static final Predicate<Throwable> IDEMPOTENT = e ->
+            (e instanceof ResourceAccessException && !isReadTimeout(e)) || e instanceof HttpServerErrorException;
+
+    /**
+     * 非幂等写接口：只重试请求未发出的连接失败
+     */
+    public static final Predicate<Throwable> CONNECT_FAILURE = EndpointGuard::isConnectFailure;
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String endpoint;
+    private final String description;
+    private final WorkOrderApiProperties apiProperties;
+    private final WorkOrderApiProperties.Resilience config;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore bulkhead;
+
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadRejections;
+    private final Counter retryCounter;
+
+    // 熔断状态，均在synchronized中访问
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    /**
+     * @param endpoint    接口标识(指标标签)
+     * @param description 接口描述，用于降级提示
+     */
+    public EndpointGuard(String endpoint, String description,
+                         WorkOrderApiProperties apiProperties, MeterRegistry meterRegistry) {
+        this.endpoint = endpoint;
+        this.description = description;
+        this.apiProperties = apiProperties;
+        this.config = apiProperties.getResilience();
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore(Math.max(1, config.getMaxConcurrentCalls()));
+        this.window = new boolean[Math.max(1, config.getSlidingWindowSize())];
+        this.circuitOpenRejections = Counter.builder("workorder.api.rejections")
+                .tag("endpoint", endpoint).tag("reason", "circuit_open").register(meterRegistry);
+        this.bulkheadRejections = Counter.builder("workorder.api.rejections")
+                .tag("endpoint", endpoint).tag("reason", "bulkhead_full").register(meterRegistry);
+        this.retryCounter = Counter.builder("workorder.api.retries")
+                .tag("endpoint", endpoint).register(meterRegistry);
+        Gauge.builder("workorder.api.circuit.state", this, guard -> guard.getState().ordinal())
+                .description("熔断状态：0关闭 1打开 2半开")
+                .tag("endpoint", endpoint).register(meterRegistry);
+        Gauge.builder("workorder.api.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .tag("endpoint", endpoint).register(meterRegistry);
+    }
+
+    /**
+     * 在保护下执行调用
+     *
+     * @param call      实际调用
+     * @param retryable 判断异常是否可重试
+     */
+    public <T> T execute(Supplier<T> call, Predicate<Throwable> retryable) {
+        if (!config.isEnabled()) {
+            return call.get();
+        }
+        int maxAttempts = apiProperties.isRetryEnabled() ? 1 + Math.max(0, apiProperties.getMaxRetries()) : 1;
+        long deadline = System.currentTimeMillis() + config.getMaxCallDuration();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeOnce(call);
+            } catch (ServiceDegradedException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !retryable.test(e)) {
+                    throw e;
+                }
+                long backoff = backoff(attempt);
+                // 剩余时间不足以完成退避和一次读超时，不再重试
+                if (System.currentTimeMillis() + backoff + apiProperties.getReadTimeout() > deadline) {
+                    log.warn("调用{}失败，剩余时间不足，不再重试: {}", endpoint, e.getMessage());
+                    throw e;
+                }
+                retryCounter.increment();
+                log.warn("调用{}失败，{}ms后第{}次重试: {}", endpoint, backoff, attempt, e.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private <T> T executeOnce(Supplier<T> call) {
+        if (!acquirePermission()) {
+            circuitOpenRejections.increment();
+            throw new ServiceDegradedException(endpoint,
+                    "工单系统" + description + "服务暂时不可用(熔断中)，请告知用户稍后重试");
+        }
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(config.getMaxWait(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            bulkheadRejections.increment();
+            releaseHalfOpenPermit();
+            throw new ServiceDegradedException(endpoint,
+                    "工单系统" + description + "服务繁忙，请告知用户稍后重试");
+        }
+        long start = System.currentTimeMillis();
+        try {
+            T result = call.get();
+            onResult(System.currentTimeMillis() - start > config.getSlowCallThreshold());
+            return result;
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // 被调用方取消(如对冲请求中落败的一方)，不计入熔断
+                releaseHalfOpenPermit();
+                throw e;
+            }
+            // 4xx为请求本身的问题，不计入熔断
+            onResult(!(e instanceof HttpClientErrorException));
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 指数退避加随机抖动：[delay/2, delay)
+     */
+    private long backoff(int attempt) {
+        long delay = Math.min((long) config.getRetryMaxBackoff(),
+                (long) config.getRetryBackoff() << Math.min(attempt - 1, 16));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(Math.max(1, delay / 2));
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= config.getOpenDuration()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private synchronized boolean acquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < config.getOpenDuration()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits <= 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    private synchronized void releaseHalfOpenPermit() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    private synchronized void onResult(boolean failure) {
+        if (state == State.HALF_OPEN) {
+            if (failure) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSuccesses >= config.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        if (windowCount >= config.getMinimumCalls()
+                && windowFailures * 100 >= config.getFailureRateThreshold() * windowCount) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State target) {
+        if (state == target) {
+            return;
+        }
+        log.warn("接口{}熔断状态变更: {} -> {}", endpoint, state, target);
+        Counter.builder("workorder.api.circuit.transitions")
+                .tag("endpoint", endpoint).tag("from", state.name()).tag("to", target.name())
+                .register(meterRegistry).increment();
+        state = target;
+        switch (target) {
+            case OPEN -> openedAt = System.currentTimeMillis();
+            case HALF_OPEN -> {
+                halfOpenPermits = Math.max(1, config.getHalfOpenCalls());
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                windowCount = 0;
+                windowFailures = 0;
+            }
+        }
+    }
+
+    private static boolean isConnectFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            // netty的ConnectTimeoutException继承自ConnectException；连接池获取超时/排队已满时请求同样未发出
+            if (cause instanceof ConnectException
+                    || cause instanceof PoolAcquireTimeoutException
+                    || cause instanceof PoolAcquirePendingLimitException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 请求已发出但等待响应超时；连接池获取超时同样是TimeoutException，但请求未发出，不算读超时
+     */
+    private static boolean isReadTimeout(Throwable e) {
+        if (isConnectFailure(e)) {
+            return false;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException
+                    || cause instanceof io.netty.handler.timeout.TimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
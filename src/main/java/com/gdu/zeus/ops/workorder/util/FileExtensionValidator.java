@@ -1,28 +1,28 @@
-package com.gdu.zeus.ops.workorder.util;
-
-import cn.hutool.core.io.FileUtil;
-import cn.hutool.core.util.StrUtil;
-
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
-
-public class FileExtensionValidator {
-    // 定义允许的文件后缀白名单
-    private static final Set<String> ALLOWED_EXTENSIONS = new HashSet<>(Arrays.asList(
-        // 文本文件
-        "txt",
-        // 图片文件
-        "jpg", "jpeg", "png", "gif", "webp",
-        // 视频文件
-        "mp4", "avi", "wmv", "rmvb", "mkv", "mov", "flv", "3gp", "m4v", "webm"
-    ));
-
-    public static boolean isValidExtension(String fileName) {
-        if (StrUtil.isBlank(fileName)) {
-            return false;
-        }
-        String extension = FileUtil.extName(fileName).toLowerCase();
-        return ALLOWED_EXTENSIONS.contains(extension);
-    }
+package com.gdu.zeus.ops.workorder.util;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class FileExtensionValidator {
+    // 定义允许的文件后缀白名单
+    private static final Set<String> ALLOWED_EXTENSIONS = new HashSet<>(Arrays.asList(
+        // 文本文件
+        "txt",
+        // 图片文件
+        "jpg", "jpeg", "png", "gif", "webp",
+        // 视频文件
+        "mp4", "avi", "wmv", "rmvb", "mkv", "mov", "flv", "3gp", "m4v", "webm"
+    ));
+
+    public static boolean isValidExtension(String fileName) {
+        if (StrUtil.isBlank(fileName)) {
+            return false;
+        }
+        String extension = FileUtil.extName(fileName).toLowerCase();
+        return ALLOWED_EXTENSIONS.contains(extension);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.gdu.zeus.ops.workorder.util;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 地理计算工具：geohash编码、球面距离、航线坐标解析
+ */
+@UtilityClass
+public class GeoUtils {
+
+    /**
+     * 地球平均半径(米)
+     */
+    public static final double EARTH_RADIUS = 6371008.8;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(?:\\.\\d+)?(?:[eE][-+]?\\d+)?");
+
+    /**
+     * geohash编码
+     *
+     * @param precision 编码长度，6位约 1.2km x 0.6km
+     */
+    public static String geohash(double lat, double lon, int precision) {
+        double[] latRange = {-90, 90};
+        double[] lonRange = {-180, 180};
+        StringBuilder hash = new StringBuilder(precision);
+        boolean even = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            double[] range = even ? lonRange : latRange;
+            double value = even ? lon : lat;
+            double mid = (range[0] + range[1]) / 2;
+            ch <<= 1;
+            if (value >= mid) {
+                ch |= 1;
+                range[0] = mid;
+            } else {
+                range[1] = mid;
+            }
+            even = !even;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * geohash解码为单元格范围
+     *
+     * @return [minLat, minLon, maxLat, maxLon]
+     */
+    public static double[] geohashBounds(String geohash) {
+        double[] latRange = {-90, 90};
+        double[] lonRange = {-180, 180};
+        boolean even = true;
+        for (int i = 0; i < geohash.length(); i++) {
+            int cd = BASE32.indexOf(geohash.charAt(i));
+            if (cd < 0) {
+                throw new IllegalArgumentException("非法geohash: " + geohash);
+            }
+            for (int mask = 16; mask > 0; mask >>= 1) {
+                double[] range = even ? lonRange : latRange;
+                double mid = (range[0] + range[1]) / 2;
+                if ((cd & mask) != 0) {
+                    range[0] = mid;
+                } else {
+                    range[1] = mid;
+                }
+                even = !even;
+            }
+        }
+        return new double[]{latRange[0], lonRange[0], latRange[1], lonRange[1]};
+    }
+
+    /**
+     * geohash单元格中心点
+     *
+     * @return [lat, lon]
+     */
+    public static double[] geohashCenter(String geohash) {
+        double[] bounds = geohashBounds(geohash);
+        return new double[]{(bounds[0] + bounds[2]) / 2, (bounds[1] + bounds[3]) / 2};
+    }
+
+    /**
+     * geohash单元格中心到角点的距离(米)，即单元格内任意点到中心的最大距离
+     */
+    public static double geohashHalfDiagonal(String geohash) {
+        double[] bounds = geohashBounds(geohash);
+        double[] center = geohashCenter(geohash);
+        // 单元格南北两侧宽度不同，取中心到两个对角点距离的较大值
+        double d1 = haversine(center[0], center[1], bounds[0], bounds[1]);
+        double d2 = haversine(center[0], center[1], bounds[2], bounds[3]);
+        return Math.max(d1, d2);
+    }
+
+    /**
+     * 两点间球面距离(米)
+     */
+    public static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * 解析航线坐标字符串，按顺序提取数字并按维度分组
+     *
+     * @param coordinates 坐标字符串，如 "[[114.4,30.5,100],[114.41,30.51,100]]" 或 "114.4,30.5,100;114.41,30.51,100"
+     * @param dimension   每个点的数值个数(经度,纬度[,高度])
+     * @return 点列表，每个点为 [lon, lat]；格式不符时返回空列表
+     */
+    public static List<double[]> parseCoordinates(String coordinates, int dimension) {
+        if (StrUtil.isBlank(coordinates) || dimension < 2) {
+            return Collections.emptyList();
+        }
+        List<Double> numbers = new ArrayList<>();
+        Matcher matcher = NUMBER.matcher(coordinates);
+        while (matcher.find()) {
+            numbers.add(Double.parseDouble(matcher.group()));
+        }
+        if (numbers.isEmpty() || numbers.size() % dimension != 0) {
+            return Collections.emptyList();
+        }
+        List<double[]> points = new ArrayList<>(numbers.size() / dimension);
+        for (int i = 0; i < numbers.size(); i += dimension) {
+            double lon = numbers.get(i);
+            double lat = numbers.get(i + 1);
+            if (Math.abs(lon) > 180 || Math.abs(lat) > 90) {
+                return Collections.emptyList();
+            }
+            points.add(new double[]{lon, lat});
+        }
+        return points;
+    }
+
+    /**
+     * 点到航点集合的最小距离(米)，无航点时返回 {@link Double#MAX_VALUE}
+     */
+    public static double minDistance(double lat, double lon, List<double[]> points) {
+        double min = Double.MAX_VALUE;
+        for (double[] point : points) {
+            min = Math.min(min, haversine(lat, lon, point[1], point[0]));
+        }
+        return min;
+    }
+}
@@ -0,0 +1,200 @@
+package com.gdu.zeus.ops.workorder.util;
+
+import com.gdu.zeus.ops.workorder.config.WorkOrderApiProperties;
+import com.gdu.zeus.ops.workorder.filter.TokenContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 幂等读请求的对冲执行
+ * <p>
+ * 先发出主请求，超过该接口最近耗时的百分位(percentile)仍未返回时再发出一次对冲请求，
+ * 先成功返回的结果胜出，另一请求被取消(中断执行线程，底层请求随之取消)。
+ * 对冲受全局预算限制：每个请求积累 budgetRatio 额度，每次对冲消耗1，额外负载不超过约 budgetRatio。
+ * 执行线程透传调用方的token。
+ * <p>
+ * 指标：workorder.api.hedge(result=sent/won/budget_exhausted)
+ */
+@Slf4j
+public class HedgedRequests {
+
+    private final WorkOrderApiProperties.Hedging config;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private double budget;
+
+    public HedgedRequests(WorkOrderApiProperties.Hedging config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.budget = config.getMaxBudget();
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 无队列：线程用尽时由调用线程直接执行，不再对冲
+        this.executor = new ThreadPoolExecutor(0, Math.max(2, config.getMaxThreads()), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+            Thread thread = new Thread(r, "workorder-hedge-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 执行请求，未启用对冲时直接在当前线程执行
+     *
+     * @param endpoint 接口标识，按接口统计耗时
+     */
+    public <T> T execute(String endpoint, Supplier<T> call) {
+        if (!config.isEnabled()) {
+            return call.get();
+        }
+        LatencyWindow window = latencies.computeIfAbsent(endpoint, k -> new LatencyWindow(config.getSampleSize()));
+        depositBudget();
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger pendingAttempts = new AtomicInteger(1);
+        AtomicInteger winnerAttempt = new AtomicInteger();
+        String token = TokenContext.getToken();
+        Future<?> primary;
+        try {
+            primary = executor.submit(attempt(1, call, token, window, winner, winnerAttempt, pendingAttempts));
+        } catch (RejectedExecutionException e) {
+            return call.get();
+        }
+
+        Future<?> hedge = null;
+        try {
+            long delay = window.hedgeDelay(config);
+            try {
+                return winner.get(delay, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (tryConsumeBudget()) {
+                    pendingAttempts.incrementAndGet();
+                    try {
+                        hedge = executor.submit(attempt(2, call, token, window, winner, winnerAttempt, pendingAttempts));
+                        counter(endpoint, "sent").increment();
+                        log.debug("接口{}超过{}ms未返回，发出对冲请求", endpoint, delay);
+                    } catch (RejectedExecutionException rejected) {
+                        pendingAttempts.decrementAndGet();
+                    }
+                } else {
+                    counter(endpoint, "budget_exhausted").increment();
+                }
+            }
+            T result = winner.get();
+            if (winnerAttempt.get() == 2) {
+                counter(endpoint, "won").increment();
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("请求被中断: " + endpoint, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            // 取消未完成的请求
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private <T> Runnable attempt(int attemptNo, Supplier<T> call, String token, LatencyWindow window,
+                                 CompletableFuture<T> winner, AtomicInteger winnerAttempt,
+                                 AtomicInteger pendingAttempts) {
+        return () -> {
+            TokenContext.setToken(token);
+            long start = System.nanoTime();
+            try {
+                T result = call.get();
+                window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                // 先记录胜出的请求再完成，保证调用方读取时已设置
+                if (winnerAttempt.compareAndSet(0, attemptNo)) {
+                    winner.complete(result);
+                }
+            } catch (Throwable e) {
+                // 所有请求都失败时才以最后一个异常失败
+                if (pendingAttempts.decrementAndGet() == 0) {
+                    winner.completeExceptionally(e);
+                }
+            } finally {
+                TokenContext.clear();
+            }
+        };
+    }
+
+    private synchronized void depositBudget() {
+        budget = Math.min(config.getMaxBudget(), budget + config.getBudgetRatio());
+    }
+
+    private synchronized boolean tryConsumeBudget() {
+        if (budget >= 1) {
+            budget -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    private Counter counter(String endpoint, String result) {
+        return Counter.builder("workorder.api.hedge")
+                .tag("endpoint", endpoint).tag("result", result).register(meterRegistry);
+    }
+
+    /**
+     * 最近请求耗时的环形缓冲，用于计算对冲延迟
+     */
+    private static final class LatencyWindow {
+
+        private final long[] samples;
+        private int index;
+        private int count;
+
+        LatencyWindow(int size) {
+            this.samples = new long[Math.max(10, size)];
+        }
+
+        synchronized void record(long millis) {
+            samples[index] = millis;
+            index = (index + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        long hedgeDelay(WorkOrderApiProperties.Hedging config) {
+            long[] sorted;
+            synchronized (this) {
+                if (count < 10) {
+                    return config.getDefaultDelay();
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(config.getPercentile() / 100 * sorted.length) - 1;
+            long delay = sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+            return Math.max(config.getMinDelay(), Math.min(config.getMaxDelay(), delay));
+        }
+    }
+}
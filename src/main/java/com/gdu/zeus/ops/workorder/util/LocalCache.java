@@ -0,0 +1,127 @@
+package com.gdu.zeus.ops.workorder.util;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 本地LRU缓存
+ * <p>
+ * 在 hutool LRUCache 基础上支持：
+ * 1. 正常结果与空结果(负缓存)分别设置有效期
+ * 2. 加载结果为null(调用失败)时不缓存
+ * 3. 指标：命中/未命中次数(workorder.cache.requests)、加载耗时(workorder.cache.load)、
+ *    命中节省的远程调用耗时估算(workorder.cache.saved)、缓存条目数(workorder.cache.size)
+ *
+ * @param <K> 键
+ * @param <V> 值
+ */
+public class LocalCache<K, V> {
+
+    private final LRUCache<K, Entry<V>> cache;
+    private final long ttlMs;
+    private final long negativeTtlMs;
+    private final Predicate<V> negative;
+
+    private final Counter hitCounter;
+    private final Counter negativeHitCounter;
+    private final Counter missCounter;
+    private final Counter savedCounter;
+    private final Timer loadTimer;
+
+    /**
+     * @param name          缓存名称(指标标签)
+     * @param maxSize       最大条目数，超出后淘汰最久未使用的条目
+     * @param ttlMs         正常结果有效期
+     * @param negativeTtlMs 空结果有效期
+     * @param negative      判断结果是否为空结果
+     * @param meterRegistry 指标注册表
+     */
+    public LocalCache(String name, int maxSize, long ttlMs, long negativeTtlMs,
+                      Predicate<V> negative, MeterRegistry meterRegistry) {
+        // 过期由条目自身判断，hutool层不设超时
+        this.cache = CacheUtil.newLRUCache(maxSize);
+        this.ttlMs = ttlMs;
+        this.negativeTtlMs = negativeTtlMs;
+        this.negative = negative;
+        this.hitCounter = Counter.builder("workorder.cache.requests")
+                .tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.negativeHitCounter = Counter.builder("workorder.cache.requests")
+                .tag("cache", name).tag("result", "negative_hit").register(meterRegistry);
+        this.missCounter = Counter.builder("workorder.cache.requests")
+                .tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.savedCounter = Counter.builder("workorder.cache.saved")
+                .description("缓存命中节省的加载耗时估算")
+                .baseUnit("milliseconds")
+                .tag("cache", name).register(meterRegistry);
+        this.loadTimer = Timer.builder("workorder.cache.load")
+                .tag("cache", name).register(meterRegistry);
+        Gauge.builder("workorder.cache.size", cache, LRUCache::size)
+                .tag("cache", name).register(meterRegistry);
+    }
+
+    /**
+     * 读取缓存，未命中或已过期时调用loader加载并缓存
+     */
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry = cache.get(key, false);
+        long now = System.currentTimeMillis();
+        if (entry != null && entry.expireAt > now) {
+            (entry.negative ? negativeHitCounter : hitCounter).increment();
+            // 按平均加载耗时估算本次命中节省的时间
+            savedCounter.increment(loadTimer.mean(TimeUnit.MILLISECONDS));
+            return entry.value;
+        }
+        missCounter.increment();
+        long start = System.nanoTime();
+        V value = loader.apply(key);
+        loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * 写入缓存，null不缓存
+     */
+    public void put(K key, V value) {
+        if (value == null) {
+            return;
+        }
+        boolean isNegative = negative.test(value);
+        long ttl = isNegative ? negativeTtlMs : ttlMs;
+        if (ttl <= 0) {
+            return;
+        }
+        cache.put(key, new Entry<>(value, System.currentTimeMillis() + ttl, isNegative));
+    }
+
+    /**
+     * 读取缓存，忽略有效期(过期但尚未被淘汰的条目也返回)，用于外部服务降级时的兜底
+     */
+    public V getStale(K key) {
+        Entry<V> entry = cache.get(key, false);
+        return entry != null ? entry.value : null;
+    }
+
+    public void remove(K key) {
+        cache.remove(key);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private record Entry<V>(V value, long expireAt, boolean negative) {
+    }
+}
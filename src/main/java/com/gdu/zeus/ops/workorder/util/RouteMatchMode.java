@@ -0,0 +1,67 @@
+package com.gdu.zeus.ops.workorder.util;
+
+import java.util.List;
+
+/**
+ * 航线与查询点的距离判定方式
+ * <p>
+ * 本地按半径过滤航线(单元格缓存、本地空间索引)时使用，须与航线接口对 radius 的判定方式一致，
+ * 否则同一查询在命中缓存与调用远程时结果不同。距离取查询点到航线参考点({@link #referencePoints})的最近距离：
+ * <ul>
+ *     <li>单元格缓存以单元格中心按"查询半径 + 单元格半对角线"向接口获取超集，接口按同一方式判定，超集完整</li>
+ *     <li>本地空间索引须按参考点所在网格登记航线，按航点登记时航点中心可能落在没有航点的网格中而漏查</li>
+ * </ul>
+ */
+public enum RouteMatchMode {
+
+    /**
+     * 任一航点在半径内
+     */
+    ANY_WAYPOINT {
+        @Override
+        public List<double[]> referencePoints(List<double[]> points) {
+            return points;
+        }
+    },
+
+    /**
+     * 起飞点(第一个航点)在半径内
+     */
+    TAKEOFF_POINT {
+        @Override
+        public List<double[]> referencePoints(List<double[]> points) {
+            return points.isEmpty() ? List.of() : List.of(points.get(0));
+        }
+    },
+
+    /**
+     * 航点中心(经纬度平均值)在半径内
+     */
+    CENTROID {
+        @Override
+        public List<double[]> referencePoints(List<double[]> points) {
+            if (points.isEmpty()) {
+                return List.of();
+            }
+            double sumLon = 0;
+            double sumLat = 0;
+            for (double[] point : points) {
+                sumLon += point[0];
+                sumLat += point[1];
+            }
+            return List.of(new double[]{sumLon / points.size(), sumLat / points.size()});
+        }
+    };
+
+    /**
+     * 参与距离判定的点[经度,纬度]，无航点时为空
+     */
+    public abstract List<double[]> referencePoints(List<double[]> points);
+
+    /**
+     * 查询点到航线的距离(米)，无航点时返回 {@link Double#MAX_VALUE}
+     */
+    public double distance(double lat, double lon, List<double[]> points) {
+        return GeoUtils.minDistance(lat, lon, referencePoints(points));
+    }
+}
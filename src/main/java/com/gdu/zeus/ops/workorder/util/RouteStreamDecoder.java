@@ -0,0 +1,163 @@
+package com.gdu.zeus.ops.workorder.util;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 航线响应流式解码器
+ * <p>
+ * 基于Jackson token流逐条解析 {@code ApiResponse<List<RouteResponse>>}：
+ * 1. 只解析调用方需要的字段，其余字段直接跳过(字符串值不解码，坐标等大字段不产生对象)
+ * 2. 每解析完一条航线立即交给消费者，不构造完整的响应对象
+ * 解码器无状态，可并发使用。
+ */
+public class RouteStreamDecoder {
+
+    /**
+     * 航线摘要字段：列表展示和创建工单所需
+     */
+    public static final Set<String> SUMMARY_FIELDS = Set.of(
+            "routeId", "routeName", "type", "modelType", "estimateDuration", "routeLength", "pointNum", "status");
+
+    /**
+     * 摘要加空间过滤所需字段：本地缓存和空间索引使用
+     */
+    public static final Set<String> GEOMETRY_FIELDS = Set.of(
+            "routeId", "routeName", "type", "modelType", "estimateDuration", "routeLength", "pointNum", "status",
+            "routeSnapshotId", "coordinates", "createTime");
+
+    /**
+     * 全部字段
+     */
+    public static final Set<String> ALL_FIELDS = Set.of(
+            "routeId", "routeSnapshotId", "routeName", "type", "modelType", "factory", "droneTypeCode",
+            "podTypeCode", "estimateDuration", "routeLength", "pointNum", "shootingType", "photoNum", "videoNum",
+            "coordinates", "status", "routeFilePath", "routeFileType", "routeFileMD5", "routeLabelList", "createTime");
+
+    private static final TypeReference<List<WorkOrderApiDto.RouteLabel>> ROUTE_LABELS = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+
+    public RouteStreamDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 解码航线响应
+     * <p>
+     * data为数组时逐条回调，为单个对象时回调一次。
+     * 航线在读到code之前就可能已回调，调用方需根据返回结果判断是否成功。
+     *
+     * @param in       响应体
+     * @param fields   需要解析的字段，为null时解析全部字段
+     * @param consumer 航线消费者
+     * @return 响应码、消息及解析出的航线数
+     */
+    public WorkOrderApiDto.ApiResponse<Integer> decode(InputStream in, Set<String> fields,
+                                                       Consumer<WorkOrderApiDto.RouteResponse> consumer)
+            throws IOException {
+        Set<String> projection = fields != null ? fields : ALL_FIELDS;
+        WorkOrderApiDto.ApiResponse<Integer> envelope = new WorkOrderApiDto.ApiResponse<>();
+        int count = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "航线响应不是JSON对象");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (token.isStructStart() && !"data".equals(name)) {
+                    // code、msg 出现对象/数组时忽略，避免解析位置错乱
+                    parser.skipChildren();
+                    continue;
+                }
+                switch (name) {
+                    case "code" -> envelope.setCode(token == JsonToken.VALUE_NULL ? null : parser.getValueAsInt());
+                    case "msg" -> envelope.setMsg(parser.getValueAsString());
+                    case "data" -> count = decodeData(parser, token, projection, consumer);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        envelope.setData(count);
+        return envelope;
+    }
+
+    private int decodeData(JsonParser parser, JsonToken token, Set<String> fields,
+                           Consumer<WorkOrderApiDto.RouteResponse> consumer) throws IOException {
+        if (token == JsonToken.START_OBJECT) {
+            consumer.accept(decodeRoute(parser, fields));
+            return 1;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return 0;
+        }
+        int count = 0;
+        JsonToken next;
+        while ((next = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (next != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            consumer.accept(decodeRoute(parser, fields));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 解析单条航线，调用时parser位于START_OBJECT，返回时位于对应的END_OBJECT
+     */
+    private WorkOrderApiDto.RouteResponse decodeRoute(JsonParser parser, Set<String> fields) throws IOException {
+        WorkOrderApiDto.RouteResponse route = new WorkOrderApiDto.RouteResponse();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL || !fields.contains(name)) {
+                parser.skipChildren();
+                continue;
+            }
+            if (token.isStructStart() && !"routeLabelList".equals(name)) {
+                // 标量字段出现对象/数组时忽略，避免解析位置错乱
+                parser.skipChildren();
+                continue;
+            }
+            switch (name) {
+                case "routeId" -> route.setRouteId(parser.getValueAsInt());
+                case "routeSnapshotId" -> route.setRouteSnapshotId(parser.getValueAsInt());
+                case "routeName" -> route.setRouteName(parser.getValueAsString());
+                case "type" -> route.setType(parser.getValueAsInt());
+                case "modelType" -> route.setModelType(parser.getValueAsInt());
+                case "factory" -> route.setFactory(parser.getValueAsString());
+                case "droneTypeCode" -> route.setDroneTypeCode(parser.getValueAsString());
+                case "podTypeCode" -> route.setPodTypeCode(parser.getValueAsString());
+                case "estimateDuration" -> route.setEstimateDuration(parser.getValueAsInt());
+                case "routeLength" -> route.setRouteLength(parser.getValueAsDouble());
+                case "pointNum" -> route.setPointNum(parser.getValueAsInt());
+                case "shootingType" -> route.setShootingType(parser.getValueAsInt());
+                case "photoNum" -> route.setPhotoNum(parser.getValueAsInt());
+                case "videoNum" -> route.setVideoNum(parser.getValueAsInt());
+                case "coordinates" -> route.setCoordinates(parser.getValueAsString());
+                case "status" -> route.setStatus(parser.getValueAsInt());
+                case "routeFilePath" -> route.setRouteFilePath(parser.getValueAsString());
+                case "routeFileType" -> route.setRouteFileType(parser.getValueAsInt());
+                case "routeFileMD5" -> route.setRouteFileMD5(parser.getValueAsString());
+                case "routeLabelList" -> route.setRouteLabelList(objectMapper.readValue(parser, ROUTE_LABELS));
+                case "createTime" -> route.setCreateTime(parser.getValueAsString());
+                default -> parser.skipChildren();
+            }
+        }
+        return route;
+    }
+}
@@ -0,0 +1,19 @@
+package com.gdu.zeus.ops.workorder.util;
+
+/**
+ * 外部服务降级异常
+ * 熔断打开或并发已满时快速失败抛出，消息直接作为工具结果返回给模型，提示用户稍后重试
+ */
+public class ServiceDegradedException extends RuntimeException {
+
+    private final String endpoint;
+
+    public ServiceDegradedException(String endpoint, String message) {
+        super(message);
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
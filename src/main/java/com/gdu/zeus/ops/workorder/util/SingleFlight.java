@@ -0,0 +1,87 @@
+package com.gdu.zeus.ops.workorder.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 并发请求合并(single-flight)
+ * <p>
+ * 同一个键同时只执行一次调用：第一个到达的线程发起调用，调用期间到达的相同请求等待并共享其结果或异常，
+ * 调用结束后立即移除，不缓存结果。
+ * 指标：workorder.api.coalesce{endpoint, result=leader|shared}，合并比例 = shared / (leader + shared)；
+ * workorder.api.coalesce.inflight 为进行中的调用数。
+ *
+ * @param <K> 请求键
+ * @param <V> 结果
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCounter;
+    private final Counter sharedCounter;
+
+    /**
+     * @param endpoint 接口标识(指标标签)
+     */
+    public SingleFlight(String endpoint, MeterRegistry meterRegistry) {
+        this.leaderCounter = Counter.builder("workorder.api.coalesce")
+                .tag("endpoint", endpoint).tag("result", "leader").register(meterRegistry);
+        this.sharedCounter = Counter.builder("workorder.api.coalesce")
+                .description("与进行中的相同请求合并、未发出远程调用的次数")
+                .tag("endpoint", endpoint).tag("result", "shared").register(meterRegistry);
+        Gauge.builder("workorder.api.coalesce.inflight", inFlight, Map::size)
+                .tag("endpoint", endpoint).register(meterRegistry);
+    }
+
+    /**
+     * 执行调用，已有相同键的调用进行中时等待其结果
+     *
+     * @param key  请求键，参数相同的请求键应相等
+     * @param call 实际调用，在第一个到达的线程中执行
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            sharedCounter.increment();
+            return await(existing);
+        }
+        leaderCounter.increment();
+        try {
+            V value = call.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待合并请求结果时被中断", e);
+        } catch (ExecutionException e) {
+            // 原样抛出发起方的异常(如降级异常)，由各调用方自行处理
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
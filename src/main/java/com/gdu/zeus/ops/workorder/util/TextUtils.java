@@ -0,0 +1,26 @@
+package com.gdu.zeus.ops.workorder.util;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.StrUtil;
+import lombok.experimental.UtilityClass;
+
+import java.util.regex.Pattern;
+
+/**
+ * 文本工具：检索问题、名称、同义词等的统一归一化，保证建缓存键(索引)和查询两侧规则一致
+ */
+@UtilityClass
+public class TextUtils {
+
+    private static final Pattern NOISE = Pattern.compile("[\\p{P}\\p{S}\\s]+");
+
+    /**
+     * 归一化：全角转半角、转小写、去除空白和标点
+     */
+    public static String normalize(String text) {
+        if (StrUtil.isBlank(text)) {
+            return "";
+        }
+        return NOISE.matcher(Convert.toDBC(text).toLowerCase()).replaceAll("");
+    }
+}
@@ -1,45 +1,83 @@
-package com.gdu.zeus.ops.workorder.util;
-
-import lombok.experimental.UtilityClass;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-
-/**
- * 工具结果保持器，用来存储tools中得到的结果，请求id 作为key， value为键值对数据
- */
-@UtilityClass
-public class ToolResultHolder {
-
-    private static Map<String, Map<String, Object>> HANDLER_MAP = new ConcurrentHashMap<>();
-
-    public static void put(String key, String field, Object result) {
-        if (null == key || null == field) {
-            return;
-        }
-        HANDLER_MAP.computeIfAbsent(key, k -> new HashMap<>()).put(field, result);
-    }
-
-    public static Map<String, Object> get(String key) {
-        return key == null ? null : HANDLER_MAP.get(key);
-    }
-
-    public static Object get(String key, String field) {
-        if (null == key || null == field) {
-            return null;
-        }
-        return Optional.ofNullable(HANDLER_MAP.get(key))
-                .map(map -> map.get(field))
-                .orElse(null);
-    }
-
-    public static void remove(String key) {
-        if (null == key) {
-            return;
-        }
-        HANDLER_MAP.remove(key);
-    }
-
-}
+package com.gdu.zeus.ops.workorder.util;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import lombok.experimental.UtilityClass;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 工具结果保持器，用来存储tools中得到的结果，请求id 作为key， value为键值对数据
+ * <p>
+ * 请求结束(完成、异常、取消)时由调用方移除；未能移除的条目(如流从未被订阅)按有效期过期，
+ * 总条目数有上限，超出后淘汰最久未使用的请求，避免长期运行时内存增长。
+ */
+@UtilityClass
+public class ToolResultHolder {
+
+    /**
+     * 最多保留的请求数
+     */
+    static final int MAX_REQUESTS = 10_000;
+
+    /**
+     * 单个请求结果的有效期，应大于一次对话流的最长耗时
+     */
+    static final long TTL_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final LRUCache<String, Map<String, Object>> HANDLER_MAP =
+            CacheUtil.newLRUCache(MAX_REQUESTS, TTL_MS);
+
+    public static void put(String key, String field, Object result) {
+        if (null == key || null == field) {
+            return;
+        }
+        // 同一请求的多个工具可能并发写入
+        Map<String, Object> fields = HANDLER_MAP.get(key, false, ConcurrentHashMap::new);
+        if (result == null) {
+            fields.remove(field);
+        } else {
+            fields.put(field, result);
+        }
+    }
+
+    public static Map<String, Object> get(String key) {
+        return key == null ? null : HANDLER_MAP.get(key, false);
+    }
+
+    public static Object get(String key, String field) {
+        if (null == key || null == field) {
+            return null;
+        }
+        return Optional.ofNullable(HANDLER_MAP.get(key, false))
+                .map(map -> map.get(field))
+                .orElse(null);
+    }
+
+    public static void remove(String key) {
+        if (null == key) {
+            return;
+        }
+        HANDLER_MAP.remove(key);
+    }
+
+    /**
+     * 当前保留的请求数(含尚未清理的过期条目)
+     */
+    public static int size() {
+        return HANDLER_MAP.size();
+    }
+
+    /**
+     * 清理过期条目
+     *
+     * @return 清理的条目数
+     */
+    public static int prune() {
+        return HANDLER_MAP.prune();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.gdu.zeus.ops.workorder.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ToolResultHolder} 的指标与定期清理
+ * <p>
+ * 指标：workorder.tool.results.size 当前保留的请求数，workorder.tool.results.expired 过期清理的请求数。
+ * 正常情况下请求结束即移除，expired 持续增长说明存在未清理的调用路径。
+ */
+@Slf4j
+@Component
+public class ToolResultHolderMetrics implements MeterBinder {
+
+    private Counter expiredCounter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("workorder.tool.results.size", ToolResultHolder::size)
+                .description("工具结果保持器中的请求数")
+                .register(registry);
+        this.expiredCounter = Counter.builder("workorder.tool.results.expired")
+                .description("过期清理的工具结果请求数")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void prune() {
+        int pruned = ToolResultHolder.prune();
+        if (pruned > 0) {
+            log.info("清理过期工具结果: {}个请求, 剩余{}个", pruned, ToolResultHolder.size());
+            if (expiredCounter != null) {
+                expiredCounter.increment(pruned);
+            }
+        }
+    }
+}
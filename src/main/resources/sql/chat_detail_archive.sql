@@ -0,0 +1,24 @@
+-- 对话详情冷数据归档表：最后一条消息早于 workorder.chat-archive.retain-days 的对话组由 ChatDetailArchiver
+-- 整组从 chat_detail 移入本表，chat_detail 只保留近期数据；读取时两表 UNION ALL(见 ChatDetailMapper.xml)
+-- 使用 InnoDB 压缩行格式(需 innodb_file_per_table=ON，MySQL 5.7+ 默认开启)，对话文本压缩率通常在 50% 左右
+-- 上线顺序：先执行本脚本，再发布应用(读取语句依赖本表，归档任务依赖 conversation_summary.archived)
+CREATE TABLE chat_detail_archive (
+    id                     BIGINT       NOT NULL COMMENT '沿用 chat_detail 的主键',
+    chat_id                VARCHAR(64)  NOT NULL COMMENT '对话ID',
+    conversation_id        VARCHAR(64)           DEFAULT NULL COMMENT 'Dify的conversationId',
+    chat_type              INT                   DEFAULT NULL COMMENT '对话类型：1-目标检测 2-告警研判 3-智能问数 4-创建工单',
+    conversation_stop_flag TINYINT               DEFAULT 0 COMMENT '对话是否被结束：0-否 1-是',
+    conversation_stop_time DATETIME              DEFAULT NULL COMMENT '对话结束时间',
+    content                LONGTEXT              COMMENT '对话内容',
+    img_url                VARCHAR(1024)         DEFAULT NULL COMMENT '图片链接',
+    role                   VARCHAR(20)           DEFAULT NULL COMMENT '对话角色：USER-用户提问 ASSISTANT-大模型回答',
+    create_time            DATETIME              DEFAULT NULL COMMENT '对话内容创建时间',
+    archive_time           DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+    PRIMARY KEY (id),
+    KEY idx_chat_detail_archive_conversation (chat_id, chat_type, conversation_id, create_time)
+) ROW_FORMAT = COMPRESSED KEY_BLOCK_SIZE = 8 COMMENT '对话详情归档';
+
+-- 对话组归档标记：归档后又有新消息时由 upsertOnMessage 重置为 0，下次归档再移入
+ALTER TABLE conversation_summary
+    ADD COLUMN archived TINYINT NOT NULL DEFAULT 0 COMMENT '是否已归档：0-否 1-是',
+    ADD KEY idx_conversation_summary_archive (archived, last_message_time);
@@ -0,0 +1,5 @@
+-- 对话详情分页查询索引
+-- ChatDetailMapper.selectConversationMessages 在对话组内按 create_time 游标分页；
+-- 对话组概要改由 conversation_summary 表维护(见 conversation_summary.sql)，回填时也使用本索引
+CREATE INDEX idx_chat_detail_conversation
+    ON chat_detail (chat_id, chat_type, conversation_id, create_time);
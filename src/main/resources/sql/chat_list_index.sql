@@ -0,0 +1,4 @@
+-- 对话列表分页查询索引
+-- 覆盖 ChatMapper.selectChatPage 的过滤(create_by)、排序与游标(create_time, id)及返回列(title, chat_id)，
+-- 查询只读索引不回表
+CREATE INDEX idx_chat_create_by_time ON chat (create_by, create_time, id, title, chat_id);
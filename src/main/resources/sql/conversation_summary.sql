@@ -0,0 +1,41 @@
+-- 对话组概要表：随 chat_detail 写入(ChatService.saveMessage)与结束对话(stopConversation)增量维护，
+-- 对话组列表与当前对话组查询直接读取本表，不再扫描 chat_detail
+CREATE TABLE conversation_summary (
+    chat_id              VARCHAR(64)  NOT NULL COMMENT '对话ID',
+    chat_type            INT          NOT NULL COMMENT '对话类型：1-目标检测 2-告警研判 3-智能问数 4-创建工单',
+    conversation_id      VARCHAR(64)  NOT NULL DEFAULT '' COMMENT 'Dify的conversationId，未关联时为空字符串',
+    message_count        INT          NOT NULL DEFAULT 0 COMMENT '消息数',
+    first_message_time   DATETIME     NOT NULL COMMENT '第一条消息时间',
+    last_message_time    DATETIME     NOT NULL COMMENT '最后一条消息时间',
+    last_message_preview VARCHAR(200)          DEFAULT NULL COMMENT '最后一条消息内容预览',
+    last_message_role    VARCHAR(20)           DEFAULT NULL COMMENT '最后一条消息角色',
+    stop_flag            TINYINT      NOT NULL DEFAULT 0 COMMENT '对话是否被结束：0-否 1-是',
+    stop_time            DATETIME              DEFAULT NULL COMMENT '对话结束时间',
+    PRIMARY KEY (chat_id, chat_type, conversation_id),
+    KEY idx_conversation_summary_last (chat_id, last_message_time)
+) COMMENT '对话组概要';
+
+-- 存量数据回填，上线时在停写窗口执行一次
+INSERT INTO conversation_summary
+    (chat_id, chat_type, conversation_id, message_count, first_message_time, last_message_time,
+     last_message_preview, last_message_role, stop_flag, stop_time)
+SELECT d.chat_id, d.chat_type, COALESCE(d.conversation_id, ''), d.message_count,
+       d.first_message_time, d.last_message_time,
+       (SELECT LEFT(x.content, 200) FROM chat_detail x
+         WHERE x.chat_id = d.chat_id AND x.chat_type = d.chat_type
+           AND COALESCE(x.conversation_id, '') = COALESCE(d.conversation_id, '')
+         ORDER BY x.create_time DESC, x.id DESC LIMIT 1),
+       (SELECT x.role FROM chat_detail x
+         WHERE x.chat_id = d.chat_id AND x.chat_type = d.chat_type
+           AND COALESCE(x.conversation_id, '') = COALESCE(d.conversation_id, '')
+         ORDER BY x.create_time DESC, x.id DESC LIMIT 1),
+       d.stop_flag, d.stop_time
+FROM (SELECT chat_id, chat_type, conversation_id,
+             COUNT(*) AS message_count,
+             MIN(create_time) AS first_message_time,
+             MAX(create_time) AS last_message_time,
+             MAX(conversation_stop_flag) AS stop_flag,
+             MAX(conversation_stop_time) AS stop_time
+      FROM chat_detail
+      WHERE chat_type IS NOT NULL
+      GROUP BY chat_id, chat_type, conversation_id) d;
@@ -0,0 +1,135 @@
+package com.gdu.zeus.ops.workorder.benchmark;
+
+import com.gdu.zeus.ops.workorder.config.WorkOrderApiProperties;
+import com.gdu.zeus.ops.workorder.util.HedgedRequests;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 对冲请求效果对比
+ * <p>
+ * 在本地启动一个注入延迟的HTTP桩服务，分别在不对冲和对冲两种模式下并发请求，输出 p50/p95/p99/max 耗时和额外请求比例。
+ * 延迟分布：多数请求为正常耗时，少量请求落入慢尾部，模拟工单系统偶发的长尾。
+ * <pre>
+ * 用法: HedgingBenchmark [请求数=2000] [并发数=16] [慢请求比例=0.05] [慢请求耗时ms=1500]
+ * </pre>
+ * 位于测试源码目录，不随应用打包；通过 mvn test-compile exec:java -Dexec.classpathScope=test 运行。
+ */
+@Slf4j
+public class HedgingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        double slowRatio = args.length > 2 ? Double.parseDouble(args[2]) : 0.05;
+        long slowMillis = args.length > 3 ? Long.parseLong(args[3]) : 1500;
+
+        AtomicLong served = new AtomicLong();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/poi", exchange -> {
+            served.incrementAndGet();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            // 正常请求 20~80ms，慢请求 slowMillis 上下浮动
+            long latency = random.nextDouble() < slowRatio
+                    ? (long) (slowMillis * random.nextDouble(0.8, 1.2))
+                    : random.nextLong(20, 80);
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"code\":200,\"msg\":\"ok\",\"data\":[]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/poi";
+        RestTemplate restTemplate = new RestTemplate(new ReactorClientHttpRequestFactory());
+
+        try {
+            // 预热
+            run(restTemplate, url, 200, concurrency, hedging(false), served);
+            served.set(0);
+            Result plain = run(restTemplate, url, requests, concurrency, hedging(false), served);
+            served.set(0);
+            Result hedged = run(restTemplate, url, requests, concurrency, hedging(true), served);
+            log.info("请求数={} 并发={} 慢请求比例={} 慢请求耗时={}ms", requests, concurrency, slowRatio, slowMillis);
+            log.info("不对冲: {}", plain);
+            log.info("对冲:   {}", hedged);
+        } finally {
+            server.stop(0);
+            ((ExecutorService) server.getExecutor()).shutdownNow();
+        }
+    }
+
+    private static WorkOrderApiProperties.Hedging hedging(boolean enabled) {
+        WorkOrderApiProperties.Hedging config = new WorkOrderApiProperties.Hedging();
+        config.setEnabled(enabled);
+        return config;
+    }
+
+    private static Result run(RestTemplate restTemplate, String url, int requests, int concurrency,
+                              WorkOrderApiProperties.Hedging config, AtomicLong served) throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HedgedRequests hedgedRequests = new HedgedRequests(config, registry);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                futures.add(clients.submit(() -> {
+                    long start = System.nanoTime();
+                    hedgedRequests.execute("poi", () -> restTemplate.postForObject(url, "{}", String.class));
+                    return System.nanoTime() - start;
+                }));
+            }
+            long[] nanos = new long[requests];
+            for (int i = 0; i < requests; i++) {
+                nanos[i] = futures.get(i).get();
+            }
+            Counter sent = registry.find("workorder.api.hedge").tag("result", "sent").counter();
+            return new Result(nanos, sent != null ? (long) sent.count() : 0, served.get());
+        } finally {
+            clients.shutdownNow();
+            hedgedRequests.shutdown();
+        }
+    }
+
+    private record Result(long[] nanos, long hedges, long served) {
+
+        @Override
+        public String toString() {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            return String.format("p50=%dms p95=%dms p99=%dms max=%dms 对冲%d次 服务端请求%d(额外%.1f%%)",
+                    millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1]),
+                    hedges, served, 100.0 * (served - sorted.length) / sorted.length);
+        }
+
+        private static long millis(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+        }
+    }
+}
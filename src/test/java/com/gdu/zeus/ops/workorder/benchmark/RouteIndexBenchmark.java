@@ -0,0 +1,120 @@
+package com.gdu.zeus.ops.workorder.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.HttpClientConfig;
+import com.gdu.zeus.ops.workorder.config.RouteProperties;
+import com.gdu.zeus.ops.workorder.config.SimulatorProperties;
+import com.gdu.zeus.ops.workorder.config.WorkOrderApiProperties;
+import com.gdu.zeus.ops.workorder.services.RouteSpatialIndex;
+import com.gdu.zeus.ops.workorder.services.impl.WorkOrderExternalServiceImpl;
+import com.gdu.zeus.ops.workorder.simulator.WorkOrderApiSimulator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestTemplate;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 本地航线索引与远程半径查询的耗时对比
+ * <p>
+ * 启动内嵌模拟器，用与应用相同的 {@link WorkOrderExternalServiceImpl} 同步一次 {@link RouteSpatialIndex}，
+ * 再以数据集中心点附近的随机点分别查询本地索引和远程接口，输出 p50/p99/max 耗时及结果数差异。
+ * <pre>
+ * 用法: RouteIndexBenchmark [查询次数=100] [查询半径m=2000] [延迟中位数ms=40] [延迟p99ms=400]
+ * </pre>
+ * 位于测试源码目录，不随应用打包；通过 mvn test-compile exec:java -Dexec.classpathScope=test 运行。
+ */
+@Slf4j
+public class RouteIndexBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        double radius = args.length > 1 ? Double.parseDouble(args[1]) : 2000;
+
+        SimulatorProperties simulatorProperties = new SimulatorProperties();
+        simulatorProperties.setPort(0);
+        if (args.length > 2) {
+            simulatorProperties.setLatencyMedianMs(Long.parseLong(args[2]));
+        }
+        if (args.length > 3) {
+            simulatorProperties.setLatencyP99Ms(Long.parseLong(args[3]));
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WorkOrderApiProperties apiProperties = new WorkOrderApiProperties();
+        WorkOrderApiSimulator simulator = new WorkOrderApiSimulator(simulatorProperties, apiProperties,
+                objectMapper, registry);
+        simulator.start();
+        apiProperties.setBaseUrl(simulator.baseUrl());
+
+        HttpClientConfig httpClientConfig = new HttpClientConfig(apiProperties);
+        ConnectionProvider connectionProvider = httpClientConfig.workOrderConnectionProvider();
+        RestTemplate restTemplate = httpClientConfig.workOrderRestTemplate(connectionProvider);
+        WorkOrderExternalServiceImpl service = new WorkOrderExternalServiceImpl(restTemplate, apiProperties,
+                registry, objectMapper);
+
+        double centerLon = simulatorProperties.getCenterLon();
+        double centerLat = simulatorProperties.getCenterLat();
+        RouteProperties routeProperties = new RouteProperties();
+        routeProperties.getIndex().setEnabled(true);
+        routeProperties.getIndex().setSyncCenters(List.of(centerLon + "," + centerLat));
+        routeProperties.getIndex().setSyncRadius(simulatorProperties.getSpreadMeters() + radius);
+        RouteSpatialIndex index = new RouteSpatialIndex(service, routeProperties, registry);
+        try {
+            if (!index.sync()) {
+                throw new IllegalStateException("航线索引同步失败");
+            }
+            log.info("航线索引同步完成: 航线{}条", index.size());
+            benchmark(index, service, centerLon, centerLat, radius, Math.max(1, queries));
+        } finally {
+            service.shutdown();
+            connectionProvider.dispose();
+            simulator.stop();
+        }
+    }
+
+    private static void benchmark(RouteSpatialIndex index, WorkOrderExternalServiceImpl service,
+                                  double centerLon, double centerLat, double radius, int queries) {
+        long[] localNanos = new long[queries];
+        long[] remoteNanos = new long[queries];
+        int mismatches = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < queries; i++) {
+            // 中心点附近约±5km的随机点
+            double lon = centerLon + random.nextDouble(-0.05, 0.05);
+            double lat = centerLat + random.nextDouble(-0.05, 0.05);
+
+            long start = System.nanoTime();
+            List<WorkOrderApiDto.RouteResponse> local = index.query(lon, lat, radius);
+            localNanos[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<WorkOrderApiDto.RouteResponse> remote = service.getRoutes(WorkOrderApiDto.RouteRequest.builder()
+                    .lon(lon).lat(lat).radius(radius).build());
+            remoteNanos[i] = System.nanoTime() - start;
+
+            if (remote != null && remote.size() != local.size()) {
+                mismatches++;
+            }
+        }
+        log.info("航线查询耗时对比({}次, 半径{}m): 本地索引 {}; 远程接口 {}; 结果数不一致{}次",
+                queries, radius, summary(localNanos), summary(remoteNanos), mismatches);
+    }
+
+    private static String summary(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("p50=%.3fms p99=%.3fms max=%.3fms",
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,156 @@
+package com.gdu.zeus.ops.workorder.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.HttpClientConfig;
+import com.gdu.zeus.ops.workorder.config.SimulatorProperties;
+import com.gdu.zeus.ops.workorder.config.WorkOrderApiProperties;
+import com.gdu.zeus.ops.workorder.services.impl.WorkOrderExternalServiceImpl;
+import com.gdu.zeus.ops.workorder.simulator.SimulatorDataset;
+import com.gdu.zeus.ops.workorder.simulator.WorkOrderApiSimulator;
+import com.gdu.zeus.ops.workorder.util.RouteStreamDecoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestTemplate;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 工单系统API端到端压测
+ * <p>
+ * 启动内嵌模拟器，用与应用相同的连接池、RestTemplate和 {@link WorkOrderExternalServiceImpl}(熔断、重试、流式解码)
+ * 并发执行 POI查询 / 航线查询 / 航线详情 / 创建工单 混合请求，按接口输出 p50/p95/p99/max 耗时和失败数。
+ * <pre>
+ * 用法: WorkOrderApiLoadTest [请求数=5000] [并发数=32] [HTTP 500比例=0.01] [每秒限流=0] [延迟中位数ms=40] [延迟p99ms=400]
+ * </pre>
+ * 位于测试源码目录，连同模拟器一起不随应用打包；通过 mvn test-compile exec:java -Dexec.classpathScope=test 运行。
+ */
+@Slf4j
+public class WorkOrderApiLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+
+        SimulatorProperties simulatorProperties = new SimulatorProperties();
+        simulatorProperties.setPort(0);
+        simulatorProperties.setErrorRate(args.length > 2 ? Double.parseDouble(args[2]) : 0.01);
+        simulatorProperties.setMaxRequestsPerSecond(args.length > 3 ? Integer.parseInt(args[3]) : 0);
+        simulatorProperties.setLatencyMedianMs(args.length > 4 ? Long.parseLong(args[4]) : 40);
+        simulatorProperties.setLatencyP99Ms(args.length > 5 ? Long.parseLong(args[5]) : 400);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WorkOrderApiProperties apiProperties = new WorkOrderApiProperties();
+        WorkOrderApiSimulator simulator = new WorkOrderApiSimulator(simulatorProperties, apiProperties,
+                objectMapper, registry);
+        simulator.start();
+        apiProperties.setBaseUrl(simulator.baseUrl());
+
+        HttpClientConfig httpClientConfig = new HttpClientConfig(apiProperties);
+        ConnectionProvider connectionProvider = httpClientConfig.workOrderConnectionProvider();
+        RestTemplate restTemplate = httpClientConfig.workOrderRestTemplate(connectionProvider);
+        WorkOrderExternalServiceImpl service = new WorkOrderExternalServiceImpl(restTemplate, apiProperties,
+                registry, objectMapper);
+        // 与模拟器相同种子，取样本POI作为查询条件
+        SimulatorDataset samples = new SimulatorDataset(simulatorProperties);
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                futures.add(clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    double dice = random.nextDouble();
+                    String operation = dice < 0.4 ? "getPoiName" : dice < 0.8 ? "getRoutes"
+                            : dice < 0.95 ? "getRouteInfo" : "createWorkOrder";
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = call(service, samples, operation, random);
+                    } catch (RuntimeException e) {
+                        ok = false;
+                    }
+                    latencies.computeIfAbsent(operation, k -> new ConcurrentLinkedQueue<>())
+                            .add(System.nanoTime() - start);
+                    if (!ok) {
+                        failures.computeIfAbsent(operation, k -> new AtomicLong()).incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+            service.shutdown();
+            connectionProvider.dispose();
+            simulator.stop();
+        }
+
+        log.info(String.format("请求数=%d 并发=%d HTTP500比例=%.3f 限流=%d/s 延迟中位数=%dms p99=%dms", requests, concurrency,
+                simulatorProperties.getErrorRate(), simulatorProperties.getMaxRequestsPerSecond(),
+                simulatorProperties.getLatencyMedianMs(), simulatorProperties.getLatencyP99Ms()));
+        latencies.forEach((operation, values) -> log.info(String.format("%-16s %s 失败%d次", operation,
+                summary(values), failures.getOrDefault(operation, new AtomicLong()).get())));
+        double served = registry.find("workorder.simulator.requests").counters().stream()
+                .mapToDouble(Counter::count).sum();
+        double retries = registry.find("workorder.api.retries").counters().stream()
+                .mapToDouble(Counter::count).sum();
+        log.info("模拟器处理请求{}次, 客户端重试{}次", (long) served, (long) retries);
+    }
+
+    private static boolean call(WorkOrderExternalServiceImpl service, SimulatorDataset samples, String operation,
+                                ThreadLocalRandom random) {
+        switch (operation) {
+            case "getPoiName" -> {
+                WorkOrderApiDto.POILocationResponse poi = samples.poi(random.nextInt(samples.poiCount()));
+                return service.getPoiName(WorkOrderApiDto.POILocationRequest.builder()
+                        .name(poi.getShortName()).build()) != null;
+            }
+            case "getRoutes" -> {
+                WorkOrderApiDto.POILocationResponse poi = samples.poi(random.nextInt(samples.poiCount()));
+                return service.getRoutes(WorkOrderApiDto.RouteRequest.builder()
+                        .lon(poi.getX()).lat(poi.getY()).radius(2000d).build(),
+                        RouteStreamDecoder.SUMMARY_FIELDS) != null;
+            }
+            case "getRouteInfo" -> {
+                WorkOrderApiDto.RouteResponse route = samples.routeAt(random.nextInt(samples.routeCount()));
+                return service.getRouteInfo(WorkOrderApiDto.RouteInfoRequest.builder()
+                        .routeId(String.valueOf(route.getRouteId())).build()) != null;
+            }
+            default -> {
+                return service.createWorkOrder(WorkOrderApiDto.CreateWorkOrderRequest.builder()
+                        .name("压测工单").natureId("2").source(6).build()) != null;
+            }
+        }
+    }
+
+    private static String summary(ConcurrentLinkedQueue<Long> values) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return String.format("请求%d次 p50=%dms p95=%dms p99=%dms max=%dms", sorted.length,
+                millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99),
+                TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1]));
+    }
+
+    private static long millis(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+}
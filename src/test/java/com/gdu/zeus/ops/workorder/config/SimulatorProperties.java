@@ -0,0 +1,95 @@
+package com.gdu.zeus.ops.workorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 工单系统API模拟器配置属性
+ * 在application.yml中通过 workorder.simulator 配置，使用 simulator 环境时自动启用
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "workorder.simulator")
+public class SimulatorProperties {
+
+    /**
+     * 是否启动内嵌模拟器
+     */
+    private boolean enabled = false;
+
+    /**
+     * 监听端口，0表示随机端口
+     */
+    private int port = 18900;
+
+    /**
+     * 处理请求的线程数
+     */
+    private int threads = 64;
+
+    /**
+     * 数据集随机种子，相同种子生成相同数据
+     */
+    private long seed = 20240601L;
+
+    /**
+     * 生成的POI数量
+     */
+    private int poiCount = 5000;
+
+    /**
+     * 生成的航线数量
+     */
+    private int routeCount = 3000;
+
+    /**
+     * 数据集中心点经度
+     */
+    private double centerLon = 114.40;
+
+    /**
+     * 数据集中心点纬度
+     */
+    private double centerLat = 30.50;
+
+    /**
+     * 数据分布半径(米)
+     */
+    private double spreadMeters = 30000;
+
+    /**
+     * 单次POI查询最多返回条数
+     */
+    private int maxPoiResults = 20;
+
+    /**
+     * 响应延迟中位数(毫秒)，延迟服从对数正态分布
+     */
+    private long latencyMedianMs = 40;
+
+    /**
+     * 响应延迟p99(毫秒)
+     */
+    private long latencyP99Ms = 400;
+
+    /**
+     * 响应延迟上限(毫秒)
+     */
+    private long latencyMaxMs = 5000;
+
+    /**
+     * 返回HTTP 500的比例
+     */
+    private double errorRate = 0.0;
+
+    /**
+     * 返回业务失败(HTTP 200, code非0)的比例
+     */
+    private double businessErrorRate = 0.0;
+
+    /**
+     * 每秒最多处理的请求数，超出返回HTTP 429，0表示不限流
+     */
+    private int maxRequestsPerSecond = 0;
+}
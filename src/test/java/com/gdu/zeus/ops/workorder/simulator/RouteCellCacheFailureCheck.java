@@ -0,0 +1,79 @@
+package com.gdu.zeus.ops.workorder.simulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.HttpClientConfig;
+import com.gdu.zeus.ops.workorder.config.RouteProperties;
+import com.gdu.zeus.ops.workorder.config.SimulatorProperties;
+import com.gdu.zeus.ops.workorder.config.WorkOrderApiProperties;
+import com.gdu.zeus.ops.workorder.services.RouteCellCache;
+import com.gdu.zeus.ops.workorder.services.impl.WorkOrderExternalServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestTemplate;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+
+/**
+ * 航线单元格缓存失败校验
+ * <p>
+ * 启动内嵌模拟器并让所有请求返回业务失败(HTTP 200、code != 0)，经 {@link WorkOrderExternalServiceImpl} 的完整调用链路
+ * (熔断、对冲、合并、流式解码)查询航线，校验查询返回null且 {@link RouteCellCache} 没有写入单元格；
+ * 随后恢复正常响应，校验同一查询会写入单元格，确认校验本身有效。不满足时抛出异常，进程以非0退出。
+ * <p>
+ * 位于测试源码目录，不随应用打包；通过 mvn test-compile exec:java -Dexec.classpathScope=test 运行。
+ */
+@Slf4j
+public class RouteCellCacheFailureCheck {
+
+    public static void main(String[] args) throws Exception {
+        SimulatorProperties simulatorProperties = new SimulatorProperties();
+        simulatorProperties.setPort(0);
+        simulatorProperties.setLatencyMedianMs(5);
+        simulatorProperties.setLatencyP99Ms(20);
+        simulatorProperties.setBusinessErrorRate(1.0);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WorkOrderApiProperties apiProperties = new WorkOrderApiProperties();
+        WorkOrderApiSimulator simulator = new WorkOrderApiSimulator(simulatorProperties, apiProperties,
+                objectMapper, registry);
+        simulator.start();
+        apiProperties.setBaseUrl(simulator.baseUrl());
+
+        HttpClientConfig httpClientConfig = new HttpClientConfig(apiProperties);
+        ConnectionProvider connectionProvider = httpClientConfig.workOrderConnectionProvider();
+        RestTemplate restTemplate = httpClientConfig.workOrderRestTemplate(connectionProvider);
+        WorkOrderExternalServiceImpl service = new WorkOrderExternalServiceImpl(restTemplate, apiProperties,
+                registry, objectMapper);
+        RouteCellCache cache = new RouteCellCache(service, new RouteProperties(), registry);
+        WorkOrderApiDto.POILocationResponse poi = new SimulatorDataset(simulatorProperties).poi(0);
+        try {
+            List<WorkOrderApiDto.RouteResponse> failed = cache.getRoutes(poi.getX(), poi.getY(), 2000);
+            check(failed == null, "业务失败时航线查询应返回null，实际返回" + failed);
+            check(cachedCells(registry) == 0, "业务失败不应写入单元格缓存，实际缓存" + cachedCells(registry) + "个");
+
+            simulatorProperties.setBusinessErrorRate(0.0);
+            List<WorkOrderApiDto.RouteResponse> routes = cache.getRoutes(poi.getX(), poi.getY(), 2000);
+            check(routes != null, "恢复正常后航线查询不应失败");
+            check(cachedCells(registry) == 1, "恢复正常后应写入单元格缓存，实际缓存" + cachedCells(registry) + "个");
+            log.info("校验通过: 业务失败不写入航线单元格缓存，正常响应写入(航线{}条)", routes.size());
+        } finally {
+            cache.shutdown();
+            service.shutdown();
+            connectionProvider.dispose();
+            simulator.stop();
+        }
+    }
+
+    private static double cachedCells(SimpleMeterRegistry registry) {
+        return registry.get("workorder.cache.size").tag("cache", "route_cell").gauge().value();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
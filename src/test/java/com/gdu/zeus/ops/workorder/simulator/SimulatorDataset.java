@@ -0,0 +1,238 @@
+package com.gdu.zeus.ops.workorder.simulator;
+
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.SimulatorProperties;
+import com.gdu.zeus.ops.workorder.util.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 模拟器数据集
+ * <p>
+ * 按种子确定性生成POI和航线：POI名称由 区域 + 地名 + 类型 组合，坐标在中心点周围分布；
+ * 航线以随机POI为起点在附近随机游走生成航点，坐标格式与真实接口一致([[经度,纬度,高度],...])。
+ * 数据生成后只读，可并发查询。
+ */
+public class SimulatorDataset {
+
+    private static final String[] DISTRICTS = {"光谷", "汉口", "武昌", "汉阳", "青山", "洪山", "江夏", "蔡甸",
+            "黄陂", "新洲", "东西湖", "沌口", "关山", "南湖", "后湖", "徐东"};
+    private static final String[] PLACES = {"东湖", "南湖", "金融", "创新", "未来", "长江", "滨江", "花山", "梦泽",
+            "凤凰", "月湖", "晴川", "紫阳", "沙湖", "杨春", "青年", "软件", "生物", "光电", "智谷"};
+    private static final String[] KINDS = {"广场", "公园", "大道", "地铁站", "科技园", "小学", "医院", "体育馆",
+            "商业中心", "湿地", "码头", "立交", "产业园", "社区", "大厦"};
+    private static final String[] FACTORIES = {"GDU", "DJI"};
+    private static final String[] LABELS = {"日常巡查", "重点区域", "河道", "道路", "林区", "园区"};
+
+    private static final double METERS_PER_DEGREE = 111_320d;
+
+    private final List<WorkOrderApiDto.POILocationResponse> pois;
+    private final List<WorkOrderApiDto.RouteResponse> routes;
+    private final List<List<double[]>> routePoints;
+    private final Map<Integer, WorkOrderApiDto.RouteResponse> routesById;
+    private final List<WorkOrderApiDto.OrderNatureResponse> natures;
+
+    public SimulatorDataset(SimulatorProperties properties) {
+        Random random = new Random(properties.getSeed());
+        this.pois = Collections.unmodifiableList(generatePois(properties, random));
+        this.routes = new ArrayList<>(properties.getRouteCount());
+        this.routePoints = new ArrayList<>(properties.getRouteCount());
+        generateRoutes(properties, random);
+        Map<Integer, WorkOrderApiDto.RouteResponse> byId = new LinkedHashMap<>();
+        for (WorkOrderApiDto.RouteResponse route : routes) {
+            byId.put(route.getRouteId(), route);
+        }
+        this.routesById = Collections.unmodifiableMap(byId);
+        this.natures = List.of(
+                nature(1, "野外建设巡查"), nature(2, "空中巡查"), nature(3, "护林防火"), nature(4, "大气探测"),
+                nature(5, "航空摄影"), nature(6, "空中拍照"), nature(7, "测绘"), nature(8, "其他"));
+    }
+
+    public List<WorkOrderApiDto.OrderNatureResponse> natures() {
+        return natures;
+    }
+
+    public int poiCount() {
+        return pois.size();
+    }
+
+    public int routeCount() {
+        return routes.size();
+    }
+
+    public WorkOrderApiDto.POILocationResponse poi(int index) {
+        return pois.get(index);
+    }
+
+    public WorkOrderApiDto.RouteResponse routeAt(int index) {
+        return routes.get(index);
+    }
+
+    /**
+     * 按名称模糊查询POI，语义同 LIKE '%name%'
+     */
+    public List<WorkOrderApiDto.POILocationResponse> searchPoi(String name, int limit) {
+        if (name == null || name.isBlank()) {
+            return Collections.emptyList();
+        }
+        String key = name.trim();
+        List<WorkOrderApiDto.POILocationResponse> result = new ArrayList<>();
+        for (WorkOrderApiDto.POILocationResponse poi : pois) {
+            if (poi.getName().contains(key) || poi.getAddress().contains(key)) {
+                result.add(poi);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查询任一航点在半径内的航线
+     */
+    public List<WorkOrderApiDto.RouteResponse> routesWithin(double lon, double lat, double radius) {
+        List<WorkOrderApiDto.RouteResponse> result = new ArrayList<>();
+        for (int i = 0; i < routes.size(); i++) {
+            if (GeoUtils.minDistance(lat, lon, routePoints.get(i)) <= radius) {
+                result.add(routes.get(i));
+            }
+        }
+        return result;
+    }
+
+    public WorkOrderApiDto.RouteResponse route(Integer routeId) {
+        return routeId != null ? routesById.get(routeId) : null;
+    }
+
+    private static List<WorkOrderApiDto.POILocationResponse> generatePois(SimulatorProperties properties,
+                                                                          Random random) {
+        List<WorkOrderApiDto.POILocationResponse> result = new ArrayList<>(properties.getPoiCount());
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < properties.getPoiCount(); i++) {
+            String district = DISTRICTS[random.nextInt(DISTRICTS.length)];
+            String base = district + PLACES[random.nextInt(PLACES.length)] + KINDS[random.nextInt(KINDS.length)];
+            String name = base;
+            for (int n = 2; !names.add(name); n++) {
+                name = base + n + "号";
+            }
+            double[] point = randomPoint(properties.getCenterLon(), properties.getCenterLat(),
+                    properties.getSpreadMeters(), random);
+            result.add(WorkOrderApiDto.POILocationResponse.builder()
+                    .recordId((long) i + 1)
+                    .mapId(1L)
+                    .x(round(point[0]))
+                    .y(round(point[1]))
+                    .name(name)
+                    .shortName(base)
+                    .address("武汉市" + district + "区" + PLACES[random.nextInt(PLACES.length)] + "路"
+                            + (random.nextInt(300) + 1) + "号")
+                    .poiUid(100_000L + i)
+                    .districtId(420_100 + random.nextInt(20))
+                    .searchCode(i)
+                    .shortFlag(0)
+                    .exit(0)
+                    .geom(String.format(Locale.ROOT, "POINT(%.6f %.6f)", point[0], point[1]))
+                    .build());
+        }
+        return result;
+    }
+
+    private void generateRoutes(SimulatorProperties properties, Random random) {
+        for (int i = 0; i < properties.getRouteCount(); i++) {
+            // 以随机POI为起点，使按地点查询时能命中航线
+            WorkOrderApiDto.POILocationResponse origin = pois.isEmpty() ? null : pois.get(random.nextInt(pois.size()));
+            double[] start = origin != null
+                    ? randomPoint(origin.getX(), origin.getY(), 1000, random)
+                    : randomPoint(properties.getCenterLon(), properties.getCenterLat(), properties.getSpreadMeters(), random);
+            int type = 1 + random.nextInt(3);
+            int pointNum = 4 + random.nextInt(27);
+            double altitude = 80 + random.nextInt(9) * 10;
+            List<double[]> points = new ArrayList<>(pointNum);
+            StringBuilder coordinates = new StringBuilder(pointNum * 32).append('[');
+            double lon = start[0];
+            double lat = start[1];
+            double heading = random.nextDouble() * 2 * Math.PI;
+            double length = 0;
+            for (int p = 0; p < pointNum; p++) {
+                if (p > 0) {
+                    double step = 50 + random.nextDouble() * 250;
+                    heading += random.nextGaussian() * 0.6;
+                    double nextLat = lat + step * Math.cos(heading) / METERS_PER_DEGREE;
+                    double nextLon = lon + step * Math.sin(heading) / (METERS_PER_DEGREE * Math.cos(Math.toRadians(lat)));
+                    length += GeoUtils.haversine(lat, lon, nextLat, nextLon);
+                    lon = nextLon;
+                    lat = nextLat;
+                    coordinates.append(',');
+                }
+                points.add(new double[]{lon, lat});
+                coordinates.append(String.format(Locale.ROOT, "[%.6f,%.6f,%.1f]", lon, lat, altitude));
+            }
+            coordinates.append(']');
+
+            int routeId = 10_000 + i;
+            String routeName = (origin != null ? origin.getName() : "航线") + (i % 3 == 0 ? "环形" : "")
+                    + "巡查线" + (i % 7 + 1) + "号";
+            routes.add(WorkOrderApiDto.RouteResponse.builder()
+                    .routeId(routeId)
+                    .routeSnapshotId(routeId * 10 + random.nextInt(10))
+                    .routeName(routeName)
+                    .type(type)
+                    .modelType(type == 1 ? 3 : type == 2 ? 5 : 2)
+                    .factory(FACTORIES[random.nextInt(FACTORIES.length)])
+                    .droneTypeCode("S" + (200 + random.nextInt(5) * 100))
+                    .podTypeCode("PTL" + (10 + random.nextInt(5)))
+                    .estimateDuration((int) (length / 8) + 60)
+                    .routeLength(Math.round(length * 10) / 10.0)
+                    .pointNum(pointNum)
+                    .shootingType(random.nextInt(2))
+                    .photoNum(pointNum * (1 + random.nextInt(3)))
+                    .videoNum(random.nextInt(2))
+                    .coordinates(coordinates.toString())
+                    .status(random.nextInt(20) == 0 ? 0 : 1)
+                    .routeFilePath("/route/files/" + routeId + "/" + routeId + ".kmz")
+                    .routeFileType(1 + random.nextInt(4))
+                    .routeFileMD5(String.format("%032x", random.nextLong() & Long.MAX_VALUE))
+                    .routeLabelList(List.of(WorkOrderApiDto.RouteLabel.builder()
+                            .id(1 + random.nextInt(LABELS.length)).name(LABELS[random.nextInt(LABELS.length)]).build()))
+                    .createTime(String.format("2024-%02d-%02d %02d:%02d:00", 1 + random.nextInt(12),
+                            1 + random.nextInt(28), random.nextInt(24), random.nextInt(60)))
+                    .build());
+            routePoints.add(points);
+        }
+    }
+
+    private static WorkOrderApiDto.OrderNatureResponse nature(int id, String label) {
+        return WorkOrderApiDto.OrderNatureResponse.builder()
+                .id(id)
+                .dictId(100)
+                .itemValue(String.valueOf(id))
+                .label(label)
+                .dictType("work_order_nature")
+                .sortOrder(id)
+                .build();
+    }
+
+    /**
+     * 在中心点周围半径内均匀取点，返回[经度,纬度]
+     */
+    private static double[] randomPoint(double centerLon, double centerLat, double radius, Random random) {
+        double distance = radius * Math.sqrt(random.nextDouble());
+        double angle = random.nextDouble() * 2 * Math.PI;
+        double lat = centerLat + distance * Math.cos(angle) / METERS_PER_DEGREE;
+        double lon = centerLon + distance * Math.sin(angle) / (METERS_PER_DEGREE * Math.cos(Math.toRadians(centerLat)));
+        return new double[]{lon, lat};
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1e6) / 1e6;
+    }
+}
@@ -0,0 +1,234 @@
+package com.gdu.zeus.ops.workorder.simulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdu.zeus.ops.workorder.client.dto.WorkOrderApiDto;
+import com.gdu.zeus.ops.workorder.config.SimulatorProperties;
+import com.gdu.zeus.ops.workorder.config.WorkOrderApiProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 内嵌工单系统API模拟器
+ * <p>
+ * 在本地端口上按 workorder.api.endpoints 的路径提供工单性质、POI、航线、航线详情、创建工单接口，
+ * 数据来自 {@link SimulatorDataset}，响应格式与真实接口一致，客户端走完整的HTTP调用链路
+ * (连接池、熔断、对冲、流式解码)。每个请求依次经过：限流(HTTP 429) -> 对数正态延迟 -> 错误注入(HTTP 500 / 业务失败)。
+ * 位于测试源码目录，不随应用打包：以测试classpath启动应用并激活 simulator profile 时生效
+ * (mvn spring-boot:test-run -Dspring-boot.run.profiles=simulator -Dspring-boot.run.main-class=com.gdu.zeus.ops.workorder.AgentApplication)，也可在压测程序中直接构造使用。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "workorder.simulator", name = "enabled", havingValue = "true")
+public class WorkOrderApiSimulator {
+
+    // 标准正态分布的99分位
+    private static final double Z_99 = 2.3263;
+
+    private final SimulatorProperties properties;
+    private final WorkOrderApiProperties.Endpoints endpoints;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong workOrderIds = new AtomicLong(100_000);
+
+    // 固定窗口限流
+    private final AtomicLong windowSecond = new AtomicLong();
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    private SimulatorDataset dataset;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public WorkOrderApiSimulator(SimulatorProperties properties, WorkOrderApiProperties apiProperties,
+                                 ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.endpoints = apiProperties.getEndpoints();
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        long begin = System.currentTimeMillis();
+        dataset = new SimulatorDataset(properties);
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()), r -> {
+            Thread thread = new Thread(r, "workorder-simulator-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", properties.getPort()), 0);
+        server.setExecutor(executor);
+        server.createContext(endpoints.getNatureList(), exchange -> handle(exchange, "natureList",
+                () -> dataset.natures()));
+        server.createContext(endpoints.getGetPoiName(), exchange -> handle(exchange, "getPoiName", () -> {
+            WorkOrderApiDto.POILocationRequest request =
+                    objectMapper.readValue(exchange.getRequestBody(), WorkOrderApiDto.POILocationRequest.class);
+            return dataset.searchPoi(request.getName(), properties.getMaxPoiResults());
+        }));
+        server.createContext(endpoints.getGetRoutes(), exchange -> handle(exchange, "getRoutes", () -> {
+            WorkOrderApiDto.RouteRequest request =
+                    objectMapper.readValue(exchange.getRequestBody(), WorkOrderApiDto.RouteRequest.class);
+            if (request.getLon() == null || request.getLat() == null) {
+                throw new IllegalArgumentException("经纬度不能为空");
+            }
+            return dataset.routesWithin(request.getLon(), request.getLat(),
+                    request.getRadius() != null ? request.getRadius() : 2000);
+        }));
+        server.createContext(endpoints.getGetRouteInfo(), exchange -> handle(exchange, "getRouteInfo", () -> {
+            String routeId = UriComponentsBuilder.fromUri(exchange.getRequestURI()).build()
+                    .getQueryParams().getFirst("routeId");
+            WorkOrderApiDto.RouteResponse route = dataset.route(parseInt(routeId));
+            if (route == null) {
+                throw new IllegalArgumentException("航线不存在: " + routeId);
+            }
+            return route;
+        }));
+        server.createContext(endpoints.getCreateWorkOrder(), exchange -> handle(exchange, "createWorkOrder", () -> {
+            WorkOrderApiDto.CreateWorkOrderRequest request =
+                    objectMapper.readValue(exchange.getRequestBody(), WorkOrderApiDto.CreateWorkOrderRequest.class);
+            if (request.getName() == null || request.getName().isBlank()) {
+                throw new IllegalArgumentException("工单名称不能为空");
+            }
+            return workOrderIds.incrementAndGet();
+        }));
+        server.start();
+        log.info("工单系统API模拟器已启动: {}, POI{}个, 航线{}条, 耗时{}ms", baseUrl(),
+                dataset.poiCount(), dataset.routeCount(), System.currentTimeMillis() - begin);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            log.info("工单系统API模拟器已停止");
+        }
+    }
+
+    /**
+     * 模拟器地址，作为 workorder.api.base-url 使用
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange, String endpoint, Handler handler) throws IOException {
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (!tryAcquire()) {
+                respond(exchange, endpoint, "throttled", 429, failure(429, "请求过于频繁"));
+                return;
+            }
+            sleep(latency(random));
+            if (random.nextDouble() < properties.getErrorRate()) {
+                respond(exchange, endpoint, "error", 500, failure(500, "模拟服务异常"));
+                return;
+            }
+            if (random.nextDouble() < properties.getBusinessErrorRate()) {
+                respond(exchange, endpoint, "business_error", 200, failure(1, "模拟业务失败"));
+                return;
+            }
+            Object data;
+            try {
+                data = handler.handle();
+            } catch (IllegalArgumentException | IOException e) {
+                respond(exchange, endpoint, "bad_request", 200, failure(400, e.getMessage()));
+                return;
+            }
+            respond(exchange, endpoint, "ok", 200, new WorkOrderApiDto.ApiResponse<>(0, "success", data));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void respond(HttpExchange exchange, String endpoint, String outcome, int status,
+                         WorkOrderApiDto.ApiResponse<?> body) throws IOException {
+        Counter.builder("workorder.simulator.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static WorkOrderApiDto.ApiResponse<Object> failure(int code, String msg) {
+        return new WorkOrderApiDto.ApiResponse<>(code, msg, null);
+    }
+
+    /**
+     * 每秒固定窗口计数，超出 maxRequestsPerSecond 时拒绝
+     */
+    private boolean tryAcquire() {
+        int limit = properties.getMaxRequestsPerSecond();
+        if (limit <= 0) {
+            return true;
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long current = windowSecond.get();
+        if (second != current && windowSecond.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() <= limit;
+    }
+
+    /**
+     * 对数正态延迟：中位数为 latencyMedianMs，99分位为 latencyP99Ms，不超过 latencyMaxMs
+     */
+    private long latency(ThreadLocalRandom random) {
+        long median = properties.getLatencyMedianMs();
+        if (median <= 0) {
+            return 0;
+        }
+        double sigma = Math.log(Math.max(properties.getLatencyP99Ms(), median) / (double) median) / Z_99;
+        long latency = Math.round(median * Math.exp(sigma * random.nextGaussian()));
+        return Math.min(latency, properties.getLatencyMaxMs());
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return value != null ? Integer.valueOf(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle() throws IOException;
+    }
+}